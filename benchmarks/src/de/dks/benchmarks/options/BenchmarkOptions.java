@@ -0,0 +1,166 @@
+package de.dks.benchmarks.options;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Vector;
+
+import de.dks.utils.options.Option_Bool;
+import de.dks.utils.options.Option_Double;
+import de.dks.utils.options.Option_Integer;
+import de.dks.utils.options.Option_String;
+import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsCont_Columnar;
+
+/**
+ * @class BenchmarkOptions
+ * @brief Builds the options containers, argument vectors, and files the benchmarks work on.
+ *
+ * A generated container holds the given number of options. The options
+ * are named "option&lt;i&gt;" and cycle through the types int, double,
+ * bool, and string; each has a synonym "o&lt;i&gt;" and a description.
+ * Every 100 options, a new section is started. The first 26 options
+ * get the abbreviations 'a' to 'z'.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+final class BenchmarkOptions {
+    /// @brief The number of option types used
+    static final int TYPES_NUMBER = 4;
+
+
+
+    /** @brief Constructor (not used)
+     */
+    private BenchmarkOptions() {
+    }
+
+
+    /** @brief Builds an options container holding the given number of options
+     * @param[in] size The number of options
+     * @param[in] columnar Whether an OptionsCont_Columnar shall be built
+     * @return The built container (without values)
+     */
+    static OptionsCont build(int size, boolean columnar) {
+        OptionsCont options = columnar ? new OptionsCont_Columnar() : new OptionsCont();
+        options.setHelpHeadAndTail("Usage: benchmark [option]+\n\nOptions:", "");
+        for(int i=0; i<size; ++i) {
+            if(i%100==0) {
+                options.beginSection("Section " + (i/100));
+            }
+            String name = getName(i);
+            switch(i%TYPES_NUMBER) {
+            case 0:
+                options.add(name, new Option_Integer(i));
+                break;
+            case 1:
+                options.add(name, new Option_Double(i/10.));
+                break;
+            case 2:
+                options.add(name, new Option_Bool());
+                break;
+            default:
+                options.add(name, new Option_String("value" + i));
+                break;
+            }
+            options.addSynonym(name, "o" + i);
+            if(i<26) {
+                options.addSynonym(name, String.valueOf((char) ('a'+i)));
+            }
+            options.setDescription(name, "The description of option " + i + " which is of the type " + options.getTypeName(name) + ".");
+        }
+        return options;
+    }
+
+
+    /** @brief Returns the name of the indexed option
+     * @param[in] index The index of the option
+     * @return The option's name
+     */
+    static String getName(int index) {
+        return "option" + index;
+    }
+
+
+    /** @brief Returns a value for the indexed option
+     * @param[in] index The index of the option
+     * @return A value that matches the option's type
+     */
+    static String getValue(int index) {
+        switch(index%TYPES_NUMBER) {
+        case 0:
+            return String.valueOf(index*2);
+        case 1:
+            return String.valueOf(index*.5);
+        case 2:
+            return "true";
+        default:
+            return "text" + index;
+        }
+    }
+
+
+    /** @brief Builds an argument vector that sets the first options
+     *
+     * The arguments use the forms "--name=value", "--name value",
+     *  "-a value", and clustered boolean abbreviations.
+     * @param[in] size The number of options to set (at most the number of options in the container)
+     * @return The built argument vector
+     */
+    static String[] buildArguments(int size) {
+        Vector<String> args = new Vector<>();
+        for(int i=0; i<size; ++i) {
+            boolean isBool = i%TYPES_NUMBER==2;
+            if(isBool) {
+                args.add(i<26 ? "-" + (char) ('a'+i) : "--" + getName(i));
+            } else if(i<26) {
+                args.add("-" + (char) ('a'+i));
+                args.add(getValue(i));
+            } else if(i%2==0) {
+                args.add("--" + getName(i) + "=" + getValue(i));
+            } else {
+                args.add("--o" + i);
+                args.add(getValue(i));
+            }
+        }
+        return args.toArray(new String[0]);
+    }
+
+
+    /** @brief Writes a configuration that sets all options
+     * @param[in] size The number of options
+     * @param[in] format The format to use ("csv", "xml", or "json")
+     * @return The written file (deleted on exit)
+     * @throws IOException If the file cannot be written
+     */
+    static File writeConfiguration(int size, String format) throws IOException {
+        File file = File.createTempFile("options", "." + format);
+        file.deleteOnExit();
+        try(FileWriter writer = new FileWriter(file)) {
+            if("xml".equals(format)) {
+                writer.append("<configuration>\n");
+            } else if("json".equals(format)) {
+                writer.append("{\n");
+            }
+            for(int i=0; i<size; ++i) {
+                if("xml".equals(format)) {
+                    writer.append("   <" + getName(i) + ">" + getValue(i) + "</" + getName(i) + ">\n");
+                } else if("json".equals(format)) {
+                    // strings are quoted, numbers and booleans are not
+                    String value = i%TYPES_NUMBER==3 ? "\"" + getValue(i) + "\"" : getValue(i);
+                    writer.append("   \"" + getName(i) + "\": " + value + (i<size-1 ? ",\n" : "\n"));
+                } else {
+                    writer.append(getName(i) + ";" + getValue(i) + "\n");
+                }
+            }
+            if("xml".equals(format)) {
+                writer.append("</configuration>\n");
+            } else if("json".equals(format)) {
+                writer.append("}\n");
+            }
+        }
+        return file;
+    }
+
+}
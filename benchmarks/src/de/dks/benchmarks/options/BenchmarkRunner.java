@@ -0,0 +1,33 @@
+package de.dks.benchmarks.options;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * @class BenchmarkRunner
+ * @brief Runs the benchmarks, reporting the throughput and the allocation rate.
+ *
+ * The usual JMH command line options are accepted (e.g. a regular
+ * expression selecting the benchmarks, "-f 1", or "-p size=1000"). The
+ * GC profiler is always added, so that each benchmark reports the
+ * allocation rate (gc.alloc.rate) and the allocated bytes per operation
+ * (gc.alloc.rate.norm) besides its throughput.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class BenchmarkRunner {
+    /** @brief The main method
+     * @param[in] args The JMH command line options
+     * @throws Exception If the options are invalid or a benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Options options = new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class).build();
+        new Runner(options).run();
+    }
+
+}
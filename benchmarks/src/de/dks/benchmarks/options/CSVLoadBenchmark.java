@@ -0,0 +1,99 @@
+package de.dks.benchmarks.options;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.Option_FileName;
+import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsFileIO_CSV;
+import de.dks.utils.options.OptionsSchema;
+import de.dks.utils.options.OptionsTypedFileIO;
+import de.dks.utils.options.OptionsValues;
+
+/**
+ * @class CSVLoadBenchmark
+ * @brief Compares loading large CSV configurations using OptionsFileIO_CSV and the previous loader.
+ *
+ * The generated files hold the given number of lines. The first 10000
+ * lines set different options, the following ones repeat the names, so
+ * that they are read but skipped (the options are already set).
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CSVLoadBenchmark {
+    /// @brief The number of options
+    private static final int OPTIONS_NUMBER = 10000;
+
+    /// @brief The number of lines
+    @Param({"10000", "1000000"})
+    public int lines;
+
+    /// @brief The loader to use ("current" or "legacy")
+    @Param({"current", "legacy"})
+    public String loader;
+
+    /// @brief The file reading handler
+    private OptionsTypedFileIO myIO;
+
+    /// @brief The schema to load into
+    private OptionsSchema mySchema;
+
+    /// @brief The configuration to load
+    private File myConfiguration;
+
+
+
+    /** @brief Generates the configuration
+     * @throws IOException If the file cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        myIO = "legacy".equals(loader) ? new LegacyCSVIO() : new OptionsFileIO_CSV();
+        OptionsCont definition = BenchmarkOptions.build(OPTIONS_NUMBER, false);
+        definition.add("config", new Option_FileName());
+        mySchema = definition.compile();
+        myConfiguration = File.createTempFile("options", ".csv");
+        myConfiguration.deleteOnExit();
+        try(FileWriter writer = new FileWriter(myConfiguration)) {
+            for(int i=0; i<lines; ++i) {
+                int index = i%OPTIONS_NUMBER;
+                writer.append(BenchmarkOptions.getName(index) + ";" + BenchmarkOptions.getValue(index) + "\n");
+            }
+        }
+    }
+
+
+    /** @brief Loads the configuration
+     * @return The filled value set
+     * @throws IOException If the file cannot be read
+     */
+    @Benchmark
+    public OptionsValues load() throws IOException {
+        OptionsValues values = mySchema.newValues();
+        values.set("config", myConfiguration.getPath());
+        myIO.loadConfiguration(values, "config");
+        return values;
+    }
+
+}
@@ -0,0 +1,105 @@
+package de.dks.benchmarks.options;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.Option_FileName;
+import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsFileIO_CSV;
+import de.dks.utils.options.OptionsFileIO_JSON;
+import de.dks.utils.options.OptionsFileIO_XML;
+import de.dks.utils.options.OptionsSchema;
+import de.dks.utils.options.OptionsTypedFileIO;
+import de.dks.utils.options.OptionsValues;
+
+/**
+ * @class CompiledLoadBenchmark
+ * @brief Compares loading a text configuration with loading its compiled (binary) sibling.
+ *
+ * The configuration is generated as in FileIOBenchmark and compiled
+ * once; if "compiled" is set, the reading handler reads the sibling
+ * instead of the text file.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompiledLoadBenchmark {
+    /// @brief The format of the text configuration
+    @Param({"csv", "xml", "json"})
+    public String format;
+
+    /// @brief Whether the compiled sibling is read
+    @Param({"false", "true"})
+    public boolean compiled;
+
+    /// @brief The number of options
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    /// @brief The file reading handler
+    private OptionsTypedFileIO myIO;
+
+    /// @brief The schema to load into
+    private OptionsSchema mySchema;
+
+    /// @brief The text configuration
+    private File myConfiguration;
+
+
+
+    /** @brief Generates and compiles the configuration
+     * @throws IOException If the files cannot be written or read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        if("xml".equals(format)) {
+            myIO = new OptionsFileIO_XML();
+        } else if("json".equals(format)) {
+            myIO = new OptionsFileIO_JSON();
+        } else {
+            myIO = new OptionsFileIO_CSV();
+        }
+        OptionsCont definition = BenchmarkOptions.build(size, false);
+        definition.add("config", new Option_FileName());
+        mySchema = definition.compile();
+        myConfiguration = BenchmarkOptions.writeConfiguration(size, format);
+        File sibling = new File(myIO.compileConfiguration(mySchema.newValues(), myConfiguration.getPath()));
+        sibling.deleteOnExit();
+        // the sibling must be newer than the configuration, even on file systems with a coarse time resolution
+        sibling.setLastModified(myConfiguration.lastModified()+2000);
+        myIO.setUseCompiled(compiled);
+    }
+
+
+    /** @brief Loads the configuration
+     * @return The filled value set
+     * @throws IOException If the file cannot be read
+     */
+    @Benchmark
+    public OptionsValues load() throws IOException {
+        OptionsValues values = mySchema.newValues();
+        values.set("config", myConfiguration.getPath());
+        myIO.loadConfiguration(values, "config");
+        return values;
+    }
+
+}
@@ -0,0 +1,124 @@
+package de.dks.benchmarks.options;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.Option_FileName;
+import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsFileIO_CSV;
+import de.dks.utils.options.OptionsFileIO_JSON;
+import de.dks.utils.options.OptionsFileIO_XML;
+import de.dks.utils.options.OptionsSchema;
+import de.dks.utils.options.OptionsTypedFileIO;
+import de.dks.utils.options.OptionsValues;
+
+/**
+ * @class FileIOBenchmark
+ * @brief Measures loading and writing configuration files.
+ *
+ * The configuration files are generated and set all options. Loading
+ * fills a new value set of a schema (the time needed for building it is
+ * measured by ParserBenchmark.newValues). Writing uses a container that
+ * was filled by loading the file.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileIOBenchmark {
+    /// @brief The file format
+    @Param({"csv", "xml", "json"})
+    public String format;
+
+    /// @brief The number of options
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    /// @brief The file reading/writing handler
+    private OptionsTypedFileIO myIO;
+
+    /// @brief The schema to load into
+    private OptionsSchema mySchema;
+
+    /// @brief The configuration to load
+    private File myConfiguration;
+
+    /// @brief The container holding the values to write
+    private OptionsCont myOptions;
+
+    /// @brief The file to write to
+    private File myOutput;
+
+
+
+    /** @brief Generates the configuration and loads it once
+     * @throws IOException If the files cannot be written or read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        if("xml".equals(format)) {
+            myIO = new OptionsFileIO_XML();
+        } else if("json".equals(format)) {
+            myIO = new OptionsFileIO_JSON();
+        } else {
+            myIO = new OptionsFileIO_CSV();
+        }
+        OptionsCont definition = BenchmarkOptions.build(size, false);
+        definition.add("config", new Option_FileName());
+        mySchema = definition.compile();
+        myConfiguration = BenchmarkOptions.writeConfiguration(size, format);
+        myOptions = load();
+        myOutput = File.createTempFile("written", "." + format);
+        myOutput.deleteOnExit();
+    }
+
+
+    /** @brief Loads the configuration
+     * @return The filled value set
+     * @throws IOException If the file cannot be read
+     */
+    @Benchmark
+    public OptionsValues load() throws IOException {
+        OptionsValues values = mySchema.newValues();
+        values.set("config", myConfiguration.getPath());
+        myIO.loadConfiguration(values, "config");
+        return values;
+    }
+
+
+    /** @brief Writes the set options
+     * @throws IOException If the file cannot be written
+     */
+    @Benchmark
+    public void writeConfiguration() throws IOException {
+        myIO.writeConfiguration(myOutput.getPath(), myOptions);
+    }
+
+
+    /** @brief Writes a template
+     * @throws IOException If the file cannot be written
+     */
+    @Benchmark
+    public void writeTemplate() throws IOException {
+        myIO.writeTemplate(myOutput.getPath(), myOptions);
+    }
+
+}
@@ -0,0 +1,124 @@
+package de.dks.benchmarks.options;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.OptionsCont;
+
+/**
+ * @class FootprintBenchmark
+ * @brief Measures building large containers and the heap they retain.
+ *
+ * build measures the time needed for building an OptionsCont and an
+ * OptionsCont_Columnar holding the given number of options; the
+ * allocated bytes per operation (gc.alloc.rate.norm) include the garbage
+ * produced while building.
+ *
+ * retained measures the memory footprint: the used heap is determined
+ * after forcing garbage collections before building containers and
+ * again while the built containers are still reachable. So many
+ * containers are built that they hold at least RETAINED_OPTIONS options,
+ * which makes the measurement robust against the heap's granularity.
+ * The difference per option is reported as the secondary result
+ * "retainedBytesPerOption".
+ * As JMH sums such counters over the iterations, a single iteration is
+ * measured.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FootprintBenchmark {
+    /// @brief The number of options
+    @Param({"10000", "100000"})
+    public int size;
+
+    /// @brief Whether the columnar container shall be used
+    @Param({"false", "true"})
+    public boolean columnar;
+
+    /// @brief The minimum number of options built by retained
+    private static final int RETAINED_OPTIONS = 1000000;
+
+    /// @brief The containers measured by retained (kept reachable while measuring)
+    private OptionsCont[] myKept;
+
+
+    /**
+     * @class Footprint
+     * @brief The retained heap reported by retained
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        /// @brief The retained heap per option of the last measured container, in bytes
+        public double retainedBytesPerOption;
+    }
+
+
+
+    /** @brief Builds a container
+     * @return The built container
+     */
+    @Benchmark
+    public OptionsCont build() {
+        return BenchmarkOptions.build(size, columnar);
+    }
+
+
+    /** @brief Builds containers and measures the heap they retain
+     * @param[out] footprint The measured footprint
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 1)
+    public void retained(Footprint footprint) {
+        myKept = new OptionsCont[Math.max(1, RETAINED_OPTIONS/size)];
+        long before = usedHeap();
+        for(int i=0; i<myKept.length; ++i) {
+            myKept[i] = BenchmarkOptions.build(size, columnar);
+        }
+        long after = usedHeap();
+        footprint.retainedBytesPerOption = (double) (after - before) / ((long) size * myKept.length);
+        myKept = null;
+    }
+
+
+    /** @brief Returns the used heap after collecting the garbage
+     *
+     * Garbage collections are forced until the used heap does not shrink
+     *  any further.
+     * @return The used heap in bytes
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for(int i=0; i<10; ++i) {
+            System.gc();
+            long current = runtime.totalMemory() - runtime.freeMemory();
+            if(current>=used) {
+                break;
+            }
+            used = current;
+        }
+        return used;
+    }
+
+}
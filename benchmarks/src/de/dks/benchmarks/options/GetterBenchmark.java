@@ -0,0 +1,149 @@
+package de.dks.benchmarks.options;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.Option_Integer;
+import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsParser;
+import de.dks.utils.options.OptionsSnapshot;
+
+/**
+ * @class GetterBenchmark
+ * @brief Measures reading option values.
+ *
+ * Compares the typed getters of OptionsCont and OptionsCont_Columnar
+ * (looking the option up by name), reading the value from a typed
+ * option handle retrieved once, and reading from a snapshot by name and
+ * by index. The containers hold 1000 options, all set.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GetterBenchmark {
+    /// @brief The options container
+    private OptionsCont myOptions;
+
+    /// @brief The columnar options container
+    private OptionsCont myColumnar;
+
+    /// @brief A snapshot of the options
+    private OptionsSnapshot mySnapshot;
+
+    /// @brief The handle of the read integer option
+    private Option_Integer myIntegerHandle;
+
+    /// @brief The index of the read integer option within the snapshot
+    private int myIntegerIndex;
+
+    /// @brief The names of the read options (int, double, bool, string)
+    private String myIntegerName, myDoubleName, myBoolName, myStringName;
+
+
+
+    /// @brief Builds and fills the containers
+    @Setup
+    public void setUp() {
+        String[] args = BenchmarkOptions.buildArguments(1000);
+        myOptions = BenchmarkOptions.build(1000, false);
+        OptionsParser.parse(myOptions, args, false);
+        myColumnar = BenchmarkOptions.build(1000, true);
+        OptionsParser.parse(myColumnar, args, false);
+        mySnapshot = myOptions.snapshot();
+        myIntegerName = BenchmarkOptions.getName(500);
+        myDoubleName = BenchmarkOptions.getName(501);
+        myBoolName = BenchmarkOptions.getName(502);
+        myStringName = BenchmarkOptions.getName(503);
+        myIntegerHandle = myOptions.getIntegerOption(myIntegerName);
+        myIntegerIndex = mySnapshot.getIndex(myIntegerName);
+    }
+
+
+    /** @brief Reads an int value by name
+     * @return The read value
+     */
+    @Benchmark
+    public int getInteger() {
+        return myOptions.getInteger(myIntegerName);
+    }
+
+
+    /** @brief Reads a double value by name
+     * @return The read value
+     */
+    @Benchmark
+    public double getDouble() {
+        return myOptions.getDouble(myDoubleName);
+    }
+
+
+    /** @brief Reads a bool value by name
+     * @return The read value
+     */
+    @Benchmark
+    public boolean getBool() {
+        return myOptions.getBool(myBoolName);
+    }
+
+
+    /** @brief Reads a string value by name
+     * @return The read value
+     */
+    @Benchmark
+    public String getString() {
+        return myOptions.getString(myStringName);
+    }
+
+
+    /** @brief Reads an int value using a typed option handle
+     * @return The read value
+     */
+    @Benchmark
+    public int getIntegerByHandle() {
+        return myIntegerHandle.getValue();
+    }
+
+
+    /** @brief Reads an int value by name from the columnar container
+     * @return The read value
+     */
+    @Benchmark
+    public int getIntegerColumnar() {
+        return myColumnar.getInteger(myIntegerName);
+    }
+
+
+    /** @brief Reads an int value by name from the snapshot
+     * @return The read value
+     */
+    @Benchmark
+    public int getIntegerSnapshot() {
+        return mySnapshot.getInteger(myIntegerName);
+    }
+
+
+    /** @brief Reads an int value by index from the snapshot
+     * @return The read value
+     */
+    @Benchmark
+    public int getIntegerSnapshotByIndex() {
+        return mySnapshot.getInteger(myIntegerIndex);
+    }
+
+}
@@ -0,0 +1,83 @@
+package de.dks.benchmarks.options;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsIO;
+
+/**
+ * @class HelpBenchmark
+ * @brief Measures rendering the help screen.
+ *
+ * The help is written to a stream that discards the output. No empty
+ * lines are written between sections. printHelp reuses the help screen
+ * the container has rendered before, renderHelp changes the help head
+ * before printing so that the help screen is rendered anew.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HelpBenchmark {
+    /// @brief The number of options
+    @Param({"10", "1000"})
+    public int size;
+
+    /// @brief The options container
+    private OptionsCont myOptions;
+
+    /// @brief The stream to write to
+    private PrintStream myStream;
+
+
+
+    /// @brief Builds the container and the stream
+    @Setup
+    public void setUp() {
+        myOptions = BenchmarkOptions.build(size, false);
+        myStream = new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        });
+    }
+
+
+    /// @brief Writes the help screen
+    @Benchmark
+    public void printHelp() {
+        OptionsIO.printHelp(myStream, myOptions, 80, 2, 2, 1, 0);
+    }
+
+
+    /// @brief Renders and writes the help screen
+    @Benchmark
+    public void renderHelp() {
+        myOptions.setHelpHeadAndTail(myOptions.getHelpHead(), myOptions.getHelpTail());
+        OptionsIO.printHelp(myStream, myOptions, 80, 2, 2, 1, 0);
+    }
+
+}
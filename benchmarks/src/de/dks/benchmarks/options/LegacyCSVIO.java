@@ -0,0 +1,55 @@
+package de.dks.benchmarks.options;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+
+import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsFileIO_CSV;
+
+/**
+ * @class LegacyCSVIO
+ * @brief The CSV configuration loader as it was before OptionsCSVReader was added.
+ *
+ * Reads the file line by line using the platform's default charset and
+ * splits each line at ';'. Used as the baseline by CSVLoadBenchmark.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class LegacyCSVIO extends OptionsFileIO_CSV {
+    /** @brief Loads parameters from a configuration file
+     * @param into The options container to fill
+     * @param configFileName The name of the file to read
+     * @return Whether options could be loaded
+     * @throws IOException If the file cannot be read
+     */
+    @Override
+    protected boolean _loadConfiguration(OptionsCont into, String configFileName) throws IOException {
+        BufferedReader br = new BufferedReader(new FileReader(configFileName));
+        String line = null;
+        int lineNumber = 0;
+        do {
+            line = br.readLine();
+            if(line==null) {
+                continue;
+            }
+            ++lineNumber;
+            line = line.trim();
+            if(line.length()==0) {
+                continue;
+            }
+            String[] r = line.split(";");
+            if(r.length!=2) {
+                br.close();
+                throw new IOException("Missing value for key '" + r[0] + "'.");
+            }
+            if(into.canBeSet(r[0])) {
+                into.set(r[0], r[1], configFileName, lineNumber);
+            }
+        } while(line!=null);
+        br.close();
+        return true;
+    }
+
+}
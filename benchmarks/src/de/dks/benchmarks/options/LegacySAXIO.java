@@ -0,0 +1,48 @@
+package de.dks.benchmarks.options;
+
+import java.io.IOException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsFileIO_XML;
+import de.dks.utils.options.OptionsSAXHandler;
+
+/**
+ * @class LegacySAXIO
+ * @brief The XML configuration loader as it was before the StAX reader was added.
+ *
+ * Builds a new SAX parser for each file and fills the options using an
+ * OptionsSAXHandler. Used as the baseline by XMLLoadBenchmark.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class LegacySAXIO extends OptionsFileIO_XML {
+    /** @brief Loads parameters from a configuration file
+     * @param into The options container to fill
+     * @param configFileName The name of the file to read
+     * @return Whether options could be loaded
+     * @throws IOException If the file cannot be read
+     */
+    @Override
+    protected boolean _loadConfiguration(OptionsCont into, String configFileName) throws IOException {
+        SAXParserFactory spf = SAXParserFactory.newInstance();
+        spf.setNamespaceAware(true);
+        try {
+            SAXParser saxParser = spf.newSAXParser();
+            XMLReader xmlReader = saxParser.getXMLReader();
+            xmlReader.setContentHandler(new OptionsSAXHandler(into, configFileName));
+            xmlReader.parse(configFileName);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException(e);
+        }
+        return true;
+    }
+
+}
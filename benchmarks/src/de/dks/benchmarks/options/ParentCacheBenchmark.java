@@ -0,0 +1,109 @@
+package de.dks.benchmarks.options;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.Option_FileName;
+import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsFileCache;
+import de.dks.utils.options.OptionsFileIO_CSV;
+import de.dks.utils.options.OptionsFileIO_JSON;
+import de.dks.utils.options.OptionsFileIO_XML;
+import de.dks.utils.options.OptionsSchema;
+import de.dks.utils.options.OptionsTypedFileIO;
+import de.dks.utils.options.OptionsValues;
+
+/**
+ * @class ParentCacheBenchmark
+ * @brief Loading a small configuration whose parent sets all options, with and without a cache of read files.
+ *
+ * The parent is generated as in FileIOBenchmark; the child sets only
+ * the parent. If "cached" is set, the reading handler uses an
+ * OptionsFileCache, so that the parent is parsed once only.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParentCacheBenchmark {
+    /// @brief The format of the configurations
+    @Param({"csv", "xml", "json"})
+    public String format;
+
+    /// @brief Whether read files are cached
+    @Param({"false", "true"})
+    public boolean cached;
+
+    /// @brief The number of options
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    /// @brief The file reading handler
+    private OptionsTypedFileIO myIO;
+
+    /// @brief The schema to load into
+    private OptionsSchema mySchema;
+
+    /// @brief The child configuration
+    private File myConfiguration;
+
+
+
+    /** @brief Generates the configurations
+     * @throws IOException If the files cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        if("xml".equals(format)) {
+            myIO = new OptionsFileIO_XML();
+        } else if("json".equals(format)) {
+            myIO = new OptionsFileIO_JSON();
+        } else {
+            myIO = new OptionsFileIO_CSV();
+        }
+        OptionsCont definition = BenchmarkOptions.build(size, false);
+        definition.add("config", new Option_FileName());
+        definition.add("parent", new Option_FileName());
+        definition.setParentConfigurationName("parent");
+        mySchema = definition.compile();
+        File parent = BenchmarkOptions.writeConfiguration(size, format);
+        myConfiguration = File.createTempFile("child", "." + format);
+        myConfiguration.deleteOnExit();
+        OptionsValues child = mySchema.newValues();
+        child.set("parent", parent.getPath());
+        myIO.writeConfiguration(myConfiguration.getPath(), child);
+        myIO.setCache(cached ? new OptionsFileCache(2*size+10) : null);
+    }
+
+
+    /** @brief Loads the child configuration and its parent
+     * @return The filled value set
+     * @throws IOException If a file cannot be read
+     */
+    @Benchmark
+    public OptionsValues load() throws IOException {
+        OptionsValues values = mySchema.newValues();
+        values.set("config", myConfiguration.getPath());
+        myIO.loadConfiguration(values, "config");
+        return values;
+    }
+
+}
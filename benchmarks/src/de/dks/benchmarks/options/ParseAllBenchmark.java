@@ -0,0 +1,84 @@
+package de.dks.benchmarks.options;
+
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.OptionsParseResult;
+import de.dks.utils.options.OptionsParser;
+import de.dks.utils.options.OptionsSchema;
+
+/**
+ * @class ParseAllBenchmark
+ * @brief Measures how parsing many argument vectors scales with the number of threads.
+ *
+ * 10000 argument vectors, each setting 20 options, are parsed using
+ * OptionsParser.parseAll and a pool with the given parallelism.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseAllBenchmark {
+    /// @brief The number of threads to use
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    /// @brief The schema to parse into
+    private OptionsSchema mySchema;
+
+    /// @brief The argument vectors to parse
+    private Vector<String[]> myArguments = new Vector<>();
+
+    /// @brief The pool to parse in
+    private ForkJoinPool myPool;
+
+
+
+    /// @brief Builds the schema, the argument vectors, and the pool
+    @Setup
+    public void setUp() {
+        mySchema = BenchmarkOptions.build(100, false).compile();
+        String[] args = BenchmarkOptions.buildArguments(20);
+        for(int i=0; i<10000; ++i) {
+            myArguments.add(args);
+        }
+        myPool = new ForkJoinPool(threads);
+    }
+
+
+    /// @brief Shuts the pool down
+    @TearDown
+    public void tearDown() {
+        myPool.shutdown();
+    }
+
+
+    /** @brief Parses all argument vectors
+     * @return The results
+     */
+    @Benchmark
+    public List<OptionsParseResult> parseAll() {
+        return OptionsParser.parseAll(mySchema, myArguments, myPool);
+    }
+
+}
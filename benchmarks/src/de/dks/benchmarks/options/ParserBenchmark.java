@@ -0,0 +1,93 @@
+package de.dks.benchmarks.options;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.OptionsDiagnostics;
+import de.dks.utils.options.OptionsParser;
+import de.dks.utils.options.OptionsSchema;
+import de.dks.utils.options.OptionsValues;
+
+/**
+ * @class ParserBenchmark
+ * @brief Measures parsing short and long argument vectors.
+ *
+ * The arguments are parsed into a new value set of a schema holding 1000
+ * options, as a container cannot be filled twice. The cost of building
+ * the value set alone is measured by newValues.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+    /// @brief The number of options set by the arguments
+    @Param({"4", "1000"})
+    public int arguments;
+
+    /// @brief The schema to parse into
+    private OptionsSchema mySchema;
+
+    /// @brief The arguments to parse
+    private String[] myArguments;
+
+    /// @brief The collector of errors
+    private OptionsDiagnostics myDiagnostics = new OptionsDiagnostics();
+
+
+
+    /// @brief Builds the schema and the arguments
+    @Setup
+    public void setUp() {
+        mySchema = BenchmarkOptions.build(1000, false).compile();
+        myArguments = BenchmarkOptions.buildArguments(arguments);
+    }
+
+
+    /** @brief Parses the arguments, throwing on errors
+     * @return The filled value set
+     */
+    @Benchmark
+    public OptionsValues parse() {
+        OptionsValues values = mySchema.newValues();
+        OptionsParser.parse(values, myArguments, false);
+        return values;
+    }
+
+
+    /** @brief Parses the arguments, collecting errors
+     * @return The filled value set
+     */
+    @Benchmark
+    public OptionsValues parseWithDiagnostics() {
+        OptionsValues values = mySchema.newValues();
+        OptionsParser.parse(values, myArguments, myDiagnostics);
+        return values;
+    }
+
+
+    /** @brief Builds a value set without parsing
+     * @return The built value set
+     */
+    @Benchmark
+    public OptionsValues newValues() {
+        return mySchema.newValues();
+    }
+
+}
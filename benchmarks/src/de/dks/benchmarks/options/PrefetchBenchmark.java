@@ -0,0 +1,173 @@
+package de.dks.benchmarks.options;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.Option_FileName;
+import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsFileIO_CSV;
+import de.dks.utils.options.OptionsSchema;
+import de.dks.utils.options.OptionsValues;
+
+/**
+ * @class PrefetchBenchmark
+ * @brief Loading a chain of parent configurations stored where each access takes long, with and without reading the files concurrently.
+ *
+ * The chain consists of the given number of CSV files; each file sets a
+ * part of the options and names the next one as its parent. Reading a
+ * file is delayed by the given latency, simulating e.g. a network drive.
+ * If "prefetch" is set, the reading handler uses a thread pool for
+ * reading the files; as the chain is known from the previous load, all
+ * files are read at once.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrefetchBenchmark {
+    /// @brief The number of files in the chain
+    @Param({"4"})
+    public int files;
+
+    /// @brief The time needed for reading a file, in milliseconds
+    @Param({"0", "50"})
+    public int latency;
+
+    /// @brief Whether the files shall be read concurrently
+    @Param({"false", "true"})
+    public boolean prefetch;
+
+    /// @brief The number of options set by each file
+    private static final int OPTIONS_PER_FILE = 100;
+
+    /// @brief The schema to load into
+    private OptionsSchema mySchema;
+
+    /// @brief The file reading handler
+    private OptionsFileIO_CSV myIO;
+
+    /// @brief The thread pool used for reading the files concurrently
+    private ExecutorService myExecutor;
+
+    /// @brief The first file of the chain
+    private File myConfiguration;
+
+
+    /**
+     * @class SlowCSVIO
+     * @brief A CSV reader that waits before reading a file
+     */
+    private static class SlowCSVIO extends OptionsFileIO_CSV {
+        /// @brief The time to wait, in milliseconds
+        private final int myLatency;
+
+
+        /** @brief Constructor
+         * @param[in] latency The time to wait before reading a file, in milliseconds
+         */
+        SlowCSVIO(int latency) {
+            myLatency = latency;
+        }
+
+
+        /** @brief Waits and reads the file
+         * @param into The options container to fill
+         * @param configFileName The file to read
+         * @return Whether the file could be read
+         * @throws IOException If the file cannot be read
+         */
+        @Override
+        protected boolean _loadConfiguration(OptionsCont into, String configFileName) throws IOException {
+            if(myLatency>0) {
+                try {
+                    Thread.sleep(myLatency);
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while reading '" + configFileName + "'.");
+                }
+            }
+            return super._loadConfiguration(into, configFileName);
+        }
+    }
+
+
+
+    /** @brief Generates the chain and loads it once, so that the handler knows it
+     * @throws IOException If the files cannot be written or read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        OptionsCont definition = BenchmarkOptions.build(files*OPTIONS_PER_FILE, false);
+        definition.add("config", new Option_FileName());
+        definition.add("parent", new Option_FileName());
+        definition.setParentConfigurationName("parent");
+        mySchema = definition.compile();
+        // write the chain from its end
+        File parent = null;
+        for(int i=files-1; i>=0; --i) {
+            File file = File.createTempFile("chain" + i, ".csv");
+            file.deleteOnExit();
+            OptionsValues values = mySchema.newValues();
+            for(int j=i*OPTIONS_PER_FILE; j<(i+1)*OPTIONS_PER_FILE; ++j) {
+                values.set(BenchmarkOptions.getName(j), BenchmarkOptions.getValue(j));
+            }
+            if(parent!=null) {
+                values.set("parent", parent.getPath());
+            }
+            new OptionsFileIO_CSV().writeConfiguration(file.getPath(), values);
+            parent = file;
+        }
+        myConfiguration = parent;
+        myIO = new SlowCSVIO(latency);
+        if(prefetch) {
+            myExecutor = Executors.newFixedThreadPool(files);
+            myIO.setPrefetchExecutor(myExecutor);
+        }
+        load();
+    }
+
+
+    /** @brief Stops the thread pool
+     */
+    @TearDown
+    public void tearDown() {
+        if(myExecutor!=null) {
+            myExecutor.shutdown();
+        }
+    }
+
+
+    /** @brief Loads the chain
+     * @return The filled value set
+     * @throws IOException If a file cannot be read
+     */
+    @Benchmark
+    public OptionsValues load() throws IOException {
+        OptionsValues values = mySchema.newValues();
+        values.set("config", myConfiguration.getPath());
+        myIO.loadConfiguration(values, "config");
+        return values;
+    }
+
+}
@@ -0,0 +1,75 @@
+package de.dks.benchmarks.options;
+
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.OptionsCont;
+
+/**
+ * @class RegistryBenchmark
+ * @brief Measures retrieving option names at growing numbers of options.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistryBenchmark {
+    /// @brief The number of options
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    /// @brief Whether the columnar container shall be used
+    @Param({"false", "true"})
+    public boolean columnar;
+
+    /// @brief The options container
+    private OptionsCont myOptions;
+
+    /// @brief The name of the option to retrieve the synonyms of (in the middle)
+    private String myName;
+
+
+
+    /// @brief Builds the container
+    @Setup
+    public void setUp() {
+        myOptions = BenchmarkOptions.build(size, columnar);
+        myName = BenchmarkOptions.getName(size/2);
+    }
+
+
+    /** @brief Retrieves the synonyms of an option
+     * @return The synonyms
+     */
+    @Benchmark
+    public Vector<String> getSynonyms() {
+        return myOptions.getSynonyms(myName);
+    }
+
+
+    /** @brief Retrieves the names of all options
+     * @return The names
+     */
+    @Benchmark
+    public Vector<String> getSortedOptionNames() {
+        return myOptions.getSortedOptionNames();
+    }
+
+}
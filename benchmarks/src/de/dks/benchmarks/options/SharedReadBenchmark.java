@@ -0,0 +1,79 @@
+package de.dks.benchmarks.options;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsParser;
+import de.dks.utils.options.OptionsSnapshot;
+
+/**
+ * @class SharedReadBenchmark
+ * @brief Measures reading options shared between four threads.
+ *
+ * Compares guarding the container by a lock, as needed if it may be
+ * changed concurrently, with reading from an immutable snapshot.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class SharedReadBenchmark {
+    /// @brief The options container
+    private OptionsCont myOptions;
+
+    /// @brief A snapshot of the options
+    private OptionsSnapshot mySnapshot;
+
+    /// @brief The name of the read option
+    private String myName;
+
+
+
+    /// @brief Builds and fills the container
+    @Setup
+    public void setUp() {
+        myOptions = BenchmarkOptions.build(1000, false);
+        OptionsParser.parse(myOptions, BenchmarkOptions.buildArguments(1000), false);
+        mySnapshot = myOptions.snapshot();
+        myName = BenchmarkOptions.getName(500);
+    }
+
+
+    /** @brief Reads an int value from the container while holding its lock
+     * @return The read value
+     */
+    @Benchmark
+    public int synchronizedRead() {
+        synchronized(myOptions) {
+            return myOptions.getInteger(myName);
+        }
+    }
+
+
+    /** @brief Reads an int value from the snapshot
+     * @return The read value
+     */
+    @Benchmark
+    public int snapshotRead() {
+        return mySnapshot.getInteger(myName);
+    }
+
+}
@@ -0,0 +1,84 @@
+package de.dks.benchmarks.options;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dks.utils.options.Option_FileName;
+import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsFileIO_XML;
+import de.dks.utils.options.OptionsSchema;
+import de.dks.utils.options.OptionsTypedFileIO;
+import de.dks.utils.options.OptionsValues;
+
+/**
+ * @class XMLLoadBenchmark
+ * @brief Compares loading XML configurations using OptionsFileIO_XML and the previous SAX-based loader.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XMLLoadBenchmark {
+    /// @brief The number of options
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    /// @brief The loader to use ("current" or "sax")
+    @Param({"current", "sax"})
+    public String loader;
+
+    /// @brief The file reading handler
+    private OptionsTypedFileIO myIO;
+
+    /// @brief The schema to load into
+    private OptionsSchema mySchema;
+
+    /// @brief The configuration to load
+    private File myConfiguration;
+
+
+
+    /** @brief Generates the configuration
+     * @throws IOException If the file cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        myIO = "sax".equals(loader) ? new LegacySAXIO() : new OptionsFileIO_XML();
+        OptionsCont definition = BenchmarkOptions.build(size, false);
+        definition.add("config", new Option_FileName());
+        mySchema = definition.compile();
+        myConfiguration = BenchmarkOptions.writeConfiguration(size, "xml");
+    }
+
+
+    /** @brief Loads the configuration
+     * @return The filled value set
+     * @throws IOException If the file cannot be read
+     */
+    @Benchmark
+    public OptionsValues load() throws IOException {
+        OptionsValues values = mySchema.newValues();
+        values.set("config", myConfiguration.getPath());
+        myIO.loadConfiguration(values, "config");
+        return values;
+    }
+
+}
@@ -2,10 +2,6 @@ package de.dks.examples.options;
 
 import java.io.IOException;
 
-import javax.xml.parsers.ParserConfigurationException;
-
-import org.xml.sax.SAXException;
-
 import de.dks.utils.options.Option_Bool;
 import de.dks.utils.options.Option_Integer;
 import de.dks.utils.options.Option_String;
@@ -32,11 +28,9 @@ public class Example {
      * 
      * @param args The options given on the command line
      * @return The built options container
-     * @throws ParserConfigurationException Thrown if the XML-parser could not be built
-     * @throws SAXException Thrown on an XML-parsing error
      * @throws IOException Thrown if the configuration file could not be opened
      */
-    private static OptionsCont getOptions(String[] args) throws ParserConfigurationException, SAXException, IOException {
+    private static OptionsCont getOptions(String[] args) throws IOException {
         OptionsCont options = new OptionsCont();
         options.setHelpHeadAndTail("Usage: example [option]+\n\nOptions:", "");
         // function
@@ -4,20 +4,52 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.StringTokenizer;
 import java.util.Vector;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import de.dks.utils.options.Option;
 import de.dks.utils.options.Option_Bool;
 import de.dks.utils.options.Option_Double;
+import de.dks.utils.options.Option_DoubleList;
 import de.dks.utils.options.Option_FileName;
+import de.dks.utils.options.Option_FileNameList;
 import de.dks.utils.options.Option_Integer;
+import de.dks.utils.options.Option_IntegerList;
 import de.dks.utils.options.Option_String;
+import de.dks.utils.options.Option_StringList;
 import de.dks.utils.options.OptionsCont;
+import de.dks.utils.options.OptionsCont_Columnar;
+import de.dks.utils.options.OptionsDiagnostics;
+import de.dks.utils.options.OptionsFileCache;
+import de.dks.utils.options.OptionsFileIO_Binary;
 import de.dks.utils.options.OptionsFileIO_CSV;
+import de.dks.utils.options.OptionsFileIO_JSON;
 import de.dks.utils.options.OptionsFileIO_XML;
 import de.dks.utils.options.OptionsIO;
+import de.dks.utils.options.OptionsJournal;
+import de.dks.utils.options.OptionsLoadException;
+import de.dks.utils.options.OptionsParseResult;
+import de.dks.utils.options.OptionsParser;
+import de.dks.utils.options.OptionsReloader;
+import de.dks.utils.options.OptionsSchema;
+import de.dks.utils.options.OptionsSnapshot;
 import de.dks.utils.options.OptionsTypedFileIO;
+import de.dks.utils.options.OptionsValues;
 
 /**
  * @class Tester
@@ -33,6 +65,28 @@ import de.dks.utils.options.OptionsTypedFileIO;
  * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2019-2021
  */
 public class Tester {
+    /**
+     * @class CancellingCSVIO
+     * @brief A CSV reader that cancels the asynchronous loading after reading a given file
+     */
+    private static class CancellingCSVIO extends OptionsFileIO_CSV {
+        /** @brief Reads the file and cancels the loading if it is the given one
+         * @param into The options container to fill
+         * @param configFileName The file to read
+         * @return Whether the file could be read
+         * @throws IOException If the file cannot be read
+         */
+        @Override
+        protected boolean _loadConfiguration(OptionsCont into, String configFileName) throws IOException {
+            boolean ret = super._loadConfiguration(into, configFileName);
+            if(configFileName.equals(cancelAfter)) {
+                loading.cancel(true);
+            }
+            return ret;
+        }
+    }
+
+
     /// @brief The (optional) configuration file name
     private static String configOptionName = null;
     
@@ -60,6 +114,69 @@ public class Tester {
     /// @brief The file name to save the template under
     private static String saveTemplateName = null;
 
+    /// @brief Whether the saved files shall be printed and saved configurations shall be loaded again
+    private static boolean printSaved = false;
+
+    /// @brief Whether the values shall be printed using the typed option handles
+    private static boolean printHandles = false;
+
+    /// @brief Whether the handles returned by add() shall be printed (before anything else)
+    private static boolean printAddedHandles = false;
+
+    /// @brief Whether all values shall be converted after loading them
+    private static boolean validate = false;
+
+    /// @brief The command lines to parse into value sets of the options' schema
+    private static Vector<String> valuesCommandLines = new Vector<>();
+
+    /// @brief Whether the further command lines shall be parsed in parallel using OptionsParser.parseAll
+    private static boolean parseAll = false;
+
+    /// @brief Map from options' first names to the handles returned when adding them
+    private static HashMap<String, Option> addedHandles = new HashMap<>();
+
+    /// @brief Whether arguments starting with '@' name argument files
+    private static boolean argumentFiles = false;
+
+    /// @brief Whether parsing shall go on after an error
+    private static boolean continueOnError = false;
+
+    /// @brief Whether the configuration shall be loaded asynchronously
+    private static boolean async = false;
+
+    /// @brief The configuration file after which the asynchronous loading is cancelled (null if not cancelled)
+    private static String cancelAfter = null;
+
+    /// @brief The asynchronous loading
+    private static CompletableFuture<OptionsCont> loading = null;
+
+    /// @brief The configuration file to install a compiled sibling for
+    private static String compiledConfig = null;
+
+    /// @brief The file to install as compiled sibling
+    private static String compiledSource = null;
+
+    /// @brief The maximum number of values of the file cache (0 if no cache is used)
+    private static int cacheSize = 0;
+
+    /// @brief Whether the files of hierarchical configurations shall be read concurrently
+    private static boolean prefetch = false;
+
+    /// @brief The further loads, each given by the file to copy and the file to replace (empty if nothing is replaced)
+    private static Vector<Vector<String>> loadsAgain = new Vector<>();
+
+    /// @brief The size a journal must reach before it is compacted
+    private static long journalCompactionSize = 65536;
+
+    /// @brief The changes to record in the configuration's journal, each given by the option's name and the value
+    private static Vector<Vector<String>> records = new Vector<>();
+
+    /// @brief The file to copy over a watched configuration file (for testing reloads)
+    private static String reloadSource = null;
+
+    /// @brief The watched configuration file to replace (for testing reloads)
+    private static String reloadTarget = null;
+
     
     
     
@@ -69,18 +186,24 @@ public class Tester {
      * @throws IOException If the options definitions file could not be loaded
      */
     private static OptionsCont loadDefinition() throws IOException {
-        OptionsCont options = new OptionsCont();
         File f = new File("options.txt");
         if(!f.exists()) {
-            return options;
+            return new OptionsCont();
         }
+        loadsAgain = new Vector<>();
+        records = new Vector<>();
+        addedHandles = new HashMap<>();
+        valuesCommandLines = new Vector<>();
         BufferedReader in = new BufferedReader(new FileReader("options.txt"));
-        if(!in.ready()) {
-            in.close();
-            return options;
-        }
+        Vector<String> lines = new Vector<>();
         while(in.ready()) {
-            String line = in.readLine().trim();
+            lines.add(in.readLine().trim());
+        }
+        in.close();
+        // the container type has to be known before adding options
+        OptionsCont options = lines.contains("COLUMNAR") ? new OptionsCont_Columnar() : new OptionsCont();
+        for(Iterator<String> l=lines.iterator(); l.hasNext(); ) {
+            String line = l.next();
             if(line.length()==0) {
                 continue;
             }
@@ -121,13 +244,69 @@ public class Tester {
                     	fileIO = new OptionsFileIO_XML();
                     } else if(configOptionName.startsWith("csv")) {
                     	fileIO = new OptionsFileIO_CSV();
+                    } else if(configOptionName.startsWith("json")) {
+                    	fileIO = new OptionsFileIO_JSON();
+                    } else if(configOptionName.startsWith("bin")) {
+                    	fileIO = new OptionsFileIO_Binary();
                     } else {
-                    	in.close();
                     	throw new IOException("Unknown configuration format");
                     }
                     continue;
                 }
                 
+                // ... is it the container type or the handles output?
+                if("COLUMNAR".equals(type)) {
+                    continue;
+                }
+                if("PRINT_HANDLES".equals(type)) {
+                    printHandles = true;
+                    continue;
+                }
+                if("PRINT_ADDED_HANDLES".equals(type)) {
+                    printAddedHandles = true;
+                    continue;
+                }
+                
+                // ... shall further command lines be parsed into value sets of a schema?
+                if("VALUES".equals(type)) {
+                    valuesCommandLines.add(synonyms.elementAt(0));
+                    continue;
+                }
+                if("PARSE_ALL".equals(type)) {
+                    parseAll = true;
+                    continue;
+                }
+                
+                // ... shall values read from files be converted lazily?
+                if("LAZY".equals(type)) {
+                    options.setLazyConversion(true);
+                    continue;
+                }
+                if("VALIDATE".equals(type)) {
+                    validate = true;
+                    continue;
+                }
+                
+                // ... shall argument files be read?
+                if("ARGUMENT_FILES".equals(type)) {
+                    argumentFiles = true;
+                    continue;
+                }
+                if("CONTINUE_ON_ERROR".equals(type)) {
+                    continueOnError = true;
+                    continue;
+                }
+                
+                // ... shall the configuration be loaded asynchronously?
+                if("ASYNC".equals(type)) {
+                    async = true;
+                    continue;
+                }
+                if("CANCEL_AFTER".equals(type)) {
+                    cancelAfter = synonyms.elementAt(0);
+                    continue;
+                }
+                
                 // ... is it a named section begin?
                 if("SECTION".equals(type)) {
                     options.beginSection(synonyms.elementAt(0));
@@ -156,6 +335,12 @@ public class Tester {
                     continue;
                 }
 
+                // ... is it the option that names the parent configuration?
+                if("PARENT".equals(type)) {
+                    options.setParentConfigurationName(synonyms.elementAt(0));
+                    continue;
+                }
+
                 // ... is a save config / template option
                 if("SAVE_CONFIG".equals(type)) {
                     saveConfigName = synonyms.elementAt(0);
@@ -165,6 +350,48 @@ public class Tester {
                     saveTemplateName = synonyms.elementAt(0);
                     continue;
                 }
+                if("PRINT_SAVED".equals(type)) {
+                    printSaved = true;
+                    continue;
+                }
+                
+                // ... shall a compiled sibling be used?
+                if("COMPILED".equals(type)) {
+                    compiledConfig = synonyms.elementAt(0);
+                    compiledSource = synonyms.elementAt(1);
+                    continue;
+                }
+                
+                // ... shall a file cache be used?
+                if("CACHE".equals(type)) {
+                    cacheSize = Integer.parseInt(synonyms.elementAt(0));
+                    continue;
+                }
+                if("PREFETCH".equals(type)) {
+                    prefetch = true;
+                    continue;
+                }
+                if("LOAD_AGAIN".equals(type)) {
+                    loadsAgain.add(synonyms);
+                    continue;
+                }
+                
+                // ... shall changes be journaled?
+                if("JOURNAL".equals(type)) {
+                    journalCompactionSize = Long.parseLong(synonyms.elementAt(0));
+                    continue;
+                }
+                if("RECORD".equals(type)) {
+                    records.add(synonyms);
+                    continue;
+                }
+                
+                // ... is a reload test
+                if("RELOAD".equals(type)) {
+                    reloadSource = synonyms.elementAt(0);
+                    reloadTarget = synonyms.elementAt(1);
+                    continue;
+                }
                 
                 // ... build the option, first
                 Option option = null;
@@ -200,14 +427,48 @@ public class Tester {
                     } else {
                         option = new Option_FileName(defaultValue);
                     }
+                } else if("INT_LIST".equals(type)) {
+                    if(defaultValue==null) {
+                        option = new Option_IntegerList();
+                    } else {
+                        String[] vs = defaultValue.split(",");
+                        int[] v = new int[vs.length];
+                        for(int i=0; i<vs.length; ++i) {
+                            v[i] = Integer.parseInt(vs[i]);
+                        }
+                        option = new Option_IntegerList(v);
+                    }
+                } else if("DOUBLE_LIST".equals(type)) {
+                    if(defaultValue==null) {
+                        option = new Option_DoubleList();
+                    } else {
+                        String[] vs = defaultValue.split(",");
+                        double[] v = new double[vs.length];
+                        for(int i=0; i<vs.length; ++i) {
+                            v[i] = Double.parseDouble(vs[i]);
+                        }
+                        option = new Option_DoubleList(v);
+                    }
+                } else if("STRING_LIST".equals(type)) {
+                    if(defaultValue==null) {
+                        option = new Option_StringList();
+                    } else {
+                        option = new Option_StringList(defaultValue.split(","));
+                    }
+                } else if("FILE_LIST".equals(type)) {
+                    if(defaultValue==null) {
+                        option = new Option_FileNameList();
+                    } else {
+                        option = new Option_FileNameList(defaultValue.split(","));
+                    }
                 }
                 // ... add it to the container
                 String firstName = synonyms.elementAt(0);
                 synonyms.remove(0);
                 if(abbr!='!') {
-                    options.add(firstName, abbr, option);
+                    addedHandles.put(firstName, options.add(firstName, abbr, option));
                 } else {
-                    options.add(firstName, option);
+                    addedHandles.put(firstName, options.add(firstName, option));
                 }
                 while(synonyms.size()!=0) {
                     options.addSynonym(firstName, synonyms.elementAt(0));
@@ -219,10 +480,390 @@ public class Tester {
                 }
             }
         }
-        in.close();
         return options;
     }    
 
+
+    /** @brief Replaces a watched configuration file and prints the reloaded options
+     * 
+     * The file is replaced atomically, so that it is not read partially.
+     * @param args The command line options
+     * @throws IOException If the file cannot be replaced or the options cannot be loaded
+     * @throws InterruptedException If waiting for the reload is interrupted
+     */
+    private static void testReload(String[] args) throws IOException, InterruptedException {
+        OptionsReloader reloader = new OptionsReloader(() -> {
+            try {
+                return loadDefinition();
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, args, fileIO, configOptionName, 100);
+        try {
+            OptionsSnapshot before = reloader.start();
+            Path temporary = Paths.get(reloadTarget + ".tmp");
+            Files.copy(Paths.get(reloadSource), temporary, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temporary, Paths.get(reloadTarget), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // wait for the new snapshot
+            long end = System.currentTimeMillis() + 30000;
+            while(reloader.getSnapshot()==before && reloader.getLastError()==null && System.currentTimeMillis()<end) {
+                Thread.sleep(10);
+            }
+            if(reloader.getLastError()!=null) {
+                throw new IOException("Reloading failed.", reloader.getLastError());
+            }
+            if(reloader.getSnapshot()==before) {
+                throw new IOException("The configuration was not reloaded.");
+            }
+            System.out.println("Reloaded:");
+            printSnapshot(reloader.getSnapshot());
+            System.out.println("-------------------------------------------------------------------------------");
+        } finally {
+            reloader.close();
+        }
+    }
+
+
+    /** @brief Records changed options in the configuration's journal and prints the configuration and its journal
+     * 
+     * Afterwards, the configuration is loaded into a new container again.
+     * @param args The command line options
+     * @param options The loaded options to change
+     * @throws IOException If the journal or the configuration cannot be written or read
+     */
+    private static void testJournal(String[] args, OptionsCont options) throws IOException {
+        String configName = options.getString(configOptionName);
+        OptionsJournal journal = new OptionsJournal(fileIO, configName);
+        journal.setMinCompactionSize(journalCompactionSize);
+        for(Iterator<Vector<String>> i=records.iterator(); i.hasNext(); ) {
+            Vector<String> record = i.next();
+            options.set(record.elementAt(0), record.elementAt(1));
+            journal.record(options, record.elementAt(0));
+        }
+        File directory = new File(configName).getAbsoluteFile().getParentFile();
+        String[] files = directory.list();
+        Arrays.sort(files);
+        System.out.println("Files:");
+        for(int i=0; i<files.length; ++i) {
+            System.out.println(files[i]);
+        }
+        System.out.println("-------------------------------------------------------------------------------");
+        printFile(configName);
+        if(new File(OptionsJournal.getJournalName(configName)).exists()) {
+            printFile(OptionsJournal.getJournalName(configName));
+        }
+        OptionsCont loaded = loadDefinition();
+        OptionsIO.parseAndLoad(loaded, args, fileIO, configOptionName, false, false);
+        System.out.println("Loaded again:");
+        OptionsIO.printSetOptions(System.out, loaded, true, false, false);
+        System.out.println("-------------------------------------------------------------------------------");
+    }
+
+
+    /** @brief Parses the further command lines into value sets of one schema and prints them
+     * 
+     * The schema is compiled from a new container holding the defaults.
+     *  Afterwards, it is tried to change the definitions of a value set.
+     * @throws IOException If the options definitions file could not be loaded
+     */
+    private static void testSchema() throws IOException {
+        Vector<String> commandLines = valuesCommandLines;
+        OptionsSchema schema = loadDefinition().compile();
+        Vector<OptionsValues> valueSets = new Vector<>();
+        for(Iterator<String> i=commandLines.iterator(); i.hasNext(); ) {
+            OptionsValues values = schema.newValues();
+            OptionsParser.parseCommandLine(values, i.next(), false);
+            valueSets.add(values);
+        }
+        // print the value sets after all were parsed
+        for(int i=0; i<valueSets.size(); ++i) {
+            System.out.println("Values " + (i+1) + " (" + commandLines.elementAt(i) + "):");
+            OptionsIO.printSetOptions(System.out, valueSets.elementAt(i), true, false, false);
+            System.out.println("-------------------------------------------------------------------------------");
+        }
+        System.out.println("New values of the schema:");
+        OptionsValues values = schema.newValues();
+        OptionsIO.printSetOptions(System.out, values, true, false, false);
+        System.out.println("-------------------------------------------------------------------------------");
+        String name = values.getSortedOptionNames().elementAt(0);
+        Vector<Runnable> changes = new Vector<>();
+        changes.add(() -> values.add("added", new Option_String()));
+        changes.add(() -> values.addSynonym(name, "synonym"));
+        changes.add(() -> values.addDeprecatedSynonym(name, "deprecated"));
+        changes.add(() -> values.setDescription(name, "Changed."));
+        changes.add(() -> values.beginSection("Section"));
+        changes.add(() -> values.setHelpHeadAndTail("Head", "Tail"));
+        changes.add(() -> values.setParentConfigurationName(name));
+        String[] methods = { "add", "addSynonym", "addDeprecatedSynonym", "setDescription", "beginSection", "setHelpHeadAndTail", "setParentConfigurationName" };
+        for(int i=0; i<methods.length; ++i) {
+            try {
+                changes.elementAt(i).run();
+                System.out.println(methods[i] + ": changed");
+            } catch(UnsupportedOperationException e) {
+                System.out.println(methods[i] + ": " + e.getMessage());
+            }
+        }
+        System.out.println("-------------------------------------------------------------------------------");
+    }
+
+
+    /** @brief Parses the further command lines in parallel and prints the results in their order
+     * 
+     * The command lines are split at spaces.
+     * @throws IOException If the options definitions file could not be loaded
+     */
+    private static void testParseAll() throws IOException {
+        Vector<String> commandLines = valuesCommandLines;
+        OptionsSchema schema = loadDefinition().compile();
+        Vector<String[]> args = new Vector<>();
+        for(Iterator<String> i=commandLines.iterator(); i.hasNext(); ) {
+            StringTokenizer st = new StringTokenizer(i.next(), " ");
+            String[] vector = new String[st.countTokens()];
+            for(int j=0; j<vector.length; ++j) {
+                vector[j] = st.nextToken();
+            }
+            args.add(vector);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<OptionsParseResult> results = OptionsParser.parseAll(schema, args, pool);
+        pool.shutdown();
+        for(int i=0; i<results.size(); ++i) {
+            OptionsParseResult result = results.get(i);
+            System.out.println("Result " + (i+1) + " (" + commandLines.elementAt(i) + "): " + (result.isValid() ? "valid" : "invalid"));
+            OptionsDiagnostics diagnostics = result.getDiagnostics();
+            for(int j=0; diagnostics!=null && j<diagnostics.size(); ++j) {
+                System.out.println("  " + diagnostics.getKind(j) + " at argument " + diagnostics.getArgumentIndex(j) + ": " + diagnostics.getMessage(j));
+            }
+            OptionsIO.printSetOptions(System.out, result.getValues(), true, false, false);
+            System.out.println("-------------------------------------------------------------------------------");
+        }
+    }
+
+
+    /** @brief Prints the contents of a file
+     * 
+     * @param fileName The name of the file to print
+     * @throws IOException If the file cannot be read
+     */
+    private static void printFile(String fileName) throws IOException {
+        System.out.println(fileName + ":");
+        for(Iterator<String> i=Files.readAllLines(Paths.get(fileName), StandardCharsets.UTF_8).iterator(); i.hasNext(); ) {
+            System.out.println(i.next());
+        }
+        System.out.println("-------------------------------------------------------------------------------");
+    }
+
+
+    /** @brief Returns the handle returned when adding the named option
+     * 
+     * @param options The options container
+     * @param added Map from options' first names to the handles returned when adding them
+     * @param name The name of the option
+     * @return The handle returned by add()
+     */
+    private static Option getAdded(OptionsCont options, HashMap<String, Option> added, String name) {
+        for(Iterator<String> i=options.getSynonyms(name).iterator(); i.hasNext(); ) {
+            Option handle = added.get(i.next());
+            if(handle!=null) {
+                return handle;
+            }
+        }
+        return null;
+    }
+
+
+    /** @brief Prints the values of the set options, read using the typed option handles
+     * 
+     * @param options The options to print
+     * @param added The handles returned by add(), null if the handles shall be retrieved from the container
+     */
+    private static void printHandles(OptionsCont options, HashMap<String, Option> added) {
+        for(Iterator<String> i=options.getSortedOptionNames().iterator(); i.hasNext(); ) {
+            String name = i.next();
+            Option handle;
+            String value;
+            String type = options.getTypeName(name);
+            if("int".equals(type)) {
+                Option_Integer o = added!=null ? (Option_Integer) getAdded(options, added, name) : options.getIntegerOption(name);
+                handle = o;
+                value = Integer.toString(o.getValue());
+            } else if("double".equals(type)) {
+                Option_Double o = added!=null ? (Option_Double) getAdded(options, added, name) : options.getDoubleOption(name);
+                handle = o;
+                value = Double.toString(o.getValue());
+            } else if("bool".equals(type)) {
+                Option_Bool o = added!=null ? (Option_Bool) getAdded(options, added, name) : options.getBoolOption(name);
+                handle = o;
+                value = Boolean.toString(o.getValue());
+            } else if("string".equals(type) || "filename".equals(type)) {
+                Option_String o = added!=null ? (Option_String) getAdded(options, added, name) : options.getStringOption(name);
+                handle = o;
+                value = o.getValue();
+            } else if("int list".equals(type)) {
+                Option_IntegerList o = added!=null ? (Option_IntegerList) getAdded(options, added, name) : options.getIntegerListOption(name);
+                handle = o;
+                value = o.size() + " values: " + o.getValueAsString();
+            } else if("double list".equals(type)) {
+                Option_DoubleList o = added!=null ? (Option_DoubleList) getAdded(options, added, name) : options.getDoubleListOption(name);
+                handle = o;
+                value = o.size() + " values: " + o.getValueAsString();
+            } else {
+                Option_StringList o = added!=null ? (Option_StringList) getAdded(options, added, name) : options.getStringListOption(name);
+                handle = o;
+                value = o.getValues().size() + " values: " + o.getValueAsString();
+            }
+            if(!handle.isSet()) {
+                value = "<not set>";
+            }
+            System.out.println(handle.getTypeName() + " " + options.getSynonyms(handle) + ": " + value + (handle.isDefault() ? " (default)" : "") + (handle.getDescription()!=null ? " - " + handle.getDescription() : ""));
+        }
+    }
+
+
+    /** @brief Parses the command line and loads the configuration asynchronously, printing why loading failed
+     * 
+     * The loading is run by the calling thread once the future is known,
+     *  so that it can be cancelled while loading (see CancellingCSVIO).
+     * @param options The options container to fill
+     * @param args The command line options
+     * @return Whether parsing and loading was successful
+     * @throws InterruptedException Not thrown, the loading is done when waiting for it
+     */
+    private static boolean loadAsync(OptionsCont options, String[] args) throws InterruptedException {
+        if(!OptionsParser.parse(options, args, continueOnError)) {
+            return false;
+        }
+        if(!options.isSet(configOptionName)) {
+            return true;
+        }
+        Vector<Runnable> tasks = new Vector<>();
+        loading = fileIO.loadConfigurationAsync(options, configOptionName, tasks::add);
+        for(Iterator<Runnable> i=tasks.iterator(); i.hasNext(); ) {
+            i.next().run();
+        }
+        try {
+            loading.get();
+            return true;
+        } catch(CancellationException e) {
+            System.out.println("Loading was cancelled.");
+        } catch(ExecutionException e) {
+            Throwable error = e.getCause();
+            System.out.println("Loading failed: " + error.getClass().getSimpleName());
+            if(error instanceof OptionsLoadException) {
+                System.out.println("  File: " + ((OptionsLoadException) error).getFileName());
+                if(error.getCause()!=null) {
+                    System.out.println("  Cause: " + error.getCause().getClass().getName());
+                }
+            }
+        }
+        System.out.println("-------------------------------------------------------------------------------");
+        return false;
+    }
+
+
+    /** @brief Installs a compiled sibling for a configuration file and enables using it
+     * 
+     * The sibling is marked as being newer than the configuration file.
+     * @throws IOException If the sibling cannot be written
+     */
+    private static void installCompiled() throws IOException {
+        File compiled = new File(OptionsFileIO_Binary.getCompiledName(compiledConfig));
+        Files.copy(Paths.get(compiledSource), compiled.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        compiled.setLastModified(new File(compiledConfig).lastModified() + 2000);
+        fileIO.setUseCompiled(true);
+    }
+
+
+    /** @brief Loads the configuration into new containers again, using the same file reading handler
+     * 
+     * Before a load, a file may be replaced by another one. The replaced
+     *  file keeps its modification time if "keep" is given, otherwise
+     *  it is marked as being modified two seconds later.
+     * @param args The command line options
+     * @param cache The cache used by the handler, null if no cache is used
+     * @throws IOException If a file cannot be replaced or the options cannot be loaded
+     */
+    private static void loadAgain(String[] args, OptionsFileCache cache) throws IOException {
+        Vector<Vector<String>> loads = loadsAgain;
+        for(Iterator<Vector<String>> i=loads.iterator(); i.hasNext(); ) {
+            Vector<String> load = i.next();
+            String message = "Loaded again:";
+            if(!load.isEmpty()) {
+                File target = new File(load.elementAt(1));
+                long lastModified = target.lastModified();
+                Files.copy(Paths.get(load.elementAt(0)), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                boolean keep = load.size()>2 && "keep".equals(load.elementAt(2));
+                target.setLastModified(keep ? lastModified : lastModified + 2000);
+                message = "Loaded again after replacing " + load.elementAt(1) + (keep ? " (same modification time)" : "") + ":";
+            }
+            OptionsTypedFileIO io = fileIO;
+            OptionsCont options = loadDefinition();
+            fileIO = io;
+            OptionsIO.parseAndLoad(options, args, fileIO, configOptionName, false, false);
+            System.out.println(message);
+            OptionsIO.printSetOptions(System.out, options, true, false, false);
+            if(cache!=null) {
+                printCache(cache);
+            }
+            System.out.println("-------------------------------------------------------------------------------");
+        }
+    }
+
+
+    /** @brief Prints the state of a file cache
+     * 
+     * @param cache The cache to print
+     */
+    private static void printCache(OptionsFileCache cache) {
+        System.out.println("Cache: " + cache.size() + " file(s), " + cache.getValuesNumber() + " value(s), " + cache.getHits() + " hit(s), " + cache.getMisses() + " miss(es)");
+    }
+
+
+    /** @brief Prints a saved file and loads a saved configuration into a new container
+     * 
+     * @param fileName The name of the saved file
+     * @param load Whether the file is a configuration that shall be loaded and printed
+     * @throws IOException If the file cannot be read
+     */
+    private static void printSaved(String fileName, boolean load) throws IOException {
+        System.out.println("Saved " + fileName + ":");
+        for(Iterator<String> i=Files.readAllLines(Paths.get(fileName), StandardCharsets.UTF_8).iterator(); i.hasNext(); ) {
+            System.out.println(i.next());
+        }
+        System.out.println("-------------------------------------------------------------------------------");
+        if(!load) {
+            return;
+        }
+        OptionsCont options = loadDefinition();
+        OptionsTypedFileIO reader;
+        if(fileName.indexOf(".xml")>=0) {
+            reader = new OptionsFileIO_XML();
+        } else if(fileName.indexOf(".json")>=0) {
+            reader = new OptionsFileIO_JSON();
+        } else {
+            reader = new OptionsFileIO_CSV();
+        }
+        options.set(configOptionName, fileName);
+        reader.loadConfiguration(options, configOptionName);
+        System.out.println("Loaded " + fileName + ":");
+        OptionsIO.printSetOptions(System.out, options, true, false, false);
+        System.out.println("-------------------------------------------------------------------------------");
+    }
+
+
+    /** @brief Prints the set options of a snapshot
+     * 
+     * @param snapshot The snapshot to print
+     */
+    private static void printSnapshot(OptionsSnapshot snapshot) {
+        for(Iterator<String> i=snapshot.getSortedOptionNames().iterator(); i.hasNext(); ) {
+            String name = i.next();
+            if(snapshot.isSet(name)) {
+                System.out.println(name + ": " + snapshot.getValueAsString(name) + (snapshot.isDefault(name) ? " (default)" : ""));
+            }
+        }
+    }
+
     
     /** @brief The main method
      * 
@@ -233,30 +874,107 @@ public class Tester {
         try {
             // load the definition
             OptionsCont options = loadDefinition();
+            if(compiledConfig!=null) {
+                installCompiled();
+            }
+            if(cancelAfter!=null) {
+                fileIO = new CancellingCSVIO();
+            }
+            OptionsFileCache cache = null;
+            if(cacheSize>0) {
+                cache = new OptionsFileCache(cacheSize);
+                fileIO.setCache(cache);
+            }
+            if(prefetch) {
+                fileIO.setPrefetchExecutor(Executors.newFixedThreadPool(4, r -> {
+                    Thread thread = new Thread(r);
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+            }
             // parse options
-            if(OptionsIO.parseAndLoad(options, args, fileIO, configOptionName, false, false)) {
+            boolean ok;
+            if(argumentFiles) {
+                ok = OptionsParser.parseWithArgumentFiles(options, args, continueOnError);
+            } else if(async) {
+                ok = loadAsync(options, args);
+            } else {
+                ok = OptionsIO.parseAndLoad(options, args, fileIO, configOptionName, continueOnError, false);
+            }
+            if(validate) {
+                options.validateAll();
+            }
+            if(printAddedHandles) {
+                // read the handles kept from add() before anything else reads the values
+                printHandles(options, addedHandles);
+                System.out.println("-------------------------------------------------------------------------------");
+            }
+            if(ok) {
             	OptionsIO.printHelp(System.out, options, maxWidth, optionIndent, divider, sectionIndent, sectionDivider);
                 System.out.println("-------------------------------------------------------------------------------");
                 OptionsIO.printSetOptions(System.out, options, true, false, false);
                 System.out.println("-------------------------------------------------------------------------------");
+                if(printHandles) {
+                    printHandles(options, null);
+                    System.out.println("-------------------------------------------------------------------------------");
+                }
+                if(cache!=null) {
+                    printCache(cache);
+                    System.out.println("-------------------------------------------------------------------------------");
+                }
+                loadAgain(args, cache);
+                if(!records.isEmpty()) {
+                    testJournal(args, options);
+                }
+                if(!valuesCommandLines.isEmpty()) {
+                    if(parseAll) {
+                        testParseAll();
+                    } else {
+                        testSchema();
+                    }
+                }
+            } else if(continueOnError) {
+                // show the values that were set despite the errors
+                OptionsIO.printSetOptions(System.out, options, true, false, false);
+                System.out.println("-------------------------------------------------------------------------------");
+                if(printHandles) {
+                    printHandles(options, null);
+                    System.out.println("-------------------------------------------------------------------------------");
+                }
             }
             OptionsFileIO_XML xmlWriter = new OptionsFileIO_XML();
             OptionsFileIO_CSV csvWriter = new OptionsFileIO_CSV();
+            OptionsFileIO_JSON jsonWriter = new OptionsFileIO_JSON();
             if(saveConfigName!=null) {
                 if(saveConfigName.indexOf(".xml")>=0) {
                     xmlWriter.writeConfiguration(saveConfigName, options);
                 }
-                if(saveConfigName.indexOf(".xml")>=0) {
+                if(saveConfigName.indexOf(".csv")>=0) {
                     csvWriter.writeConfiguration(saveConfigName, options);
                 }
+                if(saveConfigName.indexOf(".json")>=0) {
+                    jsonWriter.writeConfiguration(saveConfigName, options);
+                }
+                if(printSaved) {
+                    printSaved(saveConfigName, true);
+                }
             }
             if(saveTemplateName!=null) {
                 if(saveTemplateName.indexOf(".xml")>=0) {
                     xmlWriter.writeTemplate(saveTemplateName, options);
                 }
-                if(saveTemplateName.indexOf(".xml")>=0) {
+                if(saveTemplateName.indexOf(".csv")>=0) {
                     csvWriter.writeTemplate(saveTemplateName, options);
                 }
+                if(saveTemplateName.indexOf(".json")>=0) {
+                    jsonWriter.writeTemplate(saveTemplateName, options);
+                }
+                if(printSaved) {
+                    printSaved(saveTemplateName, false);
+                }
+            }
+            if(reloadSource!=null) {
+                testReload(args);
             }
         } catch(Exception e) {
             System.err.println(e.toString());
@@ -19,6 +19,40 @@ public abstract class Option {
     /// @brief The description (what appears in the help screen) of the option
     private String myDescription;
 
+    /// @brief The value that is not yet converted (lazy conversion), null if none
+    private RawValue myRawValue = null;
+
+    /// @brief Whether values are converted when being set, even if lazy conversion is used
+    private boolean myConvertEagerly = false;
+
+
+    /** @class RawValue
+     * @brief A not yet converted value and where it comes from
+     */
+    private static final class RawValue {
+        /// @brief The value as given
+        final String value;
+        /// @brief The name the option was set using
+        final String name;
+        /// @brief The file the value was read from
+        final String fileName;
+        /// @brief The line within the file the value was read from
+        final int line;
+
+        /** @brief Constructor
+         * @param[in] _value The value as given
+         * @param[in] _name The name the option was set using
+         * @param[in] _fileName The file the value was read from
+         * @param[in] _line The line within the file the value was read from
+         */
+        RawValue(String _value, String _name, String _fileName, int _line) {
+            value = _value;
+            name = _name;
+            fileName = _fileName;
+            line = _line;
+        }
+    }
+
     
     
     /** @brief constructor
@@ -95,6 +129,58 @@ public abstract class Option {
    public abstract void set(String value);
 
 
+   /** @brief Sets the value given as a region of a character sequence
+    *
+    * This default implementation builds a String from the region and
+    *  calls set(String). Options that can convert the value in place
+    *  override it.
+    * @param[in] s The character sequence the value is a part of
+    * @param[in] begin The begin of the value within the sequence (inclusive)
+    * @param[in] end The end of the value within the sequence (exclusive)
+    * @throw InvalidArgument if this option already has been set (see setSet())
+    */
+   public void set(CharSequence s, int begin, int end) {
+        set(s.subSequence(begin, end).toString());
+   }
+
+
+   /** @brief Sets the value given as a region of a character sequence if it can be converted
+    *
+    * This default implementation calls set(CharSequence, int, int) and
+    *  catches a NumberFormatException. Options that can check the value
+    *  without throwing an exception override it.
+    * @param[in] s The character sequence the value is a part of
+    * @param[in] begin The begin of the value within the sequence (inclusive)
+    * @param[in] end The end of the value within the sequence (exclusive)
+    * @return Whether the value could be converted (the option is not changed otherwise)
+    * @throw InvalidArgument if this option already has been set (see setSet())
+    */
+   protected boolean trySet(CharSequence s, int begin, int end) {
+        try {
+            set(s, begin, end);
+        } catch(NumberFormatException e) {
+            return false;
+        }
+        return true;
+   }
+
+
+   /** @brief Sets the given value, converting it on first access if supported
+    *
+    * Options that support lazy conversion store the value as given and
+    *  convert it when it is read for the first time. The other options
+    *  convert it immediately, which is done by this default implementation.
+    * @param[in] value The value to set
+    * @param[in] name The name the option was set using (for error reports)
+    * @param[in] fileName The file the value was read from (for error reports)
+    * @param[in] line The line within the file the value was read from (for error reports)
+    * @throw InvalidArgument if this option already has been set (see setSet())
+    */
+   public void setLazy(String value, String name, String fileName, int line) {
+        set(value);
+   }
+
+
    /** @brief Adds a description (what appears in the help screen) to the option
     *
     * @param[in] desc The description to set
@@ -134,6 +220,83 @@ public abstract class Option {
         myAmSetable = false;
         myHaveDefaultValue = false;
         myAmSet = true;
+        myRawValue = null;
+   }
+
+
+   /** @brief Marks the option as set and stores the value for being converted later
+    *
+    * Used by options that support lazy conversion within setLazy().
+    * @param[in] value The value to set
+    * @param[in] name The name the option was set using
+    * @param[in] fileName The file the value was read from
+    * @param[in] line The line within the file the value was read from
+    */
+   protected void setRaw(String value, String name, String fileName, int line) {
+        if(myConvertEagerly) {
+            convert(value, name, fileName, line);
+            setSet();
+            return;
+        }
+        setSet();
+        myRawValue = new RawValue(value, name, fileName, line);
+   }
+
+
+   /** @brief Converts a value stored using setRaw(), if any
+    *
+    * Has to be called by options that support lazy conversion before
+    *  accessing their value.
+    * @throw RuntimeException If the value cannot be converted
+    */
+   protected void resolve() {
+        if(myRawValue==null) {
+            return;
+        }
+        RawValue raw = myRawValue;
+        // keeps the raw value on an error, so that further reads fail as well
+        convert(raw.value, raw.name, raw.fileName, raw.line);
+        myRawValue = null;
+   }
+
+
+   /** @brief Converts a pending value and converts all further values when they are set
+    *
+    * Called when the option is handed out for reading its value directly,
+    *  so that conversion errors are reported at this time and the typed
+    *  getValue() methods find no pending value afterwards.
+    * @throw RuntimeException If a pending value cannot be converted
+    */
+   void convertEagerly() {
+        resolve();
+        myConvertEagerly = true;
+   }
+
+
+   /** @brief Converts the given value, reporting an error with the value's origin
+    * @param[in] value The value to convert
+    * @param[in] name The name the option was set using
+    * @param[in] fileName The file the value was read from
+    * @param[in] line The line within the file the value was read from
+    * @throw RuntimeException If the value cannot be converted
+    */
+   private void convert(String value, String name, String fileName, int line) {
+        try {
+            convert(value);
+        } catch(NumberFormatException e) {
+            throw new RuntimeException("The value for option '" + name + "' given in '" + fileName + "', line " + line + " must be of " + getTypeName() + " type.");
+        }
+   }
+
+
+   /** @brief Converts the given value and stores it, not changing the option's state
+    *
+    * Has to be implemented by options that support lazy conversion.
+    * @param[in] value The value to convert
+    * @throw NumberFormatException If the value cannot be converted
+    */
+   protected void convert(String value) {
+        throw new UnsupportedOperationException("Options of type '" + getTypeName() + "' do not support lazy conversion.");
    }
 
    
@@ -143,5 +306,15 @@ public abstract class Option {
    protected boolean canBeSet() {
 	   return myAmSetable;
    }
+
+   
+   /** @brief Copies the flags (setable, set, default) of the given option
+    * @param[in] other The option to copy the flags from
+    */
+   void copyFlags(Option other) {
+        myAmSetable = other.myAmSetable;
+        myAmSet = other.myAmSet;
+        myHaveDefaultValue = other.myHaveDefaultValue;
+   }
    
 }
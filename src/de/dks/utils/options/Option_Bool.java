@@ -35,22 +35,146 @@ public class Option_Bool extends Option {
      */
     @Override
     public void set(String value) {
-        value = value.toLowerCase();
-        if("t".equals(value)||"true".equals(value)||"1".equals(value)) {
-            myValue = true;
-        } else if("f".equals(value)||"false".equals(value)||"0".equals(value)) {
-            myValue = false;
-        } else {
-            throw new NumberFormatException("Could not convert '" + value + "' to a boolean");
+        convert(value);
+        setSet();
+    }
+
+
+    /** @brief Sets the given value (without converting it)
+     * @param[in] value The value to set
+     */
+    void setValue(boolean value) {
+        myValue = value;
+        setSet();
+    }
+
+
+    /** @brief Sets the value given as a region of a character sequence (without building a String)
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     */
+    @Override
+    public void set(CharSequence s, int begin, int end) {
+        myValue = parse(s, begin, end);
+        setSet();
+    }
+
+
+    /** @brief Sets the value given as a region of a character sequence if it can be converted
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     * @return Whether the value could be converted
+     */
+    @Override
+    protected boolean trySet(CharSequence s, int begin, int end) {
+        int value = tryParse(s, begin, end);
+        if(value<0) {
+            return false;
         }
+        myValue = value==1;
         setSet();
+        return true;
+    }
+
+
+    /** @brief Stores the given value for being converted on first access
+     * @param[in] value The given string value that shall be translated to boolean
+     * @param[in] name The name the option was set using
+     * @param[in] fileName The file the value was read from
+     * @param[in] line The line within the file the value was read from
+     */
+    @Override
+    public void setLazy(String value, String name, String fileName, int line) {
+        setRaw(value, name, fileName, line);
+    }
+
+
+    /** @brief Converts the given value and stores it
+     * @param[in] value The given string value that shall be translated to boolean
+     */
+    @Override
+    protected void convert(String value) {
+        myValue = parse(value);
+    }
+
+    
+    /** @brief Converts the given string to a boolean
+     * 
+     * "t", "true", and "1" are interpreted as true, "f", "false", and "0" as false.
+     * @param[in] value The given string value that shall be translated to boolean
+     * @return The boolean value
+     * @throw NumberFormatException If the value cannot be converted
+     */
+    static boolean parse(String value) {
+        return parse(value, 0, value.length());
+    }
+
+
+    /** @brief Converts the given region of a character sequence to a boolean
+     * 
+     * "t", "true", and "1" are interpreted as true, "f", "false", and "0" as false.
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     * @return The boolean value
+     * @throw NumberFormatException If the value cannot be converted
+     */
+    static boolean parse(CharSequence s, int begin, int end) {
+        int value = tryParse(s, begin, end);
+        if(value<0) {
+            throw new NumberFormatException("Could not convert '" + s.subSequence(begin, end).toString().toLowerCase() + "' to a boolean");
+        }
+        return value==1;
+    }
+
+
+    /** @brief Converts the given region of a character sequence to a boolean without throwing an exception
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     * @return 1 for true, 0 for false, -1 if the value cannot be converted
+     */
+    static int tryParse(CharSequence s, int begin, int end) {
+        if(matches(s, begin, end, "t")||matches(s, begin, end, "true")||matches(s, begin, end, "1")) {
+            return 1;
+        } else if(matches(s, begin, end, "f")||matches(s, begin, end, "false")||matches(s, begin, end, "0")) {
+            return 0;
+        }
+        return -1;
+    }
+
+
+    /** @brief Returns whether the region equals the given lower case word, ignoring the case
+     * @param[in] s The character sequence the region is a part of
+     * @param[in] begin The begin of the region (inclusive)
+     * @param[in] end The end of the region (exclusive)
+     * @param[in] word The word to compare with (lower case)
+     * @return Whether the region equals the word
+     */
+    private static boolean matches(CharSequence s, int begin, int end, String word) {
+        if(end-begin!=word.length()) {
+            return false;
+        }
+        for(int i=0; i<word.length(); ++i) {
+            if(Character.toLowerCase(s.charAt(begin+i))!=word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     
     /** @brief Returns the set value
+     *
+     * If lazy conversion is used, a value read from a file is converted
+     *  on the first access.
      * @return The set value
+     * @throw RuntimeException If a value read from a file cannot be converted
      */
     public boolean getValue() {
+        resolve();
         return myValue;
     }
 
@@ -61,6 +185,7 @@ public class Option_Bool extends Option {
      */
     @Override
     public String getValueAsString() {
+        resolve();
         if(myValue) {
             return "true";
         } else {
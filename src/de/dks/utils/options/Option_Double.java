@@ -10,6 +10,15 @@ package de.dks.utils.options;
 public class Option_Double extends Option {
     /// @brief The value (no default)
     private double myValue;
+
+    /// @brief The largest mantissa that is exactly representable as double (2^53)
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /// @brief The powers of ten that are exactly representable as double
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
     
     
     /** @brief Constructor
@@ -47,16 +56,115 @@ public class Option_Double extends Option {
      */
     @Override
     public void set(String valueS) {
-        double value = Double.parseDouble(valueS);
+        convert(valueS);
+        setSet();
+    }
+
+
+    /** @brief Sets the given value (without converting it)
+     * @param[in] value The value to set
+     */
+    void setValue(double value) {
         myValue = value;
         setSet();
     }
 
+
+    /** @brief Stores the given value for being converted on first access
+     * @param[in] valueS The given string value that shall be translated to double
+     * @param[in] name The name the option was set using
+     * @param[in] fileName The file the value was read from
+     * @param[in] line The line within the file the value was read from
+     */
+    @Override
+    public void setLazy(String valueS, String name, String fileName, int line) {
+        setRaw(valueS, name, fileName, line);
+    }
+
+
+    /** @brief Converts the given value and stores it
+     * @param[in] valueS The given string value that shall be translated to double
+     */
+    @Override
+    protected void convert(String valueS) {
+        myValue = Double.parseDouble(valueS);
+    }
+
+
+    /** @brief Converts the given region of a character sequence to a double
+     *
+     * Accepts the same values as Double.parseDouble(String). Decimal
+     *  numbers with up to 15 digits and an exponent of at most 22 are
+     *  converted in place (both the digits and the power of ten are exact,
+     *  so the result is correctly rounded); other values are converted
+     *  using Double.parseDouble(String).
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     * @return The double value
+     * @throw NumberFormatException If the value cannot be converted
+     */
+    static double parse(CharSequence s, int begin, int end) {
+        int i = begin;
+        boolean negative = false;
+        if(i<end && (s.charAt(i)=='-' || s.charAt(i)=='+')) {
+            negative = s.charAt(i)=='-';
+            ++i;
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        boolean digits = false;
+        boolean point = false;
+        for(; i<end; ++i) {
+            char c = s.charAt(i);
+            if(c=='.' && !point) {
+                point = true;
+                continue;
+            }
+            if(c<'0' || c>'9') {
+                break;
+            }
+            if(mantissa>(MAX_EXACT_MANTISSA-9)/10) {
+                return Double.parseDouble(s.subSequence(begin, end).toString());
+            }
+            mantissa = mantissa * 10 + (c - '0');
+            digits = true;
+            if(point) {
+                --exponent;
+            }
+        }
+        if(digits && i<end && (s.charAt(i)=='e' || s.charAt(i)=='E')) {
+            ++i;
+            boolean negativeExponent = false;
+            if(i<end && (s.charAt(i)=='-' || s.charAt(i)=='+')) {
+                negativeExponent = s.charAt(i)=='-';
+                ++i;
+            }
+            int value = 0;
+            int exponentBegin = i;
+            for(; i<end && s.charAt(i)>='0' && s.charAt(i)<='9' && value<1000; ++i) {
+                value = value * 10 + (s.charAt(i) - '0');
+            }
+            exponent += negativeExponent ? -value : value;
+            digits = i>exponentBegin;
+        }
+        if(!digits || i<end || exponent<-22 || exponent>22) {
+            return Double.parseDouble(s.subSequence(begin, end).toString());
+        }
+        double value = exponent>=0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+        return negative ? -value : value;
+    }
+
     
     /** @brief Returns the set value
+     *
+     * If lazy conversion is used, a value read from a file is converted
+     *  on the first access.
      * @return The set value
+     * @throw RuntimeException If a value read from a file cannot be converted
      */
     public double getValue() {
+        resolve();
         return myValue;
     }
 
@@ -66,6 +174,7 @@ public class Option_Double extends Option {
      */
     @Override
     public String getValueAsString() {
+        resolve();
         return Double.toString(myValue);
     }
 
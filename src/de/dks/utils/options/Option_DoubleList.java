@@ -0,0 +1,155 @@
+package de.dks.utils.options;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+/**
+ * @class Option_DoubleList
+ * @brief A derivation from Option_List for storing several double values.
+ *
+ * The values are stored in a growable double[].
+ * @see Option_List
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class Option_DoubleList extends Option_List {
+    /// @brief The values
+    private double[] myValues;
+
+    /// @brief The number of stored values
+    private int mySize;
+
+
+    /** @brief Constructor
+     * 
+     * The option is marked as being not set (having no value).
+     * The values are divided by ','.
+     */
+    public Option_DoubleList() {
+        this(',');
+    }
+
+
+    /** @brief Constructor
+     * 
+     * The option is marked as being not set (having no value).
+     * @param separator The separator between values
+     */
+    public Option_DoubleList(char separator) {
+        super(false, separator);
+        myValues = new double[4];
+        mySize = 0;
+    }
+
+
+    /** @brief Constructor
+     * 
+     * The given values are stored as the default values.
+     * The option is marked as being set (having a value).
+     * The values are divided by ','.
+     * @param values The default values
+     */
+    public Option_DoubleList(double[] values) {
+        this(values, ',');
+    }
+
+
+    /** @brief Constructor
+     * 
+     * The given values are stored as the default values.
+     * The option is marked as being set (having a value).
+     * @param values The default values
+     * @param separator The separator between values
+     */
+    public Option_DoubleList(double[] values, char separator) {
+        super(true, separator);
+        myValues = Arrays.copyOf(values, Math.max(values.length, 4));
+        mySize = values.length;
+    }
+    
+    
+    /** @brief Returns the type name, here: "double list"
+     * @return The type name ("double list")
+     */
+    @Override
+    public String getTypeName() {
+        return "double list";
+    }
+
+
+    /** @brief Returns a read-only view on the values
+     *
+     * The values are not copied. The view shows the values stored at the
+     *  time of the call; it should not be kept while further values are
+     *  added.
+     * @return The values
+     */
+    public DoubleBuffer getValues() {
+        return DoubleBuffer.wrap(myValues, 0, mySize).asReadOnlyBuffer();
+    }
+
+
+    /** @brief Returns the indexed value
+     * @param index The index of the value
+     * @return The indexed value
+     */
+    public double get(int index) {
+        if(index>=mySize) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds (size " + mySize + ").");
+        }
+        return myValues[index];
+    }
+
+
+    /** @brief Returns the number of stored values
+     * @return The number of values
+     */
+    @Override
+    public int size() {
+        return mySize;
+    }
+
+
+    /** @brief Returns a copy of this option, including its values and state
+     * @return A copy of this option
+     */
+    @Override
+    Option_List copy() {
+        Option_DoubleList ret = copyState(new Option_DoubleList(getSeparator()));
+        ret.myValues = Arrays.copyOf(myValues, Math.max(mySize, 4));
+        ret.mySize = mySize;
+        return ret;
+    }
+
+
+    /** @brief Appends a single value
+     * @param value The value to append
+     */
+    @Override
+    protected void append(String value) {
+        if(mySize==myValues.length) {
+            myValues = Arrays.copyOf(myValues, mySize*2);
+        }
+        myValues[mySize++] = Double.parseDouble(value);
+    }
+
+
+    /** @brief Removes the values starting at the given position
+     * @param size The number of values to keep
+     */
+    @Override
+    protected void truncate(int size) {
+        mySize = size;
+    }
+
+
+    /** @brief Appends the string representation of the indexed value
+     * @param sb The string builder to append the value to
+     * @param index The index of the value
+     */
+    @Override
+    protected void appendValue(StringBuilder sb, int index) {
+        sb.append(Double.toString(myValues[index]));
+    }
+
+}
@@ -0,0 +1,82 @@
+package de.dks.utils.options;
+
+/**
+ * @class Option_FileNameList
+ * @brief A derivation from Option_StringList for storing several file names.
+ * @see Option_List
+ * @see Option_StringList
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class Option_FileNameList extends Option_StringList {
+    /** @brief Constructor
+     * 
+     * The option is marked as being not set (having no value).
+     * The values are divided by ','.
+     */
+    public Option_FileNameList() {
+        super();
+    }
+
+
+    /** @brief Constructor
+     * 
+     * The option is marked as being not set (having no value).
+     * @param separator The separator between values
+     */
+    public Option_FileNameList(char separator) {
+        super(separator);
+    }
+
+
+    /** @brief Constructor
+     * 
+     * The given values are stored as the default values.
+     * The option is marked as being set (having a value).
+     * The values are divided by ','.
+     * @param values The default values
+     */
+    public Option_FileNameList(String[] values) {
+        super(values);
+    }
+
+
+    /** @brief Constructor
+     * 
+     * The given values are stored as the default values.
+     * The option is marked as being set (having a value).
+     * @param values The default values
+     * @param separator The separator between values
+     */
+    public Option_FileNameList(String[] values, char separator) {
+        super(values, separator);
+    }
+    
+    
+    /** @brief Returns the type name, here: "filename list"
+     * @return The type name ("filename list")
+     */
+    @Override
+    public String getTypeName() {
+        return "filename list";
+    }
+    
+
+   /** @brief Returns whether this option is of the type "filename", true in this case
+    * @return Whether this options is a file name (yes)
+    */
+    @Override
+    public boolean isFileName()  {
+        return true;
+    }
+
+
+    /** @brief Returns a copy of this option, including its values and state
+     * @return A copy of this option
+     */
+    @Override
+    Option_List copy() {
+        return copyValues(copyState(new Option_FileNameList(getSeparator())));
+    }
+    
+}
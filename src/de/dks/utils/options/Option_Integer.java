@@ -10,6 +10,9 @@ package de.dks.utils.options;
 public class Option_Integer extends Option {
     /// @brief The value (no default)
     private int myValue;
+
+    /// @brief Returned by tryParse if the value cannot be converted
+    static final long INVALID = Long.MIN_VALUE;
     
     
     /** @brief Constructor
@@ -47,16 +50,131 @@ public class Option_Integer extends Option {
      */
     @Override
     public void set(String valueS) {
-        int value = Integer.parseInt(valueS);
+        convert(valueS);
+        setSet();
+    }
+
+
+    /** @brief Sets the given value (without converting it)
+     * @param[in] value The value to set
+     */
+    void setValue(int value) {
         myValue = value;
         setSet();
     }
 
+
+    /** @brief Sets the value given as a region of a character sequence (without building a String)
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     */
+    @Override
+    public void set(CharSequence s, int begin, int end) {
+        myValue = parse(s, begin, end);
+        setSet();
+    }
+
+
+    /** @brief Sets the value given as a region of a character sequence if it can be converted
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     * @return Whether the value could be converted
+     */
+    @Override
+    protected boolean trySet(CharSequence s, int begin, int end) {
+        long value = tryParse(s, begin, end);
+        if(value==INVALID) {
+            return false;
+        }
+        myValue = (int) value;
+        setSet();
+        return true;
+    }
+
+
+    /** @brief Stores the given value for being converted on first access
+     * @param[in] valueS The given string value that shall be translated to int
+     * @param[in] name The name the option was set using
+     * @param[in] fileName The file the value was read from
+     * @param[in] line The line within the file the value was read from
+     */
+    @Override
+    public void setLazy(String valueS, String name, String fileName, int line) {
+        setRaw(valueS, name, fileName, line);
+    }
+
+
+    /** @brief Converts the given value and stores it
+     * @param[in] valueS The given string value that shall be translated to int
+     */
+    @Override
+    protected void convert(String valueS) {
+        myValue = Integer.parseInt(valueS);
+    }
+
+    
+    /** @brief Converts the given region of a character sequence to an int
+     *
+     * Accepts the same values as Integer.parseInt(String).
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     * @return The int value
+     * @throw NumberFormatException If the value cannot be converted
+     */
+    static int parse(CharSequence s, int begin, int end) {
+        long value = tryParse(s, begin, end);
+        if(value==INVALID) {
+            throw new NumberFormatException("For input string: \"" + s.subSequence(begin, end) + "\"");
+        }
+        return (int) value;
+    }
+
+
+    /** @brief Converts the given region of a character sequence to an int without throwing an exception
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     * @return The int value, INVALID if the value cannot be converted
+     */
+    static long tryParse(CharSequence s, int begin, int end) {
+        int i = begin;
+        boolean negative = false;
+        // accumulate negatively for covering Integer.MIN_VALUE
+        int limit = -Integer.MAX_VALUE;
+        if(i<end && (s.charAt(i)=='-' || s.charAt(i)=='+')) {
+            negative = s.charAt(i)=='-';
+            if(negative) {
+                limit = Integer.MIN_VALUE;
+            }
+            ++i;
+        }
+        if(i>=end) {
+            return INVALID;
+        }
+        int result = 0;
+        for(; i<end; ++i) {
+            int digit = Character.digit(s.charAt(i), 10);
+            if(digit<0 || result<limit/10 || result*10<limit+digit) {
+                return INVALID;
+            }
+            result = result * 10 - digit;
+        }
+        return negative ? result : -result;
+    }
+
     
     /** @brief Returns the set value
+     *
+     * If lazy conversion is used, a value read from a file is converted
+     *  on the first access.
      * @return The set value
+     * @throw RuntimeException If a value read from a file cannot be converted
      */
     public int getValue() {
+        resolve();
         return myValue;
     }
 
@@ -66,6 +184,7 @@ public class Option_Integer extends Option {
      */
     @Override
     public String getValueAsString() {
+        resolve();
         return Integer.toString(myValue);
     }
 
@@ -0,0 +1,154 @@
+package de.dks.utils.options;
+
+/**
+ * @class Option_List
+ * @brief A base class for options that store several values.
+ *
+ * A list option may be given several times; each value is appended to
+ * the list. A single value may contain several values divided by the
+ * separator, e.g. "--weights=0.1,0.2,0.3". Values given on the command
+ * line and in configuration files are accumulated. Default values are
+ * replaced by the first value that is set.
+ *
+ * @see Option
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public abstract class Option_List extends Option {
+    /// @brief The separator between values
+    private char mySeparator;
+
+
+
+    /** @brief Constructor
+     * @param[in] hasDefault Whether default values have been supplied
+     * @param[in] separator The separator between values
+     */
+    protected Option_List(boolean hasDefault, char separator) {
+        super(hasDefault);
+        mySeparator = separator;
+    }
+
+
+    /** @brief Returns the separator between values
+     * @return The separator
+     */
+    public char getSeparator() {
+        return mySeparator;
+    }
+
+
+    /** @brief Appends the given value(s)
+     *
+     * The value is split at the separator. If the list still holds its
+     *  default values, they are replaced. If one of the values cannot be
+     *  converted, none of them is appended and the list keeps its values
+     *  (including the defaults) and its state.
+     * @param[in] valueS The value(s) to append
+     */
+    @Override
+    public void set(String valueS) {
+        int size = size();
+        String[] defaults = null;
+        if(isDefault()) {
+            // keep the defaults for restoring them if a value is invalid
+            defaults = new String[size];
+            for(int i=0; i<size; ++i) {
+                StringBuilder sb = new StringBuilder();
+                appendValue(sb, i);
+                defaults[i] = sb.toString();
+            }
+            truncate(0);
+            size = 0;
+        }
+        try {
+            int beg = 0;
+            int end;
+            while((end=valueS.indexOf(mySeparator, beg))>=0) {
+                append(valueS.substring(beg, end));
+                beg = end + 1;
+            }
+            append(valueS.substring(beg));
+        } catch(NumberFormatException e) {
+            truncate(size);
+            if(defaults!=null) {
+                for(int i=0; i<defaults.length; ++i) {
+                    append(defaults[i]);
+                }
+            }
+            throw e;
+        }
+        remarkSetable();
+        setSet();
+    }
+
+
+    /** @brief Returns whether the option can be set, always true for lists
+     * @return Whether the option can be set (yes)
+     */
+    @Override
+    protected boolean canBeSet() {
+        return true;
+    }
+
+
+    /** @brief Returns the string representation of the values
+     * @return The values divided by the separator
+     */
+    @Override
+    public String getValueAsString() {
+        StringBuilder sb = new StringBuilder();
+        int size = size();
+        for(int i=0; i<size; ++i) {
+            if(i!=0) {
+                sb.append(mySeparator);
+            }
+            appendValue(sb, i);
+        }
+        return sb.toString();
+    }
+
+
+    /** @brief Returns the number of stored values
+     * @return The number of values
+     */
+    public abstract int size();
+
+
+    /** @brief Returns a copy of this option, including its values and state
+     * @return A copy of this option
+     */
+    abstract Option_List copy();
+
+
+    /** @brief Copies the state (not the values) of this option to the given one
+     * @param[in] into The option to copy the state to
+     * @return The given option
+     */
+    <T extends Option_List> T copyState(T into) {
+        into.setDescription(getDescription());
+        into.copyFlags(this);
+        return into;
+    }
+
+
+    /** @brief Appends a single value
+     * @param[in] value The value to append
+     * @throw NumberFormatException If the value cannot be converted to the list's type
+     */
+    protected abstract void append(String value);
+
+
+    /** @brief Removes the values starting at the given position
+     * @param[in] size The number of values to keep
+     */
+    protected abstract void truncate(int size);
+
+
+    /** @brief Appends the string representation of the indexed value
+     * @param[in] sb The string builder to append the value to
+     * @param[in] index The index of the value
+     */
+    protected abstract void appendValue(StringBuilder sb, int index);
+
+}
@@ -0,0 +1,165 @@
+package de.dks.utils.options;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @class Option_StringList
+ * @brief A derivation from Option_List for storing several string values.
+ *
+ * The values are stored in a growable String[].
+ * @see Option_List
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class Option_StringList extends Option_List {
+    /// @brief The values
+    private String[] myValues;
+
+    /// @brief The number of stored values
+    private int mySize;
+
+
+    /** @brief Constructor
+     * 
+     * The option is marked as being not set (having no value).
+     * The values are divided by ','.
+     */
+    public Option_StringList() {
+        this(',');
+    }
+
+
+    /** @brief Constructor
+     * 
+     * The option is marked as being not set (having no value).
+     * @param separator The separator between values
+     */
+    public Option_StringList(char separator) {
+        super(false, separator);
+        myValues = new String[4];
+        mySize = 0;
+    }
+
+
+    /** @brief Constructor
+     * 
+     * The given values are stored as the default values.
+     * The option is marked as being set (having a value).
+     * The values are divided by ','.
+     * @param values The default values
+     */
+    public Option_StringList(String[] values) {
+        this(values, ',');
+    }
+
+
+    /** @brief Constructor
+     * 
+     * The given values are stored as the default values.
+     * The option is marked as being set (having a value).
+     * @param values The default values
+     * @param separator The separator between values
+     */
+    public Option_StringList(String[] values, char separator) {
+        super(true, separator);
+        myValues = Arrays.copyOf(values, Math.max(values.length, 4));
+        mySize = values.length;
+    }
+    
+    
+    /** @brief Returns the type name, here: "string list"
+     * @return The type name ("string list")
+     */
+    @Override
+    public String getTypeName() {
+        return "string list";
+    }
+
+
+    /** @brief Returns a read-only view on the values
+     *
+     * The values are not copied. The view shows the values stored at the
+     *  time of the call; it should not be kept while further values are
+     *  added.
+     * @return The values
+     */
+    public List<String> getValues() {
+        return Collections.unmodifiableList(Arrays.asList(myValues).subList(0, mySize));
+    }
+
+
+    /** @brief Returns the indexed value
+     * @param index The index of the value
+     * @return The indexed value
+     */
+    public String get(int index) {
+        if(index>=mySize) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds (size " + mySize + ").");
+        }
+        return myValues[index];
+    }
+
+
+    /** @brief Returns the number of stored values
+     * @return The number of values
+     */
+    @Override
+    public int size() {
+        return mySize;
+    }
+
+
+    /** @brief Returns a copy of this option, including its values and state
+     * @return A copy of this option
+     */
+    @Override
+    Option_List copy() {
+        return copyValues(copyState(new Option_StringList(getSeparator())));
+    }
+
+
+    /** @brief Copies the values of this option into the given one
+     * @param into The option to copy the values into
+     * @return The given option
+     */
+    Option_StringList copyValues(Option_StringList into) {
+        into.myValues = Arrays.copyOf(myValues, Math.max(mySize, 4));
+        into.mySize = mySize;
+        return into;
+    }
+
+
+    /** @brief Appends a single value
+     * @param value The value to append
+     */
+    @Override
+    protected void append(String value) {
+        if(mySize==myValues.length) {
+            myValues = Arrays.copyOf(myValues, mySize*2);
+        }
+        myValues[mySize++] = value;
+    }
+
+
+    /** @brief Removes the values starting at the given position
+     * @param size The number of values to keep
+     */
+    @Override
+    protected void truncate(int size) {
+        Arrays.fill(myValues, size, mySize, null);
+        mySize = size;
+    }
+
+
+    /** @brief Appends the string representation of the indexed value
+     * @param sb The string builder to append the value to
+     * @param index The index of the value
+     */
+    @Override
+    protected void appendValue(StringBuilder sb, int index) {
+        sb.append(myValues[index]);
+    }
+
+}
@@ -0,0 +1,441 @@
+package de.dks.utils.options;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * @class OptionsCSVReader
+ * @brief Reads the name/value pairs of a CSV configuration file.
+ *
+ * The file is read in blocks using a file channel and scanned byte by
+ * byte in a single pass; it is decoded as UTF-8 (a leading byte order
+ * mark is skipped). Each non-empty line holds an option's name and its
+ * value, divided by a ';'. The following rules apply:
+ * - leading and trailing white spaces of a line are ignored
+ * - a field may be quoted using '"', so that it may contain ';' or line breaks; '""' stands for a single '"'
+ * - white spaces around a quoted field are ignored
+ * - empty fields at the end of a line are ignored
+ *
+ * Lines end with '\\n' or "\\r\\n". Errors are reported as IOException
+ * including the file name and the line.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+final class OptionsCSVReader implements Closeable {
+    /// @brief The size of the read blocks
+    private static final int BLOCK_SIZE = 65536;
+
+    /// @brief The channel to read from
+    private FileChannel myChannel;
+
+    /// @brief The name of the file (for error reports)
+    private String myFileName;
+
+    /// @brief The read block
+    private byte[] myBlock = new byte[BLOCK_SIZE];
+
+    /// @brief The position of the next byte within the block
+    private int myBlockPos = 0;
+
+    /// @brief The number of valid bytes within the block
+    private int myBlockLength = 0;
+
+    /// @brief The bytes of the current line's fields
+    private byte[] myFields = new byte[256];
+
+    /// @brief The number of used bytes in myFields
+    private int myFieldsLength = 0;
+
+    /// @brief The ends of the current line's fields within myFields
+    private int[] myFieldEnds = new int[4];
+
+    /// @brief The number of fields of the current line
+    private int myFieldNumber = 0;
+
+    /// @brief The decoder for fields that are not plain ASCII
+    private CharsetDecoder myDecoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+
+    /// @brief The line that is currently read
+    private int myLine = 1;
+
+    /// @brief The line the current entry starts at
+    private int myEntryLine = 0;
+
+    /// @brief The current entry's name (null if not yet decoded)
+    private String myName = null;
+
+    /// @brief The current entry's value (null if not yet decoded)
+    private String myValue = null;
+
+    /// @brief A view on the current entry's name, if it is plain ASCII
+    private FieldSequence myNameSequence = new FieldSequence();
+
+
+
+    /**
+     * @class FieldSequence
+     * @brief A view on a plain ASCII field of the current line
+     */
+    private final class FieldSequence implements CharSequence {
+        /// @brief The begin of the field within myFields
+        private int myBegin;
+
+        /// @brief The length of the field
+        private int myLength;
+
+
+        /** @brief Returns the length of the field
+         * @return The field's length
+         */
+        @Override
+        public int length() {
+            return myLength;
+        }
+
+
+        /** @brief Returns the indexed character
+         * @param[in] index The index of the character within the field
+         * @return The indexed character
+         */
+        @Override
+        public char charAt(int index) {
+            return (char) myFields[myBegin+index];
+        }
+
+
+        /** @brief Returns a part of the field
+         * @param[in] begin The begin of the part (inclusive)
+         * @param[in] end The end of the part (exclusive)
+         * @return The part
+         */
+        @Override
+        public CharSequence subSequence(int begin, int end) {
+            return toString().substring(begin, end);
+        }
+
+
+        /** @brief Returns the field as a string
+         * @return The field
+         */
+        @Override
+        public String toString() {
+            return new String(myFields, myBegin, myLength, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+
+
+    /** @brief Constructor
+     *
+     * Opens the file.
+     * @param[in] fileName The name of the file to read
+     * @throws IOException If the file cannot be opened
+     */
+    OptionsCSVReader(String fileName) throws IOException {
+        myChannel = new FileInputStream(fileName).getChannel();
+        myFileName = fileName;
+        if(fill() && myBlockLength>=3 && myBlock[0]==(byte) 0xef && myBlock[1]==(byte) 0xbb && myBlock[2]==(byte) 0xbf) {
+            myBlockPos = 3;
+        }
+    }
+
+
+    /** @brief Reads the next entry
+     *
+     * The entry's name and value are decoded when they are retrieved.
+     * @return Whether an entry was read (false if the file is exhausted)
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    boolean next() throws IOException {
+        int c;
+        // skip empty lines and leading white spaces
+        do {
+            c = read();
+            if(c<0) {
+                return false;
+            }
+            if(c=='\n') {
+                ++myLine;
+            }
+        } while(c<=' ');
+        myEntryLine = myLine;
+        myName = null;
+        myValue = null;
+        myFieldsLength = 0;
+        myFieldNumber = 0;
+        // the number of fields up to the last non-empty one
+        int fieldNumber = 0;
+        while(true) {
+            int begin = myFieldsLength;
+            boolean quoted = false;
+            // white spaces before a field belong to it unless the field is quoted
+            while(c==' ' || c=='\t') {
+                append(c);
+                c = read();
+            }
+            if(c=='"') {
+                quoted = true;
+                myFieldsLength = begin;
+                c = readQuoted();
+            } else {
+                c = readUnquoted(c);
+            }
+            boolean last = c!=';';
+            if(last && !quoted) {
+                // the line is trimmed
+                while(myFieldsLength>begin && (myFields[myFieldsLength-1]&0xff)<=' ') {
+                    --myFieldsLength;
+                }
+            }
+            addField();
+            if(quoted || myFieldsLength>begin) {
+                fieldNumber = myFieldNumber;
+            }
+            if(last) {
+                break;
+            }
+            c = read();
+        }
+        if(c=='\n') {
+            ++myLine;
+        }
+        if(fieldNumber<2) {
+            throw new IOException("Missing value for key '" + getName() + "' in " + myFileName + ", line " + myEntryLine + ".");
+        }
+        if(fieldNumber>2) {
+            throw new IOException("Too many values for key '" + getName() + "' in " + myFileName + ", line " + myEntryLine + ".");
+        }
+        return true;
+    }
+
+
+    /** @brief Returns the current entry's name
+     * @return The name of the option
+     * @throws IOException If the name is not valid UTF-8
+     */
+    String getName() throws IOException {
+        if(myName==null) {
+            myName = decode(0);
+        }
+        return myName;
+    }
+
+
+    /** @brief Returns the current entry's name without decoding it, if possible
+     *
+     * If the name is plain ASCII, a view on the read bytes is returned
+     *  that is valid until the next entry is read.
+     * @return The name of the option
+     * @throws IOException If the name is not valid UTF-8
+     */
+    CharSequence getNameSequence() throws IOException {
+        int end = myFieldEnds[0];
+        for(int i=0; i<end; ++i) {
+            if(myFields[i]<0) {
+                return getName();
+            }
+        }
+        myNameSequence.myBegin = 0;
+        myNameSequence.myLength = end;
+        return myNameSequence;
+    }
+
+
+    /** @brief Returns the current entry's value
+     * @return The value of the option
+     * @throws IOException If the value is not valid UTF-8
+     */
+    String getValue() throws IOException {
+        if(myValue==null) {
+            myValue = decode(1);
+        }
+        return myValue;
+    }
+
+
+    /** @brief Returns the line the current entry starts at
+     * @return The current entry's line
+     */
+    int getLine() {
+        return myEntryLine;
+    }
+
+
+    /** @brief Closes the file
+     * @throws IOException If the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        myChannel.close();
+    }
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Reads the remainder of an unquoted field
+     * @param[in] c The field's first byte
+     * @return The byte that ended the field (';', '\\n', or -1)
+     * @throws IOException If the file cannot be read
+     */
+    private int readUnquoted(int c) throws IOException {
+        if(c<0 || c==';' || c=='\n') {
+            return c;
+        }
+        append(c);
+        while(true) {
+            // copy the bytes up to the next divider at once
+            int pos = myBlockPos;
+            while(pos<myBlockLength) {
+                byte b = myBlock[pos];
+                if(b==';' || b=='\n') {
+                    break;
+                }
+                ++pos;
+            }
+            append(myBlockPos, pos);
+            myBlockPos = pos;
+            if(pos<myBlockLength) {
+                return myBlock[myBlockPos++];
+            }
+            if(!fill()) {
+                return -1;
+            }
+        }
+    }
+
+
+    /** @brief Reads a quoted field (after the opening quote)
+     * @return The byte that ended the field (';', '\\n', or -1)
+     * @throws IOException If the file cannot be read or the quote is not closed
+     */
+    private int readQuoted() throws IOException {
+        int c;
+        while(true) {
+            c = read();
+            if(c<0) {
+                throw new IOException("Missing closing quote in " + myFileName + ", line " + myEntryLine + ".");
+            }
+            if(c=='"') {
+                c = read();
+                if(c!='"') {
+                    break;
+                }
+            } else if(c=='\n') {
+                ++myLine;
+            }
+            append(c);
+        }
+        while(c==' ' || c=='\t' || c=='\r') {
+            c = read();
+        }
+        if(c>=0 && c!=';' && c!='\n') {
+            throw new IOException("Unexpected character after a closing quote in " + myFileName + ", line " + myLine + ".");
+        }
+        return c;
+    }
+
+
+    /** @brief Returns the next byte
+     * @return The next byte (0-255), -1 if the file is exhausted
+     * @throws IOException If the file cannot be read
+     */
+    private int read() throws IOException {
+        if(myBlockPos>=myBlockLength && !fill()) {
+            return -1;
+        }
+        return myBlock[myBlockPos++] & 0xff;
+    }
+
+
+    /** @brief Reads the next block
+     * @return Whether bytes were read
+     * @throws IOException If the file cannot be read or the reading thread was interrupted
+     */
+    private boolean fill() throws IOException {
+        OptionsTypedFileIO.checkInterrupted(myFileName);
+        myBlockPos = 0;
+        myBlockLength = 0;
+        int read;
+        do {
+            read = myChannel.read(ByteBuffer.wrap(myBlock));
+        } while(read==0);
+        if(read<0) {
+            return false;
+        }
+        myBlockLength = read;
+        return true;
+    }
+
+
+    /** @brief Appends a byte to the current field
+     * @param[in] c The byte to append
+     */
+    private void append(int c) {
+        if(myFieldsLength==myFields.length) {
+            myFields = Arrays.copyOf(myFields, myFields.length*2);
+        }
+        myFields[myFieldsLength++] = (byte) c;
+    }
+
+
+    /** @brief Appends a region of the block to the current field
+     * @param[in] begin The begin of the region within the block (inclusive)
+     * @param[in] end The end of the region within the block (exclusive)
+     */
+    private void append(int begin, int end) {
+        int length = end - begin;
+        if(myFieldsLength+length>myFields.length) {
+            myFields = Arrays.copyOf(myFields, Math.max(myFields.length*2, myFieldsLength+length));
+        }
+        System.arraycopy(myBlock, begin, myFields, myFieldsLength, length);
+        myFieldsLength += length;
+    }
+
+
+    /// @brief Finishes the current field
+    private void addField() {
+        if(myFieldNumber==myFieldEnds.length) {
+            myFieldEnds = Arrays.copyOf(myFieldEnds, myFieldEnds.length*2);
+        }
+        myFieldEnds[myFieldNumber++] = myFieldsLength;
+    }
+
+
+    /** @brief Decodes the indexed field of the current line
+     * @param[in] index The index of the field
+     * @return The field's contents
+     * @throws IOException If the field is not valid UTF-8
+     */
+    private String decode(int index) throws IOException {
+        int begin = index==0 ? 0 : myFieldEnds[index-1];
+        int end = myFieldEnds[index];
+        boolean ascii = true;
+        for(int i=begin; i<end&&ascii; ++i) {
+            ascii = myFields[i]>=0;
+        }
+        if(ascii) {
+            return new String(myFields, begin, end-begin, StandardCharsets.ISO_8859_1);
+        }
+        try {
+            CharBuffer chars = myDecoder.decode(ByteBuffer.wrap(myFields, begin, end-begin));
+            return chars.toString();
+        } catch(CharacterCodingException e) {
+            throw new IOException("Invalid UTF-8 sequence in " + myFileName + ", line " + myEntryLine + ".", e);
+        }
+    }
+    /// @}
+
+}
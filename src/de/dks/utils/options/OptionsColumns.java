@@ -0,0 +1,588 @@
+package de.dks.utils.options;
+
+import java.util.Arrays;
+
+/**
+ * @class OptionsColumns
+ * @brief Stores the values of options in primitive arrays.
+ *
+ * Each option is addressed by its index. The values are kept in one
+ * dense column per type (int[], double[], a bit set for booleans and
+ * String[] for strings and file names); an option's slot tells where
+ * within its type's column its value is stored. List options are kept
+ * as (copied) Option_List objects within an own column. The "set", "default",
+ * and "setable" flags are kept in bit sets.
+ *
+ * The semantics of setting values are the same as for the Option
+ * classes.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+final class OptionsColumns {
+    /// @brief Type ids
+    /// @{
+    static final byte TYPE_INT = 0;
+    static final byte TYPE_DOUBLE = 1;
+    static final byte TYPE_BOOL = 2;
+    static final byte TYPE_STRING = 3;
+    static final byte TYPE_FILENAME = 4;
+    static final byte TYPE_INT_LIST = 5;
+    static final byte TYPE_DOUBLE_LIST = 6;
+    static final byte TYPE_STRING_LIST = 7;
+    /// @}
+
+    /// @brief The number of stored options
+    private int mySize = 0;
+
+    /// @brief The options' types
+    private byte[] myTypes;
+
+    /// @brief The options' positions within their type's column
+    private int[] mySlots;
+
+    /// @brief The integer values column and the number of used entries
+    private int[] myInts;
+    private int myIntNumber = 0;
+
+    /// @brief The double values column and the number of used entries
+    private double[] myDoubles;
+    private int myDoubleNumber = 0;
+
+    /// @brief The boolean values (bit set) and the number of used bits
+    private long[] myBools;
+    private int myBoolNumber = 0;
+
+    /// @brief The string values column and the number of used entries
+    private String[] myStrings;
+    private int myStringNumber = 0;
+
+    /// @brief The list options column and the number of used entries
+    private Option_List[] myLists;
+    private int myListNumber = 0;
+
+    /// @brief The flags (bit sets indexed by the option)
+    private long[] mySet, myDefault, mySetable;
+
+
+
+    /** @brief Constructor
+     * @param[in] expectedSize The number of options expected to be stored
+     */
+    OptionsColumns(int expectedSize) {
+        int capacity = Math.max(expectedSize, 16);
+        myTypes = new byte[capacity];
+        mySlots = new int[capacity];
+        myInts = new int[16];
+        myDoubles = new double[16];
+        myBools = new long[1];
+        myStrings = new String[16];
+        myLists = new Option_List[4];
+        mySet = new long[words(capacity)];
+        myDefault = new long[words(capacity)];
+        mySetable = new long[words(capacity)];
+    }
+
+
+    /** @brief Copy constructor
+     * @param[in] other The columns to copy
+     */
+    private OptionsColumns(OptionsColumns other) {
+        mySize = other.mySize;
+        myTypes = other.myTypes.clone();
+        mySlots = other.mySlots.clone();
+        myInts = other.myInts.clone();
+        myIntNumber = other.myIntNumber;
+        myDoubles = other.myDoubles.clone();
+        myDoubleNumber = other.myDoubleNumber;
+        myBools = other.myBools.clone();
+        myBoolNumber = other.myBoolNumber;
+        myStrings = other.myStrings.clone();
+        myStringNumber = other.myStringNumber;
+        myLists = new Option_List[other.myLists.length];
+        for(int i=0; i<other.myListNumber; ++i) {
+            myLists[i] = other.myLists[i].copy();
+        }
+        myListNumber = other.myListNumber;
+        mySet = other.mySet.clone();
+        myDefault = other.myDefault.clone();
+        mySetable = other.mySetable.clone();
+    }
+
+
+    /** @brief Returns a copy of these columns
+     * @return A copy of these columns
+     */
+    OptionsColumns copy() {
+        return new OptionsColumns(this);
+    }
+
+
+
+    /// @brief Adding options
+    /// @{
+
+    /** @brief Returns the type id of the given option
+     * @param[in] option The option to get the type id of
+     * @return The option's type id
+     * @throw RuntimeException If the option's type is not supported
+     */
+    static byte getType(Option option) {
+        if(option instanceof Option_Integer) {
+            return TYPE_INT;
+        }
+        if(option instanceof Option_Double) {
+            return TYPE_DOUBLE;
+        }
+        if(option instanceof Option_Bool) {
+            return TYPE_BOOL;
+        }
+        if(option instanceof Option_String) {
+            return option.isFileName() ? TYPE_FILENAME : TYPE_STRING;
+        }
+        if(option instanceof Option_IntegerList) {
+            return TYPE_INT_LIST;
+        }
+        if(option instanceof Option_DoubleList) {
+            return TYPE_DOUBLE_LIST;
+        }
+        if(option instanceof Option_StringList) {
+            return TYPE_STRING_LIST;
+        }
+        throw new RuntimeException("Options of type '" + option.getTypeName() + "' cannot be stored in columns.");
+    }
+
+
+    /** @brief Adds an option, copying the given option's type, value and state
+     * @param[in] option The option to copy
+     * @return The index of the added option
+     */
+    int add(Option option) {
+        byte type = getType(option);
+        int index = add(type);
+        if(isList(type)) {
+            myLists[mySlots[index]] = ((Option_List) option).copy();
+        } else if(option.isSet()) {
+            option.resolve();
+            switch(type) {
+            case TYPE_INT:
+                myInts[mySlots[index]] = ((Option_Integer) option).getValue();
+                break;
+            case TYPE_DOUBLE:
+                myDoubles[mySlots[index]] = ((Option_Double) option).getValue();
+                break;
+            case TYPE_BOOL:
+                setBit(myBools, mySlots[index], ((Option_Bool) option).getValue());
+                break;
+            default:
+                myStrings[mySlots[index]] = ((Option_String) option).getValue();
+                break;
+            }
+        }
+        setBit(mySet, index, option.isSet());
+        setBit(myDefault, index, option.isDefault());
+        setBit(mySetable, index, option.canBeSet());
+        return index;
+    }
+
+
+    /** @brief Adds an option of the given type that is not set
+     * @param[in] type The type id of the option
+     * @return The index of the added option
+     */
+    private int add(byte type) {
+        if(mySize==myTypes.length) {
+            int capacity = mySize * 2;
+            myTypes = Arrays.copyOf(myTypes, capacity);
+            mySlots = Arrays.copyOf(mySlots, capacity);
+            mySet = Arrays.copyOf(mySet, words(capacity));
+            myDefault = Arrays.copyOf(myDefault, words(capacity));
+            mySetable = Arrays.copyOf(mySetable, words(capacity));
+        }
+        int index = mySize++;
+        myTypes[index] = type;
+        switch(type) {
+        case TYPE_INT:
+            if(myIntNumber==myInts.length) {
+                myInts = Arrays.copyOf(myInts, myIntNumber*2);
+            }
+            mySlots[index] = myIntNumber++;
+            break;
+        case TYPE_DOUBLE:
+            if(myDoubleNumber==myDoubles.length) {
+                myDoubles = Arrays.copyOf(myDoubles, myDoubleNumber*2);
+            }
+            mySlots[index] = myDoubleNumber++;
+            break;
+        case TYPE_BOOL:
+            if(words(myBoolNumber+1)>myBools.length) {
+                myBools = Arrays.copyOf(myBools, myBools.length*2);
+            }
+            mySlots[index] = myBoolNumber++;
+            break;
+        case TYPE_INT_LIST:
+        case TYPE_DOUBLE_LIST:
+        case TYPE_STRING_LIST:
+            if(myListNumber==myLists.length) {
+                myLists = Arrays.copyOf(myLists, myListNumber*2);
+            }
+            mySlots[index] = myListNumber++;
+            break;
+        default:
+            if(myStringNumber==myStrings.length) {
+                myStrings = Arrays.copyOf(myStrings, myStringNumber*2);
+            }
+            mySlots[index] = myStringNumber++;
+            break;
+        }
+        setBit(mySetable, index, true);
+        return index;
+    }
+
+
+    /** @brief Returns the number of stored options
+     * @return The number of stored options
+     */
+    int size() {
+        return mySize;
+    }
+    /// @}
+
+
+
+    /// @brief Retrieving values and state
+    /// @{
+
+    /** @brief Returns the type id of the indexed option
+     * @param[in] index The option's index
+     * @return The option's type id
+     */
+    byte getType(int index) {
+        return myTypes[index];
+    }
+
+
+    /** @brief Returns whether the given type id denotes a list type
+     * @param[in] type The type id
+     * @return Whether the type is a list type
+     */
+    static boolean isList(byte type) {
+        return type>=TYPE_INT_LIST;
+    }
+
+
+    /** @brief Returns the type name of the indexed option
+     * @param[in] index The option's index
+     * @return The option's type name (as returned by Option.getTypeName())
+     */
+    String getTypeName(int index) {
+        switch(myTypes[index]) {
+        case TYPE_INT:
+            return "int";
+        case TYPE_DOUBLE:
+            return "double";
+        case TYPE_BOOL:
+            return "bool";
+        case TYPE_FILENAME:
+            return "filename";
+        case TYPE_INT_LIST:
+        case TYPE_DOUBLE_LIST:
+        case TYPE_STRING_LIST:
+            return getList(index).getTypeName();
+        default:
+            return "string";
+        }
+    }
+
+
+    /** @brief Returns the integer value of the indexed option (no type check)
+     * @param[in] index The option's index
+     * @return The option's value
+     */
+    int getInteger(int index) {
+        return myInts[mySlots[index]];
+    }
+
+
+    /** @brief Returns the double value of the indexed option (no type check)
+     * @param[in] index The option's index
+     * @return The option's value
+     */
+    double getDouble(int index) {
+        return myDoubles[mySlots[index]];
+    }
+
+
+    /** @brief Returns the boolean value of the indexed option (no type check)
+     * @param[in] index The option's index
+     * @return The option's value
+     */
+    boolean getBool(int index) {
+        return getBit(myBools, mySlots[index]);
+    }
+
+
+    /** @brief Returns the string value of the indexed option (no type check)
+     * @param[in] index The option's index
+     * @return The option's value
+     */
+    String getString(int index) {
+        return myStrings[mySlots[index]];
+    }
+
+
+    /** @brief Returns the indexed list option (no type check)
+     * @param[in] index The option's index
+     * @return The list option
+     */
+    Option_List getList(int index) {
+        return myLists[mySlots[index]];
+    }
+
+
+    /** @brief Returns the string representation of the indexed option's value
+     * @param[in] index The option's index
+     * @return The option's value encoded to a string
+     */
+    String getValueAsString(int index) {
+        switch(myTypes[index]) {
+        case TYPE_INT:
+            return Integer.toString(getInteger(index));
+        case TYPE_DOUBLE:
+            return Double.toString(getDouble(index));
+        case TYPE_BOOL:
+            return getBool(index) ? "true" : "false";
+        case TYPE_INT_LIST:
+        case TYPE_DOUBLE_LIST:
+        case TYPE_STRING_LIST:
+            return getList(index).getValueAsString();
+        default:
+            return getString(index);
+        }
+    }
+
+
+    /** @brief Returns whether the indexed option is set
+     * @param[in] index The option's index
+     * @return Whether the option is set
+     */
+    boolean isSet(int index) {
+        if(isList(myTypes[index])) {
+            // the stored list may be changed directly (as a typed handle)
+            return getList(index).isSet();
+        }
+        return getBit(mySet, index);
+    }
+
+
+    /** @brief Returns whether the indexed option has its default value
+     * @param[in] index The option's index
+     * @return Whether the option has the default value
+     */
+    boolean isDefault(int index) {
+        if(isList(myTypes[index])) {
+            return getList(index).isDefault();
+        }
+        return getBit(myDefault, index);
+    }
+
+
+    /** @brief Returns whether the indexed option can be set
+     * @param[in] index The option's index
+     * @return Whether the option can be set
+     */
+    boolean canBeSet(int index) {
+        return getBit(mySetable, index);
+    }
+    /// @}
+
+
+
+    /// @brief Setting values
+    /// @{
+
+    /** @brief Sets the given value
+     *
+     * Values given to list options are appended.
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     * @throw NumberFormatException If the value cannot be converted to the option's type
+     * @throw RuntimeException If the option was already set
+     */
+    void set(int index, String value) {
+        if(!canBeSet(index)) {
+            throw new RuntimeException("This option was already set.");
+        }
+        switch(myTypes[index]) {
+        case TYPE_INT:
+            myInts[mySlots[index]] = Integer.parseInt(value);
+            break;
+        case TYPE_DOUBLE:
+            myDoubles[mySlots[index]] = Double.parseDouble(value);
+            break;
+        case TYPE_BOOL:
+            setBit(myBools, mySlots[index], Option_Bool.parse(value));
+            break;
+        case TYPE_INT_LIST:
+        case TYPE_DOUBLE_LIST:
+        case TYPE_STRING_LIST:
+            getList(index).set(value);
+            break;
+        default:
+            myStrings[mySlots[index]] = value;
+            break;
+        }
+        remarkSet(index);
+    }
+
+
+    /** @brief Sets the given value to an int option (no type check)
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     * @throw RuntimeException If the option was already set
+     */
+    void setInteger(int index, int value) {
+        if(!canBeSet(index)) {
+            throw new RuntimeException("This option was already set.");
+        }
+        myInts[mySlots[index]] = value;
+        remarkSet(index);
+    }
+
+
+    /** @brief Sets the given value to a double option (no type check)
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     * @throw RuntimeException If the option was already set
+     */
+    void setDouble(int index, double value) {
+        if(!canBeSet(index)) {
+            throw new RuntimeException("This option was already set.");
+        }
+        myDoubles[mySlots[index]] = value;
+        remarkSet(index);
+    }
+
+
+    /** @brief Sets the given value to a bool option (no type check)
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     * @throw RuntimeException If the option was already set
+     */
+    void setBool(int index, boolean value) {
+        if(!canBeSet(index)) {
+            throw new RuntimeException("This option was already set.");
+        }
+        setBit(myBools, mySlots[index], value);
+        remarkSet(index);
+    }
+
+
+    /** @brief Sets the value given as a region of a character sequence to the indexed option if it can be converted
+     *
+     * Integer and boolean values are converted in place and without
+     *  throwing an exception, a String is built for the other types only.
+     * @param[in] index The option's index
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     * @return Whether the value could be converted (the option is not changed otherwise)
+     */
+    boolean trySet(int index, CharSequence s, int begin, int end) {
+        byte type = myTypes[index];
+        if(type!=TYPE_INT && type!=TYPE_BOOL) {
+            try {
+                set(index, s.subSequence(begin, end).toString());
+            } catch(NumberFormatException e) {
+                return false;
+            }
+            return true;
+        }
+        if(!canBeSet(index)) {
+            throw new RuntimeException("This option was already set.");
+        }
+        if(type==TYPE_INT) {
+            long value = Option_Integer.tryParse(s, begin, end);
+            if(value==Option_Integer.INVALID) {
+                return false;
+            }
+            myInts[mySlots[index]] = (int) value;
+        } else {
+            int value = Option_Bool.tryParse(s, begin, end);
+            if(value<0) {
+                return false;
+            }
+            setBit(myBools, mySlots[index], value==1);
+        }
+        remarkSet(index);
+        return true;
+    }
+
+
+    /** @brief Marks the indexed option as set
+     * @param[in] index The option's index
+     */
+    private void remarkSet(int index) {
+        // list options can always be set
+        setBit(mySetable, index, isList(myTypes[index]));
+        setBit(myDefault, index, false);
+        setBit(mySet, index, true);
+    }
+
+
+    /** @brief Allows setting the indexed option again
+     * @param[in] index The option's index
+     */
+    void remarkSetable(int index) {
+        setBit(mySetable, index, true);
+    }
+
+
+    /** @brief Allows setting all options again
+     */
+    void remarkSetable() {
+        for(int i=0; i<mySize; ++i) {
+            setBit(mySetable, i, true);
+        }
+    }
+    /// @}
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Returns the number of longs needed to store the given number of bits
+     * @param[in] bits The number of bits
+     * @return The number of needed longs
+     */
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+
+    /** @brief Returns the indexed bit
+     * @param[in] bits The bit set
+     * @param[in] index The bit's index
+     * @return The bit's value
+     */
+    private static boolean getBit(long[] bits, int index) {
+        return (bits[index>>>6] & (1L << index)) != 0;
+    }
+
+
+    /** @brief Sets the indexed bit
+     * @param[in] bits The bit set
+     * @param[in] index The bit's index
+     * @param[in] value The value to set
+     */
+    private static void setBit(long[] bits, int index, boolean value) {
+        if(value) {
+            bits[index>>>6] |= 1L << index;
+        } else {
+            bits[index>>>6] &= ~(1L << index);
+        }
+    }
+    /// @}
+
+}
@@ -1,9 +1,12 @@
 package de.dks.utils.options;
 
-import java.util.Collections;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 
 /**
@@ -14,13 +17,19 @@ import java.util.Vector;
  */
 public class OptionsCont {
     /// @brief A map from option names to options
-    private HashMap<String, Option> myOptionsMap = new HashMap<>();
+    private HashMap<String, Option> myOptionsMap;
     
     /// @brief The option's assignment to sections
-    private HashMap<Option, String> myOption2Section = new HashMap<>();
+    private HashMap<Option, String> myOption2Section;
+    
+    /// @brief Map from options to their names, sorted by length (increasing)
+    private HashMap<Option, Vector<String>> myOption2Names;
     
     /// @brief The list of known options
-    private Vector<Option> myOptions = new Vector<>();
+    private Vector<Option> myOptions;
+
+    /// @brief Map from option names to the options' indices within myOptions (used by the parser)
+    private OptionsNameIndex myNameIndex;
     
     /// @brief THe last section added
     private String myCurrentSection = null;
@@ -32,7 +41,19 @@ public class OptionsCont {
     private String myParentConfigurationName = null;
     
     /// @brief Map from deprecated to current options
-    private HashMap<String, String> myDeprecations = new HashMap<>();
+    private HashMap<String, String> myDeprecations;
+    
+    /// @brief Whether values read from files are converted on first access
+    private boolean myLazyConversion = false;
+    
+    /// @brief The number of values read from files so far (for reporting loads)
+    private int myFileValuesNumber = 0;
+    
+    /// @brief The revision of the options' definitions, increased on each change
+    private int myDefinitionRevision = 0;
+    
+    /// @brief The help screen rendered last, null if none
+    private volatile OptionsHelpLayout myHelpLayout = null;
     
     
 
@@ -56,6 +77,25 @@ public class OptionsCont {
     /** @brief Constructor 
      */
     public OptionsCont() {
+        this(true);
+    }
+
+
+    /** @brief Constructor
+     * 
+     * Derived containers that store the options on their own do not
+     *  need the maps and lists of this class.
+     * @param[in] storeOptions Whether this class shall store the options
+     */
+    OptionsCont(boolean storeOptions) {
+        if(storeOptions) {
+            myOptionsMap = new HashMap<>();
+            myOption2Section = new HashMap<>();
+            myOption2Names = new HashMap<>();
+            myOptions = new Vector<>();
+            myNameIndex = new OptionsNameIndex(16);
+            myDeprecations = new HashMap<>();
+        }
     }
 
     
@@ -66,28 +106,46 @@ public class OptionsCont {
     /** @brief Registers an option under an abbreviation
      * @param[in] abbr The option's abbreviated name
      * @param[in] option The option
+     * @return The given option (usable as a typed handle)
      */
-    public void add(char abbr, Option option) {
-        add(convert(abbr), option);
+    public <T extends Option> T add(char abbr, T option) {
+        return add(convert(abbr), option);
     }
 
 
     /** @brief Registers an option under the given name
      * @param[in] name The option's name
      * @param[in] option The option
+     * @return The given option (usable as a typed handle)
      */
-    public void add(String name, Option option) {
+    public <T extends Option> T add(String name, T option) {
         // check whether the name is already used
         if(myOptionsMap.containsKey(name)) {
             throw new RuntimeException("An option with the name '" + name + "' already exists.");
         }
         // check whether a synonym already exists, if not, add the option to option's array
-        if(!myOptions.contains(option)) {
+        Vector<String> names = myOption2Names.get(option);
+        int index;
+        if(names==null) {
+            index = myOptions.size();
             myOptions.add(option);
             myOption2Section.put(option, myCurrentSection);
+            names = new Vector<>();
+            myOption2Names.put(option, names);
+        } else {
+            index = myNameIndex.get(names.firstElement());
         }
-        // add the option to the name-to-option map
+        // add the option to the name-to-option maps
         myOptionsMap.put(name, option);
+        myNameIndex.put(name, index);
+        // add the name to the option's names, keeping them sorted by length
+        int pos = names.size();
+        while(pos>0 && names.elementAt(pos-1).length()>name.length()) {
+            --pos;
+        }
+        names.insertElementAt(name, pos);
+        definitionChanged();
+        return option;
     }
 
 
@@ -95,10 +153,11 @@ public class OptionsCont {
      * @param[in] name The option's name
      * @param[in] abbr The option's abbreviated name
      * @param[in] option The option
+     * @return The given option (usable as a typed handle)
      */
-    public void add(String name, char abbr, Option option) {
+    public <T extends Option> T add(String name, char abbr, T option) {
         add(name, option);
-        add(convert(abbr), option);
+        return add(convert(abbr), option);
     }
 
 
@@ -160,6 +219,7 @@ public class OptionsCont {
     public void setDescription(String name, String desc) {
         Option o = getOption(name);
         o.setDescription(desc);
+        definitionChanged();
     }
 
 
@@ -173,6 +233,14 @@ public class OptionsCont {
     }
 
 
+    /** @brief Returns the section new options are assigned to
+     * @return The name of the current section
+     */
+    String getCurrentSection() {
+        return myCurrentSection;
+    }
+
+
     /** @brief Sets the head and the tail of the help output
      * @param[in] head The head of the help output
      * @param[in] tail The tail of the help output
@@ -180,6 +248,7 @@ public class OptionsCont {
     public void setHelpHeadAndTail(String head, String tail) {
         myHelpHead = head;
         myHelpTail = tail;
+        definitionChanged();
     }
     /// @}
 
@@ -194,14 +263,11 @@ public class OptionsCont {
      * @return The named option's value
      */
     public int getInteger(String name) {
-        Option o = getOption(name);
-        if(!(o instanceof Option_Integer)) { 
-            throw new RuntimeException("Option '" + name + "' is not an integer option!");
-        }
+        Option_Integer o = getIntegerOption(name);
         if(!o.isSet()) {
             throw new RuntimeException("The option '" + name + "' is not set!");
         }
-        return ((Option_Integer) o).getValue();
+        return o.getValue();
     }
 
 
@@ -210,14 +276,11 @@ public class OptionsCont {
      * @return The named option's value
      */
     public double getDouble(String name) {
-        Option o = getOption(name);
-        if(!(o instanceof Option_Double)) { 
-            throw new RuntimeException("Option '" + name + "' is not a double option!");
-        }
+        Option_Double o = getDoubleOption(name);
         if(!o.isSet()) {
             throw new RuntimeException("The option '" + name + "' is not set!");
         }
-        return ((Option_Double) o).getValue();
+        return o.getValue();
     }
 
 
@@ -226,14 +289,11 @@ public class OptionsCont {
      * @return The named option's value
      */
     public boolean getBool(String name) {
-        Option o = getOption(name);
-        if(!(o instanceof Option_Bool)) { 
-            throw new RuntimeException("Option '" + name + "' is not a bool option!");
-        }
+        Option_Bool o = getBoolOption(name);
         if(!o.isSet()) {
             throw new RuntimeException("The option '" + name + "' is not set!");
         }
-        return ((Option_Bool) o).getValue();
+        return o.getValue();
     }
 
 
@@ -242,14 +302,56 @@ public class OptionsCont {
      * @return The named option's value
      */
     public String getString(String name) {
-        Option o = getOption(name);
-        if(!(o instanceof Option_String)) { 
-            throw new RuntimeException("Option '" + name + "' is not a string option!");
+        Option_String o = getStringOption(name);
+        if(!o.isSet()) {
+            throw new RuntimeException("The option '" + name + "' is not set!");
         }
+        return o.getValue();
+    }
+
+
+    /** @brief Returns the integer values of the named list option
+     * 
+     * The returned view is read-only and not a copy of the values.
+     * @param[in] name The name of the option to retrieve the values from
+     * @return The named option's values
+     */
+    public IntBuffer getIntegerList(String name) {
+        Option_IntegerList o = getIntegerListOption(name);
         if(!o.isSet()) {
             throw new RuntimeException("The option '" + name + "' is not set!");
         }
-        return ((Option_String) o).getValue();
+        return o.getValues();
+    }
+
+
+    /** @brief Returns the double values of the named list option
+     * 
+     * The returned view is read-only and not a copy of the values.
+     * @param[in] name The name of the option to retrieve the values from
+     * @return The named option's values
+     */
+    public DoubleBuffer getDoubleList(String name) {
+        Option_DoubleList o = getDoubleListOption(name);
+        if(!o.isSet()) {
+            throw new RuntimeException("The option '" + name + "' is not set!");
+        }
+        return o.getValues();
+    }
+
+
+    /** @brief Returns the string values of the named list option
+     * 
+     * The returned view is read-only and not a copy of the values.
+     * @param[in] name The name of the option to retrieve the values from
+     * @return The named option's values
+     */
+    public List<String> getStringList(String name) {
+        Option_StringList o = getStringListOption(name);
+        if(!o.isSet()) {
+            throw new RuntimeException("The option '" + name + "' is not set!");
+        }
+        return o.getValues();
     }
 
 
@@ -332,10 +434,10 @@ public class OptionsCont {
      * @return The sorted list of option names
      */
     public Vector<String> getSortedOptionNames() {
-    	Vector<String> ret = new Vector<>();
+    	Vector<String> ret = new Vector<>(myOptions.size());
     	for(Iterator<Option> i=myOptions.iterator(); i.hasNext(); ) {
     		Option o = i.next();
-    		ret.add(getSynonyms(o).lastElement());
+    		ret.add(myOption2Names.get(o).lastElement());
     	}
         return ret;
     }
@@ -356,20 +458,148 @@ public class OptionsCont {
      * @return List of this option's names
      */
     public Vector<String> getSynonyms(Option option) {
-        Vector<String> ret = new Vector<>();
-        for(Iterator<String> i=myOptionsMap.keySet().iterator(); i.hasNext(); ) {
-            String name = i.next();
-            if(myOptionsMap.get(name)==option) {
-                ret.add(name);
-            }
+        Vector<String> names = myOption2Names.get(option);
+        if(names==null) {
+            return new Vector<>();
         }
-        Collections.sort(ret, new SortByLengthComparator()) ;
-        return ret;
+        // return a copy as the caller may change it
+        return new Vector<>(names);
     }
     /// @}
 
 
     
+    /// @brief Retrieving Typed Option Handles
+    /// @{
+
+    /** @brief Returns the named integer option for reading its value directly
+     *
+     * The type is checked once, here. Reading the value from the returned
+     *  option using getValue() neither looks up the name nor checks the type
+     *  again. Please note that getValue() does not check whether the option
+     *  is set; use isSet() of the returned option if needed.
+     *
+     * If lazy conversion is used, a value that is not yet converted is
+     *  converted here, and values set later are converted at once.
+     * @param[in] name The name of the option to retrieve
+     * @return The named option
+     * @throw RuntimeException If a value read before cannot be converted
+     */
+    public Option_Integer getIntegerOption(String name) {
+        Option o = getOption(name);
+        if(!(o instanceof Option_Integer)) { 
+            throw new RuntimeException("Option '" + name + "' is not an integer option!");
+        }
+        o.convertEagerly();
+        return (Option_Integer) o;
+    }
+
+
+    /** @brief Returns the named float option for reading its value directly
+     *
+     * The type is checked once, here. Reading the value from the returned
+     *  option using getValue() neither looks up the name nor checks the type
+     *  again. Please note that getValue() does not check whether the option
+     *  is set; use isSet() of the returned option if needed.
+     *
+     * If lazy conversion is used, a value that is not yet converted is
+     *  converted here, and values set later are converted at once.
+     * @param[in] name The name of the option to retrieve
+     * @return The named option
+     * @throw RuntimeException If a value read before cannot be converted
+     */
+    public Option_Double getDoubleOption(String name) {
+        Option o = getOption(name);
+        if(!(o instanceof Option_Double)) { 
+            throw new RuntimeException("Option '" + name + "' is not a double option!");
+        }
+        o.convertEagerly();
+        return (Option_Double) o;
+    }
+
+
+    /** @brief Returns the named boolean option for reading its value directly
+     *
+     * The type is checked once, here. Reading the value from the returned
+     *  option using getValue() neither looks up the name nor checks the type
+     *  again. Please note that getValue() does not check whether the option
+     *  is set; use isSet() of the returned option if needed.
+     *
+     * If lazy conversion is used, a value that is not yet converted is
+     *  converted here, and values set later are converted at once.
+     * @param[in] name The name of the option to retrieve
+     * @return The named option
+     * @throw RuntimeException If a value read before cannot be converted
+     */
+    public Option_Bool getBoolOption(String name) {
+        Option o = getOption(name);
+        if(!(o instanceof Option_Bool)) { 
+            throw new RuntimeException("Option '" + name + "' is not a bool option!");
+        }
+        o.convertEagerly();
+        return (Option_Bool) o;
+    }
+
+
+    /** @brief Returns the named string option for reading its value directly
+     *
+     * The type is checked once, here. Reading the value from the returned
+     *  option using getValue() neither looks up the name nor checks the type
+     *  again. Please note that getValue() does not check whether the option
+     *  is set; use isSet() of the returned option if needed.
+     * @param[in] name The name of the option to retrieve
+     * @return The named option
+     */
+    public Option_String getStringOption(String name) {
+        Option o = getOption(name);
+        if(!(o instanceof Option_String)) { 
+            throw new RuntimeException("Option '" + name + "' is not a string option!");
+        }
+        return (Option_String) o;
+    }
+
+
+    /** @brief Returns the named integer list option for reading its values directly
+     * @param[in] name The name of the option to retrieve
+     * @return The named option
+     */
+    public Option_IntegerList getIntegerListOption(String name) {
+        Option o = getOption(name);
+        if(!(o instanceof Option_IntegerList)) { 
+            throw new RuntimeException("Option '" + name + "' is not an integer list option!");
+        }
+        return (Option_IntegerList) o;
+    }
+
+
+    /** @brief Returns the named double list option for reading its values directly
+     * @param[in] name The name of the option to retrieve
+     * @return The named option
+     */
+    public Option_DoubleList getDoubleListOption(String name) {
+        Option o = getOption(name);
+        if(!(o instanceof Option_DoubleList)) { 
+            throw new RuntimeException("Option '" + name + "' is not a double list option!");
+        }
+        return (Option_DoubleList) o;
+    }
+
+
+    /** @brief Returns the named string list option for reading its values directly
+     * @param[in] name The name of the option to retrieve
+     * @return The named option
+     */
+    public Option_StringList getStringListOption(String name) {
+        Option o = getOption(name);
+        if(!(o instanceof Option_StringList)) { 
+            throw new RuntimeException("Option '" + name + "' is not a string list option!");
+        }
+        return (Option_StringList) o;
+    }
+    /// @}
+
+
+
     /// @brief (Re-)Setting values
     /// @{
 
@@ -379,13 +609,33 @@ public class OptionsCont {
      */
     public void set(String name, String value) {
         Option o = getOption(name);
-        if(myDeprecations.containsKey(name)) {
-        	System.err.println("The option '" + name + "' is depracted. Please use '" + myDeprecations.get(name) + "'.");
-        }
+        reportDeprecation(name);
         o.set(value);
     }
 
 
+    /** @brief Sets the given value read from a file to the given option
+     * 
+     * If lazy conversion is enabled, the value is converted when it is
+     *  read for the first time (for options that support it). Conversion
+     *  errors are reported including the file name and the line.
+     * @param[in] name The name of the option to set
+     * @param[in] value The value to set
+     * @param[in] fileName The file the value was read from
+     * @param[in] line The line within the file the value was read from
+     */
+    public void set(String name, String value, String fileName, int line) {
+        countFileValue();
+        if(!myLazyConversion) {
+            set(name, value);
+            return;
+        }
+        Option o = getOption(name);
+        reportDeprecation(name);
+        o.setLazy(value, name, fileName, line);
+    }
+
+
     /** @brief Sets the given value to the given option (boolean options only)
      * @param[in] name The name of the option to set
      * @param[in] value The value to set
@@ -395,9 +645,7 @@ public class OptionsCont {
         if(!(o instanceof Option_Bool)) { 
             throw new RuntimeException("This is not a boolean option");
         }
-        if(myDeprecations.containsKey(name)) {
-        	System.err.println("The option '" + name + "' is depracted. Please use '" + myDeprecations.get(name) + "'.");
-        }
+        reportDeprecation(name);
         if(value) {
             o.set("true");
         } else {
@@ -406,6 +654,57 @@ public class OptionsCont {
     }
 
 
+    /** @brief Sets whether values read from files shall be converted on first access
+     *
+     * Converting a value changes the option, so a container using lazy
+     *  conversion is not safe for being read by several threads at once.
+     *  Call validateAll() or use snapshot() before sharing it. Options
+     *  retrieved using getIntegerOption(), getDoubleOption(), and
+     *  getBoolOption() (which getInteger(), getDouble(), and getBool()
+     *  use, too) are converted at this time, and values set to them later
+     *  are converted at once.
+     * @param[in] lazy Whether values read from files shall be converted on first access
+     */
+    public void setLazyConversion(boolean lazy) {
+        myLazyConversion = lazy;
+    }
+
+
+    /** @brief Returns whether values read from files are converted on first access
+     * @return Whether lazy conversion is enabled
+     */
+    public boolean isLazyConversion() {
+        return myLazyConversion;
+    }
+
+
+    /// @brief Counts a value read from a file
+    void countFileValue() {
+        ++myFileValuesNumber;
+    }
+
+
+    /** @brief Returns the number of values read from files so far
+     * @return The number of values read from files
+     */
+    int getFileValuesNumber() {
+        return myFileValuesNumber;
+    }
+
+
+    /** @brief Converts all values that were not yet converted
+     * 
+     * Useful if lazy conversion is enabled, but errors shall be reported
+     *  at once.
+     * @throw RuntimeException If a value cannot be converted
+     */
+    public void validateAll() {
+        for(Iterator<Option> i=myOptions.iterator(); i.hasNext(); ) {
+            i.next().resolve();
+        }
+    }
+
+
     /// @brief Remarks all options as unset
     protected void remarkUnset() {
         for(Iterator<Option> i=myOptions.iterator(); i.hasNext(); ) {
@@ -467,10 +766,115 @@ public class OptionsCont {
     public String getHelpTail() {
     	return myHelpTail; 
     }
+    
+    
+    /** @brief Returns the revision of the options' definitions
+     *
+     * The revision is increased whenever an option or a synonym is added,
+     *  a description is set, or the help head and tail are changed.
+     *  Changes made to the Option objects directly are not tracked.
+     * @return The current revision
+     */
+    int getDefinitionRevision() {
+        return myDefinitionRevision;
+    }
+    
+    
+    /// @brief Remarks that the options' definitions have changed (invalidating the rendered help)
+    void definitionChanged() {
+        ++myDefinitionRevision;
+        myHelpLayout = null;
+    }
+    
+    
+    /** @brief Returns the help screen rendered last
+     * @return The rendered help screen, null if none
+     */
+    OptionsHelpLayout getHelpLayout() {
+        return myHelpLayout;
+    }
+    
+    
+    /** @brief Keeps the rendered help screen
+     * @param[in] layout The rendered help screen
+     */
+    void setHelpLayout(OptionsHelpLayout layout) {
+        myHelpLayout = layout;
+    }
     /// @}
 
     
     
+    /// @brief Snapshots
+    /// @{
+    
+    /** @brief Returns an immutable copy of the current option values
+     * 
+     * The snapshot may be read by several threads without synchronisation.
+     * Changes to this container are not reflected by the snapshot.
+     * @return A snapshot of the options' current values
+     */
+    public OptionsSnapshot snapshot() {
+        OptionsNameIndex names = new OptionsNameIndex(myOptionsMap.size());
+        OptionsColumns values = new OptionsColumns(myOptions.size());
+        String[] sortedOptionNames = new String[myOptions.size()];
+        for(Iterator<Option> i=myOptions.iterator(); i.hasNext(); ) {
+            Option o = i.next();
+            int index = values.add(o);
+            Vector<String> optionNames = myOption2Names.get(o);
+            for(Iterator<String> j=optionNames.iterator(); j.hasNext(); ) {
+                names.put(j.next(), index);
+            }
+            sortedOptionNames[index] = optionNames.lastElement();
+        }
+        return new OptionsSnapshot(names, values, sortedOptionNames);
+    }
+    /// @}
+    
+    
+    
+    /// @brief Schemas
+    /// @{
+    
+    /** @brief Compiles the options' definitions into an immutable schema
+     * 
+     * The schema keeps the names, synonyms, deprecations, sections,
+     *  descriptions, and the current values (usually the defaults) of
+     *  the options. It may be shared between threads and builds value
+     *  sets (OptionsValues) that can be filled without registering the
+     *  options again. Changes to this container are not reflected by
+     *  the schema. Only the built-in option types are supported.
+     * @return The compiled schema
+     * @throw RuntimeException If an option's type is not supported
+     */
+    public OptionsSchema compile() {
+        OptionsCont_Columnar definition = new OptionsCont_Columnar();
+        for(Iterator<Option> i=myOptions.iterator(); i.hasNext(); ) {
+            Option o = i.next();
+            definition.beginSection(myOption2Section.get(o));
+            Vector<String> names = myOption2Names.get(o);
+            for(Iterator<String> j=names.iterator(); j.hasNext(); ) {
+                String name = j.next();
+                if(!myDeprecations.containsKey(name)) {
+                    definition.add(name, o);
+                }
+            }
+            for(Iterator<String> j=names.iterator(); j.hasNext(); ) {
+                String name = j.next();
+                if(myDeprecations.containsKey(name)) {
+                    definition.addDeprecatedSynonym(myDeprecations.get(name), name);
+                }
+            }
+        }
+        definition.beginSection(myCurrentSection);
+        definition.setHelpHeadAndTail(myHelpHead, myHelpTail);
+        definition.setParentConfigurationName(myParentConfigurationName);
+        return new OptionsSchema(definition);
+    }
+    /// @}
+    
+    
+    
     /// @brief Configuration Hierarchy Name Handling
     /// @{
     
@@ -493,9 +897,161 @@ public class OptionsCont {
     
     
     
+    /// @brief Parser Access
+    ///
+    /// The parser looks up an option once and accesses it by its index
+    ///  afterwards. Abbreviations are looked up using a table indexed by
+    ///  the character, so that no String has to be built.
+    /// @{
+
+    /** @brief Returns the index of the option with the given abbreviation
+     * @param[in] abbr The option's abbreviated name
+     * @return The option's index, -1 if the option is not known
+     */
+    int getIndex(char abbr) {
+        return myNameIndex.get(abbr);
+    }
+
+
+    /** @brief Returns the index of the option whose name is given as a region of a character sequence
+     * @param[in] s The character sequence the name is a part of
+     * @param[in] begin The begin of the name within the sequence (inclusive)
+     * @param[in] end The end of the name within the sequence (exclusive)
+     * @return The option's index, -1 if the option is not known
+     */
+    int getIndex(CharSequence s, int begin, int end) {
+        return myNameIndex.get(s, begin, end);
+    }
+
+
+    /** @brief Returns whether the indexed option is a boolean option
+     * @param[in] index The option's index
+     * @return Whether the option is a boolean option
+     */
+    boolean isBool(int index) {
+        return myOptions.elementAt(index) instanceof Option_Bool;
+    }
+
+
+    /** @brief Returns the name of the indexed option's type
+     * @param[in] index The option's index
+     * @return The type of the option
+     */
+    String getTypeName(int index) {
+        return myOptions.elementAt(index).getTypeName();
+    }
+
+
+    /** @brief Returns whether the indexed option can be set
+     * @param[in] index The option's index
+     * @return Whether the option can be set
+     */
+    boolean canBeSet(int index) {
+        return myOptions.elementAt(index).canBeSet();
+    }
+
+
+    /** @brief Sets the value given as a region of a character sequence to the indexed option if it can be converted
+     * @param[in] index The option's index
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     * @return Whether the value could be converted (the option is not changed otherwise)
+     */
+    boolean trySet(int index, CharSequence s, int begin, int end) {
+        return myOptions.elementAt(index).trySet(s, begin, end);
+    }
+
+
+    /** @brief Sets the indexed boolean option to true
+     * @param[in] index The option's index
+     */
+    void setTrue(int index) {
+        myOptions.elementAt(index).set("true");
+    }
+
+
+    /** @brief Sets the given value to the indexed int option (no type check)
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     */
+    void setInteger(int index, int value) {
+        ((Option_Integer) myOptions.elementAt(index)).setValue(value);
+    }
+
+
+    /** @brief Sets the given value to the indexed double option (no type check)
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     */
+    void setDouble(int index, double value) {
+        ((Option_Double) myOptions.elementAt(index)).setValue(value);
+    }
+
+
+    /** @brief Sets the given value to the indexed bool option (no type check)
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     */
+    void setBool(int index, boolean value) {
+        ((Option_Bool) myOptions.elementAt(index)).setValue(value);
+    }
+
+
+    /** @brief Reports the use of a deprecated abbreviation
+     * @param[in] abbr The used abbreviation
+     */
+    void checkDeprecation(char abbr) {
+        if(myDeprecations.isEmpty()) {
+            return;
+        }
+        String name = convert(abbr);
+        reportDeprecation(name);
+    }
+
+
+    /** @brief Reports the use of a deprecated name given as a region of a character sequence
+     * @param[in] s The character sequence the name is a part of
+     * @param[in] begin The begin of the name within the sequence (inclusive)
+     * @param[in] end The end of the name within the sequence (exclusive)
+     */
+    void checkDeprecation(CharSequence s, int begin, int end) {
+        if(myDeprecations.isEmpty()) {
+            return;
+        }
+        String name = s.subSequence(begin, end).toString();
+        reportDeprecation(name);
+    }
+
+
+    /** @brief Reports the use of the given name if it is deprecated
+     *
+     * Shared by the containers, so that the message is the same.
+     * @param[in] deprecations Map from deprecated to current options
+     * @param[in] name The used name
+     */
+    static void reportDeprecation(Map<String, String> deprecations, String name) {
+        String current = deprecations.get(name);
+        if(current!=null) {
+            System.err.println("The option '" + name + "' is deprecated. Please use '" + current + "'.");
+        }
+    }
+    /// @}
+
+
+
+
+
     /// @brief Private helper options
     /// @{
 
+    /** @brief Reports the use of the given name if it is deprecated
+     * @param[in] name The used name
+     */
+    private void reportDeprecation(String name) {
+        reportDeprecation(myDeprecations, name);
+    }
+
     /** @brief Returns the option; throws an exception when not existing
      * @param[in] name The name of the option
      * @return The option if known
@@ -0,0 +1,1270 @@
+package de.dks.utils.options;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.WeakHashMap;
+
+/**
+ * @class OptionsCont_Columnar
+ * @brief An options container that stores the values in primitive columns.
+ *
+ * This container offers the same interface as OptionsCont, but does not
+ * keep an Option object per option. The options given to the add
+ * methods are only used as prototypes: their type, default value and
+ * state are copied into dense columns (int[], double[], bit sets,
+ * String[]) and the flags are stored in bit sets. Names are mapped to
+ * option indices using an array based hash map, descriptions and
+ * sections are stored in arrays as well. This reduces the memory needed
+ * per option considerably, what pays off for containers with many
+ * thousands of options.
+ *
+ * Only the built-in option types are supported; list options are kept
+ * as (copied) Option_List objects. The typed option retrieval methods
+ * (e.g. getIntegerOption) return handles that read and write the
+ * option's column entry, or the stored Option_List object.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class OptionsCont_Columnar extends OptionsCont {
+    /// @brief Map from option names to option indices
+    private OptionsNameIndex myNames;
+
+    /// @brief The options' values
+    private OptionsColumns myValues;
+
+    /// @brief The options' longest names
+    private String[] myLongestNames;
+
+    /// @brief The names of options that have more than one name, sorted by length
+    private HashMap<Integer, Vector<String>> mySynonyms;
+
+    /// @brief The options' descriptions
+    private String[] myDescriptions;
+
+    /// @brief The options' sections
+    private String[] mySections;
+
+    /// @brief Map from deprecated to current options
+    private HashMap<String, String> myDeprecations;
+
+    /// @brief Map from the prototypes given to add() to option indices, needed for registering synonyms
+    private Map<Option, Integer> myPrototypes;
+
+    /// @brief Map from option indices to the handles returned by the typed option retrieval methods
+    private HashMap<Integer, Option> myHandles = new HashMap<>();
+
+
+
+    /** @brief Constructor
+     */
+    public OptionsCont_Columnar() {
+        super(false);
+        myNames = new OptionsNameIndex(16);
+        myValues = new OptionsColumns(16);
+        myLongestNames = new String[16];
+        mySynonyms = new HashMap<>();
+        myDescriptions = new String[16];
+        mySections = new String[16];
+        myDeprecations = new HashMap<>();
+        myPrototypes = new WeakHashMap<>();
+    }
+
+
+    /** @brief Constructor for value sets of a schema
+     *
+     * The definitions (names, synonyms, descriptions, sections, and
+     *  deprecations) of the given container are shared, its values are
+     *  copied. The definitions must not be changed afterwards.
+     * @param[in] definition The container to share the definitions of
+     */
+    OptionsCont_Columnar(OptionsCont_Columnar definition) {
+        super(false);
+        myNames = definition.myNames;
+        myValues = definition.myValues.copy();
+        myLongestNames = definition.myLongestNames;
+        mySynonyms = definition.mySynonyms;
+        myDescriptions = definition.myDescriptions;
+        mySections = definition.mySections;
+        myDeprecations = definition.myDeprecations;
+        super.beginSection(definition.getCurrentSection());
+        super.setHelpHeadAndTail(definition.getHelpHead(), definition.getHelpTail());
+        super.setParentConfigurationName(definition.getParentConfigurationName());
+    }
+
+
+
+    /// @brief Filling Options
+    /// @{
+
+    /** @brief Registers an option under the given name
+     *
+     * The option is used as a prototype only; its type, value and state
+     *  are copied. The returned handle reads and writes the container's
+     *  column, as the handles returned by the typed option retrieval
+     *  methods do. Only if the option is of a type derived from a built-in
+     *  one, the given option is returned, which does not reflect later
+     *  changes of the container.
+     * @param[in] name The option's name
+     * @param[in] option The option
+     * @return The option's handle
+     */
+    @Override
+    public <T extends Option> T add(String name, T option) {
+        // check whether the name is already used
+        if(myNames.get(name)>=0) {
+            throw new RuntimeException("An option with the name '" + name + "' already exists.");
+        }
+        // check whether the option was already added under a different name (or is a handle of this container)
+        int known = getIndex(option);
+        if(known>=0) {
+            addName(name, known);
+            return getHandle(known, option);
+        }
+        int index = myValues.add(option);
+        if(index==myLongestNames.length) {
+            int capacity = index * 2;
+            myLongestNames = Arrays.copyOf(myLongestNames, capacity);
+            myDescriptions = Arrays.copyOf(myDescriptions, capacity);
+            mySections = Arrays.copyOf(mySections, capacity);
+        }
+        myLongestNames[index] = name;
+        myDescriptions[index] = option.getDescription();
+        mySections[index] = getCurrentSection();
+        myNames.put(name, index);
+        myPrototypes.put(option, index);
+        definitionChanged();
+        return getHandle(index, option);
+    }
+
+
+    /** @brief Registers a known option under the other synonym
+     * @param[in] name1 The name the option was already known under
+     * @param[in] name2 The synonym to register
+     */
+    @Override
+    public void addSynonym(String name1, String name2) {
+        addSynonym(name1, name2, false);
+    }
+
+
+    /** @brief Registers a known option under the other synonym which is marked as deprecated
+     * @param[in] name1 The name the option was already known under
+     * @param[in] name2 The synonym to register
+     */
+    @Override
+    public void addDeprecatedSynonym(String name1, String name2) {
+        addSynonym(name1, name2, true);
+    }
+    /// @}
+
+
+
+    /// @brief Filling Help Information
+    /// @{
+
+    /** @brief Sets the description for an already added option
+     * @param[in] name The name of the option
+     * @param[in] desc The description of the option
+     */
+    @Override
+    public void setDescription(String name, String desc) {
+        int index = getIndex(name);
+        myDescriptions[index] = desc;
+        if(OptionsColumns.isList(myValues.getType(index))) {
+            // the stored list is returned as the option's handle
+            myValues.getList(index).setDescription(desc);
+        }
+        definitionChanged();
+    }
+    /// @}
+
+
+
+    /// @brief Retrieving Option Values
+    /// @{
+
+    /** @brief Returns the integer value of the named option
+     * @param[in] name The name of the option to retrieve the value from
+     * @return The named option's value
+     */
+    @Override
+    public int getInteger(String name) {
+        return myValues.getInteger(check(name, OptionsColumns.TYPE_INT, "an integer"));
+    }
+
+
+    /** @brief Returns the float value of the named option
+     * @param[in] name The name of the option to retrieve the value from
+     * @return The named option's value
+     */
+    @Override
+    public double getDouble(String name) {
+        return myValues.getDouble(check(name, OptionsColumns.TYPE_DOUBLE, "a double"));
+    }
+
+
+    /** @brief Returns the boolean value of the named option
+     * @param[in] name The name of the option to retrieve the value from
+     * @return The named option's value
+     */
+    @Override
+    public boolean getBool(String name) {
+        return myValues.getBool(check(name, OptionsColumns.TYPE_BOOL, "a bool"));
+    }
+
+
+    /** @brief Returns the string value of the named option
+     * @param[in] name The name of the option to retrieve the value from
+     * @return The named option's value
+     */
+    @Override
+    public String getString(String name) {
+        return myValues.getString(check(name, OptionsColumns.TYPE_STRING, "a string"));
+    }
+
+
+    /** @brief Returns the integer values of the named list option
+     * @param[in] name The name of the option to retrieve the values from
+     * @return The named option's values (read-only)
+     */
+    @Override
+    public IntBuffer getIntegerList(String name) {
+        return ((Option_IntegerList) myValues.getList(check(name, OptionsColumns.TYPE_INT_LIST, "an integer list"))).getValues();
+    }
+
+
+    /** @brief Returns the double values of the named list option
+     * @param[in] name The name of the option to retrieve the values from
+     * @return The named option's values (read-only)
+     */
+    @Override
+    public DoubleBuffer getDoubleList(String name) {
+        return ((Option_DoubleList) myValues.getList(check(name, OptionsColumns.TYPE_DOUBLE_LIST, "a double list"))).getValues();
+    }
+
+
+    /** @brief Returns the string values of the named list option
+     * @param[in] name The name of the option to retrieve the values from
+     * @return The named option's values (read-only)
+     */
+    @Override
+    public List<String> getStringList(String name) {
+        return ((Option_StringList) myValues.getList(check(name, OptionsColumns.TYPE_STRING_LIST, "a string list"))).getValues();
+    }
+
+
+    /** @brief Returns the value of the named option as a string
+     * @param[in] name The name of the option to retrieve the value from
+     * @return The string representation of the option's value
+     */
+    @Override
+    public String getValueAsString(String name) {
+        int index = getIndex(name);
+        if(!myValues.isSet(index)) {
+            throw new RuntimeException("The option '" + name + "' is not set!");
+        }
+        return myValues.getValueAsString(index);
+    }
+
+
+    /** @brief Returns the name of the option's type
+     * @param[in] name The name of the option get the type of
+     * @return The type of the option
+     */
+    @Override
+    public String getTypeName(String name) {
+        return myValues.getTypeName(getIndex(name));
+    }
+
+
+    /** @brief Returns the information whether the option is set
+     * @param[in] name The name of the option to check
+     * @return Whether the option has a value set
+     */
+    @Override
+    public boolean isSet(String name) {
+        return myValues.isSet(getIndex(name));
+    }
+
+
+    /** @brief Returns whether the named option's value is its default value
+     * @param[in] name The name of the option to check whether it has the default value
+     * @return Whether the named option has the default value
+     */
+    @Override
+    public boolean isDefault(String name) {
+        return myValues.isDefault(getIndex(name));
+    }
+
+
+    /** @brief Returns whether the named option can be set
+     * @param[in] name The name of the option to check whether it can be set
+     * @return Whether the named option can be set
+     */
+    @Override
+    public boolean canBeSet(String name) {
+        return myValues.canBeSet(getIndex(name));
+    }
+
+
+    /** @brief Returns the information whether the option is a boolean option
+     * @param[in] name The name of the option to check
+     * @return Whether the option stores a bool
+     */
+    @Override
+    public boolean isBool(String name) {
+        int index = myNames.get(name);
+        return index>=0 && myValues.getType(index)==OptionsColumns.TYPE_BOOL;
+    }
+
+
+    /** @brief Returns the information whether the named option is known
+     * @param[in] name The name of the option
+     * @return Whether the option is known
+     */
+    @Override
+    public boolean contains(String name) {
+        return myNames.get(name)>=0;
+    }
+
+
+    /** @brief Returns the sorted (as inserted) option names
+     * @return The sorted list of option names
+     */
+    @Override
+    public Vector<String> getSortedOptionNames() {
+        int size = myValues.size();
+        Vector<String> ret = new Vector<>(size);
+        for(int i=0; i<size; ++i) {
+            ret.add(myLongestNames[i]);
+        }
+        return ret;
+    }
+
+
+    /** @brief Returns the list of synonyms to the given option name
+     * @param[in] name The name of the option
+     * @return List of this option's names
+     */
+    @Override
+    public Vector<String> getSynonyms(String name) {
+        int index = getIndex(name);
+        Vector<String> names = mySynonyms.get(index);
+        if(names==null) {
+            Vector<String> ret = new Vector<>(1);
+            ret.add(myLongestNames[index]);
+            return ret;
+        }
+        return new Vector<>(names);
+    }
+
+
+    /** @brief Returns the list of synonyms to the given option
+     *
+     * The option may be one given to add() or a handle returned by one of
+     *  the typed option retrieval methods.
+     * @param[in] option The option to retrieve her names
+     * @return List of this option's names, empty if the option is not known
+     */
+    @Override
+    public Vector<String> getSynonyms(Option option) {
+        int index = getIndex(option);
+        if(index<0) {
+            return new Vector<>();
+        }
+        return getSynonyms(myLongestNames[index]);
+    }
+    /// @}
+
+
+
+    /// @brief Retrieving Typed Option Handles
+    /// @{
+
+    /** @brief Returns a handle for reading the named integer option's value directly
+     *
+     * The returned option reads and writes the container's column; the
+     *  same handle is returned for all names of the option.
+     * @param[in] name The name of the option to retrieve
+     * @return The named option's handle
+     */
+    @Override
+    public Option_Integer getIntegerOption(String name) {
+        return (Option_Integer) getHandle(checkType(name, OptionsColumns.TYPE_INT, "an integer"));
+    }
+
+
+    /** @brief Returns a handle for reading the named float option's value directly
+     * @param[in] name The name of the option to retrieve
+     * @return The named option's handle
+     * @see getIntegerOption(String)
+     */
+    @Override
+    public Option_Double getDoubleOption(String name) {
+        return (Option_Double) getHandle(checkType(name, OptionsColumns.TYPE_DOUBLE, "a double"));
+    }
+
+
+    /** @brief Returns a handle for reading the named boolean option's value directly
+     * @param[in] name The name of the option to retrieve
+     * @return The named option's handle
+     * @see getIntegerOption(String)
+     */
+    @Override
+    public Option_Bool getBoolOption(String name) {
+        return (Option_Bool) getHandle(checkType(name, OptionsColumns.TYPE_BOOL, "a bool"));
+    }
+
+
+    /** @brief Returns a handle for reading the named string (or file name) option's value directly
+     * @param[in] name The name of the option to retrieve
+     * @return The named option's handle
+     * @see getIntegerOption(String)
+     */
+    @Override
+    public Option_String getStringOption(String name) {
+        return (Option_String) getHandle(checkType(name, OptionsColumns.TYPE_STRING, "a string"));
+    }
+
+
+    /** @brief Returns the named integer list option
+     *
+     * List options are kept as Option_List objects within the list column;
+     *  the stored object is returned.
+     * @param[in] name The name of the option to retrieve
+     * @return The named option
+     */
+    @Override
+    public Option_IntegerList getIntegerListOption(String name) {
+        return (Option_IntegerList) getHandle(checkType(name, OptionsColumns.TYPE_INT_LIST, "an integer list"));
+    }
+
+
+    /** @brief Returns the named double list option
+     * @param[in] name The name of the option to retrieve
+     * @return The named option
+     * @see getIntegerListOption(String)
+     */
+    @Override
+    public Option_DoubleList getDoubleListOption(String name) {
+        return (Option_DoubleList) getHandle(checkType(name, OptionsColumns.TYPE_DOUBLE_LIST, "a double list"));
+    }
+
+
+    /** @brief Returns the named string list option
+     * @param[in] name The name of the option to retrieve
+     * @return The named option
+     * @see getIntegerListOption(String)
+     */
+    @Override
+    public Option_StringList getStringListOption(String name) {
+        return (Option_StringList) getHandle(checkType(name, OptionsColumns.TYPE_STRING_LIST, "a string list"));
+    }
+    /// @}
+
+
+
+    /// @brief (Re-)Setting values
+    /// @{
+
+    /** @brief Sets the given value to the given option
+     * @param[in] name The name of the option to set
+     * @param[in] value The value to set
+     */
+    @Override
+    public void set(String name, String value) {
+        int index = getIndex(name);
+        reportDeprecation(name);
+        myValues.set(index, value);
+    }
+
+
+    /** @brief Sets the given value read from a file to the given option
+     * 
+     * Lazy conversion is not supported; the value is converted at once.
+     * @param[in] name The name of the option to set
+     * @param[in] value The value to set
+     * @param[in] fileName The file the value was read from
+     * @param[in] line The line within the file the value was read from
+     */
+    @Override
+    public void set(String name, String value, String fileName, int line) {
+        countFileValue();
+        set(name, value);
+    }
+
+
+    /** @brief Sets the given value to the given option (boolean options only)
+     * @param[in] name The name of the option to set
+     * @param[in] value The value to set
+     */
+    @Override
+    public void set(String name, boolean value) {
+        if(!isBool(name)) {
+            throw new RuntimeException("This is not a boolean option");
+        }
+        set(name, value ? "true" : "false");
+    }
+
+
+    /// @brief Remarks all options as unset
+    @Override
+    protected void remarkUnset() {
+        myValues.remarkSetable();
+    }
+
+
+    /** @brief Remarks the named option as unset
+     * @param[in] name The name of the option to unset
+     */
+    @Override
+    protected void remarkUnset(String name) {
+        myValues.remarkSetable(getIndex(name));
+    }
+
+
+    /** @brief Does nothing, as values are converted when being set
+     */
+    @Override
+    public void validateAll() {
+    }
+    /// @}
+
+
+
+    /// @brief Retrieving Help Information
+    /// @{
+
+    /** @brief Returns the name of the section the option belongs to
+     * @param optionName The name of the option to return the section name for
+     * @return The name of the section the named option belongs to
+     */
+    @Override
+    public String getSection(String optionName) {
+        return mySections[getIndex(optionName)];
+    }
+
+
+    /** @brief Returns the description of the named option
+     * @param optionName The name of the option to return the description for
+     * @return The description of the option
+     */
+    @Override
+    public String getDescription(String optionName) {
+        int index = getIndex(optionName);
+        if(OptionsColumns.isList(myValues.getType(index))) {
+            return myValues.getList(index).getDescription();
+        }
+        return myDescriptions[index];
+    }
+    /// @}
+
+
+
+    /// @brief Snapshots
+    /// @{
+
+    /** @brief Returns an immutable copy of the current option values
+     * @return A snapshot of the options' current values
+     */
+    @Override
+    public OptionsSnapshot snapshot() {
+        return new OptionsSnapshot(myNames.copy(), myValues.copy(), Arrays.copyOf(myLongestNames, myValues.size()));
+    }
+    /// @}
+
+
+
+    /// @brief Schemas
+    /// @{
+
+    /** @brief Compiles the options' definitions into an immutable schema
+     * @return The compiled schema
+     */
+    @Override
+    public OptionsSchema compile() {
+        OptionsCont_Columnar definition = new OptionsCont_Columnar(this);
+        // the definitions are shared; copy them, as this container may be extended
+        definition.myNames = myNames.copy();
+        definition.myLongestNames = myLongestNames.clone();
+        definition.myDescriptions = myDescriptions.clone();
+        definition.mySections = mySections.clone();
+        definition.mySynonyms = new HashMap<>();
+        for(Iterator<Map.Entry<Integer, Vector<String>>> i=mySynonyms.entrySet().iterator(); i.hasNext(); ) {
+            Map.Entry<Integer, Vector<String>> e = i.next();
+            definition.mySynonyms.put(e.getKey(), new Vector<>(e.getValue()));
+        }
+        definition.myDeprecations = new HashMap<>(myDeprecations);
+        return new OptionsSchema(definition);
+    }
+    /// @}
+
+
+
+    /// @brief Parser Access
+    /// @{
+
+    /** @brief Returns the index of the option with the given abbreviation
+     * @param[in] abbr The option's abbreviated name
+     * @return The option's index, -1 if the option is not known
+     */
+    @Override
+    int getIndex(char abbr) {
+        return myNames.get(abbr);
+    }
+
+
+    /** @brief Returns the index of the option whose name is given as a region of a character sequence
+     * @param[in] s The character sequence the name is a part of
+     * @param[in] begin The begin of the name within the sequence (inclusive)
+     * @param[in] end The end of the name within the sequence (exclusive)
+     * @return The option's index, -1 if the option is not known
+     */
+    @Override
+    int getIndex(CharSequence s, int begin, int end) {
+        return myNames.get(s, begin, end);
+    }
+
+
+    /** @brief Returns whether the indexed option is a boolean option
+     * @param[in] index The option's index
+     * @return Whether the option is a boolean option
+     */
+    @Override
+    boolean isBool(int index) {
+        return myValues.getType(index)==OptionsColumns.TYPE_BOOL;
+    }
+
+
+    /** @brief Returns the name of the indexed option's type
+     * @param[in] index The option's index
+     * @return The type of the option
+     */
+    @Override
+    String getTypeName(int index) {
+        return myValues.getTypeName(index);
+    }
+
+
+    /** @brief Returns whether the indexed option can be set
+     * @param[in] index The option's index
+     * @return Whether the option can be set
+     */
+    @Override
+    boolean canBeSet(int index) {
+        return myValues.canBeSet(index);
+    }
+
+
+    /** @brief Sets the value given as a region of a character sequence to the indexed option if it can be converted
+     * @param[in] index The option's index
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     * @return Whether the value could be converted (the option is not changed otherwise)
+     */
+    @Override
+    boolean trySet(int index, CharSequence s, int begin, int end) {
+        return myValues.trySet(index, s, begin, end);
+    }
+
+
+    /** @brief Sets the indexed boolean option to true
+     * @param[in] index The option's index
+     */
+    @Override
+    void setTrue(int index) {
+        myValues.set(index, "true");
+    }
+
+
+    /** @brief Sets the given value to the indexed int option (no type check)
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     */
+    @Override
+    void setInteger(int index, int value) {
+        myValues.setInteger(index, value);
+    }
+
+
+    /** @brief Sets the given value to the indexed double option (no type check)
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     */
+    @Override
+    void setDouble(int index, double value) {
+        myValues.setDouble(index, value);
+    }
+
+
+    /** @brief Sets the given value to the indexed bool option (no type check)
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     */
+    @Override
+    void setBool(int index, boolean value) {
+        myValues.setBool(index, value);
+    }
+
+
+    /** @brief Reports the use of a deprecated abbreviation
+     * @param[in] abbr The used abbreviation
+     */
+    @Override
+    void checkDeprecation(char abbr) {
+        if(myDeprecations.isEmpty()) {
+            return;
+        }
+        String name = String.valueOf(abbr);
+        reportDeprecation(name);
+    }
+
+
+    /** @brief Reports the use of a deprecated name given as a region of a character sequence
+     * @param[in] s The character sequence the name is a part of
+     * @param[in] begin The begin of the name within the sequence (inclusive)
+     * @param[in] end The end of the name within the sequence (exclusive)
+     */
+    @Override
+    void checkDeprecation(CharSequence s, int begin, int end) {
+        if(myDeprecations.isEmpty()) {
+            return;
+        }
+        String name = s.subSequence(begin, end).toString();
+        reportDeprecation(name);
+    }
+    /// @}
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Reports the use of the given name if it is deprecated
+     * @param[in] name The used name
+     */
+    private void reportDeprecation(String name) {
+        reportDeprecation(myDeprecations, name);
+    }
+
+
+    /** @brief Returns the index of the named option; throws an exception when not existing
+     * @param[in] name The name of the option
+     * @return The option's index
+     */
+    private int getIndex(String name) {
+        int index = myNames.get(name);
+        if(index<0) {
+            throw new RuntimeException("The option '" + name + "' is not known.");
+        }
+        return index;
+    }
+
+
+    /** @brief Returns the index of the given option
+     * @param[in] option An option given to add() or a handle returned by this container
+     * @return The option's index, -1 if the option is not known
+     */
+    private int getIndex(Option option) {
+        Integer index = myPrototypes!=null ? myPrototypes.get(option) : null;
+        if(index!=null) {
+            return index.intValue();
+        }
+        synchronized(myHandles) {
+            for(Iterator<Map.Entry<Integer, Option>> i=myHandles.entrySet().iterator(); i.hasNext(); ) {
+                Map.Entry<Integer, Option> entry = i.next();
+                if(entry.getValue()==option) {
+                    return entry.getKey().intValue();
+                }
+            }
+        }
+        return -1;
+    }
+
+
+    /** @brief Returns the index of the named option after checking its type
+     * @param[in] name The name of the option
+     * @param[in] type The expected type id (TYPE_STRING includes file names)
+     * @param[in] typeName The expected type's name (with article) for the error message
+     * @return The option's index
+     */
+    private int checkType(String name, byte type, String typeName) {
+        int index = getIndex(name);
+        byte optionType = myValues.getType(index);
+        if(optionType==OptionsColumns.TYPE_FILENAME) {
+            optionType = OptionsColumns.TYPE_STRING;
+        }
+        if(optionType!=type) {
+            throw new RuntimeException("Option '" + name + "' is not " + typeName + " option!");
+        }
+        return index;
+    }
+
+
+    /** @brief Returns the index of the named option after checking its type and whether it is set
+     * @param[in] name The name of the option
+     * @param[in] type The expected type id (TYPE_STRING includes file names)
+     * @param[in] typeName The expected type's name (with article) for the error message
+     * @return The option's index
+     */
+    private int check(String name, byte type, String typeName) {
+        int index = checkType(name, type, typeName);
+        if(!myValues.isSet(index)) {
+            throw new RuntimeException("The option '" + name + "' is not set!");
+        }
+        return index;
+    }
+
+
+    /** @brief Registers a known option under the other synonym
+     * @param[in] name1 The name the option was already known under
+     * @param[in] name2 The synonym to register
+     * @param[in] deprecated Whether the synonym is deprecated
+     */
+    private void addSynonym(String name1, String name2, boolean deprecated) {
+        int index1 = myNames.get(name1);
+        int index2 = myNames.get(name2);
+        if(index1<0&&index2<0) {
+            throw new RuntimeException("Neither an option with the name '" + name1 + "' nor an option with the name '" + name2 + "' is known.");
+        }
+        if(index1>=0&&index2>=0) {
+            throw new RuntimeException("Both options are already set ('" + name1 + "' and '" + name2 + "')!");
+        }
+        if(index1>=0) {
+            addName(name2, index1);
+            if(deprecated) {
+                myDeprecations.put(name2, name1);
+            }
+        } else {
+            addName(name1, index2);
+            if(deprecated) {
+                myDeprecations.put(name1, name2);
+            }
+        }
+    }
+
+
+    /** @brief Adds a further name to the indexed option
+     * @param[in] name The name to add
+     * @param[in] index The option's index
+     */
+    private void addName(String name, int index) {
+        if(myNames.get(name)>=0) {
+            throw new RuntimeException("An option with the name '" + name + "' already exists.");
+        }
+        myNames.put(name, index);
+        Vector<String> names = mySynonyms.get(index);
+        if(names==null) {
+            names = new Vector<>();
+            names.add(myLongestNames[index]);
+            mySynonyms.put(index, names);
+        }
+        // keep the names sorted by length
+        int pos = names.size();
+        while(pos>0 && names.elementAt(pos-1).length()>name.length()) {
+            --pos;
+        }
+        names.insertElementAt(name, pos);
+        myLongestNames[index] = names.lastElement();
+        definitionChanged();
+    }
+
+
+    /** @brief Returns the handle of the indexed option as the type of the given option
+     * @param[in] index The option's index
+     * @param[in] option The option given to add()
+     * @return The option's handle, the given option if the handle is not of the option's type
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Option> T getHandle(int index, T option) {
+        Option handle = getHandle(index);
+        return option.getClass().isInstance(handle) ? (T) handle : option;
+    }
+
+
+    /** @brief Returns the handle of the indexed option, building it on first request
+     * @param[in] index The option's index
+     * @return The option's handle (the stored Option_List for list options)
+     */
+    private Option getHandle(int index) {
+        synchronized(myHandles) {
+            Option handle = myHandles.get(index);
+            if(handle==null) {
+                switch(myValues.getType(index)) {
+                case OptionsColumns.TYPE_INT:
+                    handle = new IntegerHandle(index);
+                    break;
+                case OptionsColumns.TYPE_DOUBLE:
+                    handle = new DoubleHandle(index);
+                    break;
+                case OptionsColumns.TYPE_BOOL:
+                    handle = new BoolHandle(index);
+                    break;
+                case OptionsColumns.TYPE_FILENAME:
+                    handle = new FileNameHandle(index);
+                    break;
+                case OptionsColumns.TYPE_INT_LIST:
+                case OptionsColumns.TYPE_DOUBLE_LIST:
+                case OptionsColumns.TYPE_STRING_LIST:
+                    handle = myValues.getList(index);
+                    break;
+                default:
+                    handle = new StringHandle(index);
+                    break;
+                }
+                myHandles.put(index, handle);
+            }
+            return handle;
+        }
+    }
+    /// @}
+
+
+
+    /// @brief Typed option handles
+    /// @{
+
+    /**
+     * @class IntegerHandle
+     * @brief An integer option that reads and writes the container's column entry
+     */
+    private final class IntegerHandle extends Option_Integer {
+        /// @brief The option's index
+        private final int myIndex;
+
+        /** @brief Constructor
+         * @param[in] index The option's index
+         */
+        IntegerHandle(int index) {
+            myIndex = index;
+        }
+
+        @Override
+        public boolean isSet() {
+            return myValues.isSet(myIndex);
+        }
+
+        @Override
+        public boolean isDefault() {
+            return myValues.isDefault(myIndex);
+        }
+
+        @Override
+        protected boolean canBeSet() {
+            return myValues.canBeSet(myIndex);
+        }
+
+        @Override
+        public void set(String valueS) {
+            myValues.set(myIndex, valueS);
+        }
+
+        @Override
+        void setValue(int value) {
+            myValues.setInteger(myIndex, value);
+        }
+
+        @Override
+        public void set(CharSequence s, int begin, int end) {
+            myValues.setInteger(myIndex, Option_Integer.parse(s, begin, end));
+        }
+
+        @Override
+        protected boolean trySet(CharSequence s, int begin, int end) {
+            return myValues.trySet(myIndex, s, begin, end);
+        }
+
+        @Override
+        public void setLazy(String valueS, String name, String fileName, int line) {
+            set(valueS);
+        }
+
+        @Override
+        public int getValue() {
+            return myValues.getInteger(myIndex);
+        }
+
+        @Override
+        public String getValueAsString() {
+            return myValues.getValueAsString(myIndex);
+        }
+
+        @Override
+        public void setDescription(String desc) {
+            OptionsCont_Columnar.this.setDescription(myLongestNames[myIndex], desc);
+        }
+
+        @Override
+        public String getDescription() {
+            return myDescriptions[myIndex];
+        }
+    }
+
+
+    /**
+     * @class DoubleHandle
+     * @brief A double option that reads and writes the container's column entry
+     */
+    private final class DoubleHandle extends Option_Double {
+        /// @brief The option's index
+        private final int myIndex;
+
+        /** @brief Constructor
+         * @param[in] index The option's index
+         */
+        DoubleHandle(int index) {
+            myIndex = index;
+        }
+
+        @Override
+        public boolean isSet() {
+            return myValues.isSet(myIndex);
+        }
+
+        @Override
+        public boolean isDefault() {
+            return myValues.isDefault(myIndex);
+        }
+
+        @Override
+        protected boolean canBeSet() {
+            return myValues.canBeSet(myIndex);
+        }
+
+        @Override
+        public void set(String valueS) {
+            myValues.set(myIndex, valueS);
+        }
+
+        @Override
+        void setValue(double value) {
+            myValues.setDouble(myIndex, value);
+        }
+
+        @Override
+        public void setLazy(String valueS, String name, String fileName, int line) {
+            set(valueS);
+        }
+
+        @Override
+        public double getValue() {
+            return myValues.getDouble(myIndex);
+        }
+
+        @Override
+        public String getValueAsString() {
+            return myValues.getValueAsString(myIndex);
+        }
+
+        @Override
+        public void setDescription(String desc) {
+            OptionsCont_Columnar.this.setDescription(myLongestNames[myIndex], desc);
+        }
+
+        @Override
+        public String getDescription() {
+            return myDescriptions[myIndex];
+        }
+    }
+
+
+    /**
+     * @class BoolHandle
+     * @brief A boolean option that reads and writes the container's column entry
+     */
+    private final class BoolHandle extends Option_Bool {
+        /// @brief The option's index
+        private final int myIndex;
+
+        /** @brief Constructor
+         * @param[in] index The option's index
+         */
+        BoolHandle(int index) {
+            myIndex = index;
+        }
+
+        @Override
+        public boolean isSet() {
+            return myValues.isSet(myIndex);
+        }
+
+        @Override
+        public boolean isDefault() {
+            return myValues.isDefault(myIndex);
+        }
+
+        @Override
+        protected boolean canBeSet() {
+            return myValues.canBeSet(myIndex);
+        }
+
+        @Override
+        public void set(String value) {
+            myValues.set(myIndex, value);
+        }
+
+        @Override
+        void setValue(boolean value) {
+            myValues.setBool(myIndex, value);
+        }
+
+        @Override
+        public void set(CharSequence s, int begin, int end) {
+            myValues.setBool(myIndex, Option_Bool.parse(s, begin, end));
+        }
+
+        @Override
+        protected boolean trySet(CharSequence s, int begin, int end) {
+            return myValues.trySet(myIndex, s, begin, end);
+        }
+
+        @Override
+        public void setLazy(String value, String name, String fileName, int line) {
+            set(value);
+        }
+
+        @Override
+        public boolean getValue() {
+            return myValues.getBool(myIndex);
+        }
+
+        @Override
+        public String getValueAsString() {
+            return myValues.getValueAsString(myIndex);
+        }
+
+        @Override
+        public void setDescription(String desc) {
+            OptionsCont_Columnar.this.setDescription(myLongestNames[myIndex], desc);
+        }
+
+        @Override
+        public String getDescription() {
+            return myDescriptions[myIndex];
+        }
+    }
+
+
+    /**
+     * @class StringHandle
+     * @brief A string option that reads and writes the container's column entry
+     */
+    private final class StringHandle extends Option_String {
+        /// @brief The option's index
+        private final int myIndex;
+
+        /** @brief Constructor
+         * @param[in] index The option's index
+         */
+        StringHandle(int index) {
+            myIndex = index;
+        }
+
+        @Override
+        public boolean isSet() {
+            return myValues.isSet(myIndex);
+        }
+
+        @Override
+        public boolean isDefault() {
+            return myValues.isDefault(myIndex);
+        }
+
+        @Override
+        protected boolean canBeSet() {
+            return myValues.canBeSet(myIndex);
+        }
+
+        @Override
+        public void set(String valueS) {
+            myValues.set(myIndex, valueS);
+        }
+
+        @Override
+        public String getValue() {
+            return myValues.getString(myIndex);
+        }
+
+        @Override
+        public String getValueAsString() {
+            return myValues.getValueAsString(myIndex);
+        }
+
+        @Override
+        public void setDescription(String desc) {
+            OptionsCont_Columnar.this.setDescription(myLongestNames[myIndex], desc);
+        }
+
+        @Override
+        public String getDescription() {
+            return myDescriptions[myIndex];
+        }
+    }
+
+
+    /**
+     * @class FileNameHandle
+     * @brief A file name option that reads and writes the container's column entry
+     */
+    private final class FileNameHandle extends Option_FileName {
+        /// @brief The option's index
+        private final int myIndex;
+
+        /** @brief Constructor
+         * @param[in] index The option's index
+         */
+        FileNameHandle(int index) {
+            myIndex = index;
+        }
+
+        @Override
+        public boolean isSet() {
+            return myValues.isSet(myIndex);
+        }
+
+        @Override
+        public boolean isDefault() {
+            return myValues.isDefault(myIndex);
+        }
+
+        @Override
+        protected boolean canBeSet() {
+            return myValues.canBeSet(myIndex);
+        }
+
+        @Override
+        public void set(String valueS) {
+            myValues.set(myIndex, valueS);
+        }
+
+        @Override
+        public String getValue() {
+            return myValues.getString(myIndex);
+        }
+
+        @Override
+        public String getValueAsString() {
+            return myValues.getValueAsString(myIndex);
+        }
+
+        @Override
+        public void setDescription(String desc) {
+            OptionsCont_Columnar.this.setDescription(myLongestNames[myIndex], desc);
+        }
+
+        @Override
+        public String getDescription() {
+            return myDescriptions[myIndex];
+        }
+    }
+    /// @}
+
+}
@@ -0,0 +1,206 @@
+package de.dks.utils.options;
+
+import java.util.Arrays;
+
+/**
+ * @class OptionsDiagnostics
+ * @brief Collects the errors found while parsing the command line.
+ *
+ * If a diagnostics collector is given to OptionsParser.parse, the parser
+ * does not throw an exception when it finds an error, but records the
+ * error and goes on with the next argument, so that all errors are
+ * found in one pass. Each error is described by its kind, the index of
+ * the argument it was found in, the name of the concerned option (if
+ * known), the expected type (for invalid values), and a message.
+ *
+ * The errors are stored in arrays that are kept when clear() is called,
+ * so that a collector can be reused for parsing many argument vectors.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class OptionsDiagnostics {
+    /** @enum Kind
+     * @brief The kinds of errors
+     */
+    public enum Kind {
+        /// @brief The argument is not an option (does not start with '-' or "--")
+        UNRECOGNIZED_ARGUMENT,
+        /// @brief No option with the given name exists
+        UNKNOWN_OPTION,
+        /// @brief The option needs a value, but none was given
+        MISSING_VALUE,
+        /// @brief A value was given for a boolean option
+        UNEXPECTED_VALUE,
+        /// @brief Several abbreviated options within one argument need a value
+        SEVERAL_OPTIONS_NEED_VALUE,
+        /// @brief The value cannot be converted to the option's type
+        INVALID_VALUE,
+        /// @brief The option was already set
+        ALREADY_SET,
+        /// @brief An argument is malformed, e.g. a quote is not closed
+        MALFORMED_ARGUMENT,
+        /// @brief An argument file cannot be read or names itself
+        UNREADABLE_ARGUMENT_FILE
+    }
+
+
+    /// @brief The number of recorded errors
+    private int mySize = 0;
+
+    /// @brief The kinds of the errors
+    private Kind[] myKinds = new Kind[4];
+
+    /// @brief The indices of the arguments the errors were found in
+    private int[] myArgumentIndices = new int[4];
+
+    /// @brief The names of the concerned options (null if not known)
+    private String[] myOptionNames = new String[4];
+
+    /// @brief The expected types (null if not applicable)
+    private String[] myExpectedTypes = new String[4];
+
+    /// @brief The errors' messages
+    private String[] myMessages = new String[4];
+
+
+
+    /** @brief Constructor
+     */
+    public OptionsDiagnostics() {
+    }
+
+
+    /** @brief Removes all recorded errors
+     */
+    public void clear() {
+        Arrays.fill(myOptionNames, 0, mySize, null);
+        Arrays.fill(myExpectedTypes, 0, mySize, null);
+        Arrays.fill(myMessages, 0, mySize, null);
+        mySize = 0;
+    }
+
+
+    /** @brief Returns the number of recorded errors
+     * @return The number of recorded errors
+     */
+    public int size() {
+        return mySize;
+    }
+
+
+    /** @brief Returns whether no error was recorded
+     * @return Whether no error was recorded
+     */
+    public boolean isEmpty() {
+        return mySize==0;
+    }
+
+
+    /** @brief Returns the kind of the indexed error
+     * @param[in] i The error's index
+     * @return The kind of the error
+     */
+    public Kind getKind(int i) {
+        check(i);
+        return myKinds[i];
+    }
+
+
+    /** @brief Returns the index of the argument the indexed error was found in
+     * @param[in] i The error's index
+     * @return The index of the argument within the parsed arguments
+     */
+    public int getArgumentIndex(int i) {
+        check(i);
+        return myArgumentIndices[i];
+    }
+
+
+    /** @brief Returns the name of the option concerned by the indexed error
+     * @param[in] i The error's index
+     * @return The option's name as given, null for unrecognized arguments
+     */
+    public String getOptionName(int i) {
+        check(i);
+        return myOptionNames[i];
+    }
+
+
+    /** @brief Returns the type the value of the indexed error was expected to have
+     * @param[in] i The error's index
+     * @return The expected type's name, null if the error is not an invalid value
+     */
+    public String getExpectedType(int i) {
+        check(i);
+        return myExpectedTypes[i];
+    }
+
+
+    /** @brief Returns the message of the indexed error
+     * @param[in] i The error's index
+     * @return The error's message
+     */
+    public String getMessage(int i) {
+        check(i);
+        return myMessages[i];
+    }
+
+
+    /** @brief Records an error
+     * @param[in] kind The kind of the error
+     * @param[in] argumentIndex The index of the argument the error was found in
+     * @param[in] optionName The name of the concerned option (may be null)
+     * @param[in] expectedType The expected type (may be null)
+     * @param[in] message The error's message
+     */
+    void add(Kind kind, int argumentIndex, String optionName, String expectedType, String message) {
+        if(mySize==myKinds.length) {
+            int capacity = mySize * 2;
+            myKinds = Arrays.copyOf(myKinds, capacity);
+            myArgumentIndices = Arrays.copyOf(myArgumentIndices, capacity);
+            myOptionNames = Arrays.copyOf(myOptionNames, capacity);
+            myExpectedTypes = Arrays.copyOf(myExpectedTypes, capacity);
+            myMessages = Arrays.copyOf(myMessages, capacity);
+        }
+        myKinds[mySize] = kind;
+        myArgumentIndices[mySize] = argumentIndex;
+        myOptionNames[mySize] = optionName;
+        myExpectedTypes[mySize] = expectedType;
+        myMessages[mySize] = message;
+        ++mySize;
+    }
+
+
+    /** @brief Returns a copy of the recorded errors
+     * @return A new collector holding the recorded errors
+     */
+    OptionsDiagnostics copy() {
+        OptionsDiagnostics ret = new OptionsDiagnostics();
+        int capacity = Math.max(mySize, 1);
+        ret.myKinds = Arrays.copyOf(myKinds, capacity);
+        ret.myArgumentIndices = Arrays.copyOf(myArgumentIndices, capacity);
+        ret.myOptionNames = Arrays.copyOf(myOptionNames, capacity);
+        ret.myExpectedTypes = Arrays.copyOf(myExpectedTypes, capacity);
+        ret.myMessages = Arrays.copyOf(myMessages, capacity);
+        ret.mySize = mySize;
+        return ret;
+    }
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Checks whether the index is valid
+     * @param[in] i The error's index
+     * @throw IndexOutOfBoundsException If the index is not valid
+     */
+    private void check(int i) {
+        if(i<0||i>=mySize) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + mySize);
+        }
+    }
+    /// @}
+
+}
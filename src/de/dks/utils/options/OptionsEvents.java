@@ -0,0 +1,113 @@
+package de.dks.utils.options;
+
+/**
+ * @class OptionsEvents
+ * @brief Emits Java Flight Recorder events, if available.
+ *
+ * The library reports parsing the command line, loading each
+ * configuration file, and writing help, options, configurations, and
+ * templates as JFR events (see OptionsEvents_JFR). This class hides
+ * whether JFR is available: on Java runtimes without JFR, the event
+ * classes are never loaded and the methods return at once. If JFR is
+ * available but no recording is running, an event is built only for
+ * checking whether it is enabled.
+ *
+ * A begin method returns the started event or null if no event shall be
+ * recorded; the matching commit method accepts null.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+final class OptionsEvents {
+    /// @brief Whether the Java Flight Recorder is available
+    private static final boolean AVAILABLE = isAvailable();
+
+
+
+    /** @brief Constructor (not used)
+     */
+    private OptionsEvents() {
+    }
+
+
+    /** @brief Starts a parse event
+     * @return The started event, null if no event shall be recorded
+     */
+    static Object beginParse() {
+        return AVAILABLE ? OptionsEvents_JFR.beginParse() : null;
+    }
+
+
+    /** @brief Commits a parse event
+     * @param[in] event The event as returned by beginParse (may be null)
+     * @param[in] argumentNumber The number of parsed arguments
+     * @param[in] errorNumber The number of errors
+     */
+    static void commitParse(Object event, int argumentNumber, int errorNumber) {
+        if(event!=null) {
+            OptionsEvents_JFR.commitParse(event, argumentNumber, errorNumber);
+        }
+    }
+
+
+    /** @brief Starts a load event
+     * @return The started event, null if no event shall be recorded
+     */
+    static Object beginLoad() {
+        return AVAILABLE ? OptionsEvents_JFR.beginLoad() : null;
+    }
+
+
+    /** @brief Commits a load event
+     * @param[in] event The event as returned by beginLoad (may be null)
+     * @param[in] path The path of the loaded file
+     * @param[in] format The name of the file format
+     * @param[in] optionNumber The number of values read from the file
+     */
+    static void commitLoad(Object event, String path, String format, int optionNumber) {
+        if(event!=null) {
+            OptionsEvents_JFR.commitLoad(event, path, format, optionNumber);
+        }
+    }
+
+
+    /** @brief Starts a write event
+     * @return The started event, null if no event shall be recorded
+     */
+    static Object beginWrite() {
+        return AVAILABLE ? OptionsEvents_JFR.beginWrite() : null;
+    }
+
+
+    /** @brief Commits a write event
+     * @param[in] event The event as returned by beginWrite (may be null)
+     * @param[in] operation What was written ("help", "options", "configuration", "template")
+     * @param[in] path The path of the written file, null if a stream was written
+     * @param[in] format The name of the file format, null if a stream was written
+     * @param[in] optionNumber The number of written options
+     */
+    static void commitWrite(Object event, String operation, String path, String format, int optionNumber) {
+        if(event!=null) {
+            OptionsEvents_JFR.commitWrite(event, operation, path, format, optionNumber);
+        }
+    }
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Returns whether the Java Flight Recorder is available
+     * @return Whether the JFR classes can be loaded
+     */
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch(ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+    /// @}
+
+}
@@ -0,0 +1,220 @@
+package de.dks.utils.options;
+
+import java.io.File;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @class OptionsEvents_JFR
+ * @brief The Java Flight Recorder events of the library.
+ *
+ * This class is only loaded by OptionsEvents if JFR is available.
+ * The events are recorded using the names "de.dks.utils.options.Parse",
+ * "de.dks.utils.options.Load", and "de.dks.utils.options.Write" and
+ * are found in the category "OptionsLib". Their duration is the time
+ * needed for the respective operation.
+ *
+ * As building the first event sets up the recorder's infrastructure,
+ * no event is built unless the Flight Recorder has been initialised
+ * (i.e. a recording was started).
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+final class OptionsEvents_JFR {
+    /**
+     * @class ParseEvent
+     * @brief Parsing the command line
+     */
+    @Name("de.dks.utils.options.Parse")
+    @Label("Parse Options")
+    @Description("Parsing options from the command line")
+    @Category("OptionsLib")
+    static final class ParseEvent extends Event {
+        /// @brief The number of parsed arguments
+        @Label("Arguments")
+        int arguments;
+
+        /// @brief The number of errors
+        @Label("Errors")
+        int errors;
+    }
+
+
+    /**
+     * @class LoadEvent
+     * @brief Loading a single configuration file
+     */
+    @Name("de.dks.utils.options.Load")
+    @Label("Load Configuration")
+    @Description("Loading a single configuration file")
+    @Category("OptionsLib")
+    static final class LoadEvent extends Event {
+        /// @brief The path of the file
+        @Label("Path")
+        String path;
+
+        /// @brief The name of the file format
+        @Label("Format")
+        String format;
+
+        /// @brief The size of the file
+        @Label("Size")
+        @DataAmount
+        long size;
+
+        /// @brief The number of values read from the file
+        @Label("Options")
+        int options;
+    }
+
+
+    /**
+     * @class WriteEvent
+     * @brief Writing help, options, a configuration, or a template
+     */
+    @Name("de.dks.utils.options.Write")
+    @Label("Write Options")
+    @Description("Writing help, set options, a configuration, or a template")
+    @Category("OptionsLib")
+    static final class WriteEvent extends Event {
+        /// @brief What was written
+        @Label("Operation")
+        String operation;
+
+        /// @brief The path of the file, null if a stream was written
+        @Label("Path")
+        String path;
+
+        /// @brief The name of the file format, null if a stream was written
+        @Label("Format")
+        String format;
+
+        /// @brief The size of the file (0 if a stream was written)
+        @Label("Size")
+        @DataAmount
+        long size;
+
+        /// @brief The number of written options
+        @Label("Options")
+        int options;
+    }
+
+
+
+    /** @brief Constructor (not used)
+     */
+    private OptionsEvents_JFR() {
+    }
+
+
+    /** @brief Starts a parse event
+     * @return The started event, null if no recording runs or the event is not enabled
+     */
+    static Object beginParse() {
+        if(!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        ParseEvent event = new ParseEvent();
+        if(!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+
+    /** @brief Commits a parse event
+     * @param[in] event The event as returned by beginParse
+     * @param[in] argumentNumber The number of parsed arguments
+     * @param[in] errorNumber The number of errors
+     */
+    static void commitParse(Object event, int argumentNumber, int errorNumber) {
+        ParseEvent e = (ParseEvent) event;
+        e.end();
+        if(e.shouldCommit()) {
+            e.arguments = argumentNumber;
+            e.errors = errorNumber;
+            e.commit();
+        }
+    }
+
+
+    /** @brief Starts a load event
+     * @return The started event, null if no recording runs or the event is not enabled
+     */
+    static Object beginLoad() {
+        if(!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        LoadEvent event = new LoadEvent();
+        if(!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+
+    /** @brief Commits a load event
+     * @param[in] event The event as returned by beginLoad
+     * @param[in] path The path of the loaded file
+     * @param[in] format The name of the file format
+     * @param[in] optionNumber The number of values read from the file
+     */
+    static void commitLoad(Object event, String path, String format, int optionNumber) {
+        LoadEvent e = (LoadEvent) event;
+        e.end();
+        if(e.shouldCommit()) {
+            e.path = path;
+            e.format = format;
+            e.size = new File(path).length();
+            e.options = optionNumber;
+            e.commit();
+        }
+    }
+
+
+    /** @brief Starts a write event
+     * @return The started event, null if no recording runs or the event is not enabled
+     */
+    static Object beginWrite() {
+        if(!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        WriteEvent event = new WriteEvent();
+        if(!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+
+    /** @brief Commits a write event
+     * @param[in] event The event as returned by beginWrite
+     * @param[in] operation What was written
+     * @param[in] path The path of the written file, null if a stream was written
+     * @param[in] format The name of the file format, null if a stream was written
+     * @param[in] optionNumber The number of written options
+     */
+    static void commitWrite(Object event, String operation, String path, String format, int optionNumber) {
+        WriteEvent e = (WriteEvent) event;
+        e.end();
+        if(e.shouldCommit()) {
+            e.operation = operation;
+            e.path = path;
+            e.format = format;
+            e.size = path!=null ? new File(path).length() : 0;
+            e.options = optionNumber;
+            e.commit();
+        }
+    }
+
+}
@@ -0,0 +1,265 @@
+package de.dks.utils.options;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @class OptionsFileCache
+ * @brief A cache of the values read from configuration files.
+ *
+ * A cache may be shared by several file reading handlers (see
+ * OptionsTypedFileIO.setCache(OptionsFileCache)) and by several
+ * threads. When a configuration file is loaded, the values read from it
+ * are stored, so that loading the file again, e.g. as the parent
+ * configuration of further containers, only sets the stored values
+ * instead of reading and parsing the file.
+ *
+ * By default, a file is identified by its path; the stored values are
+ * only used if the file's modification time and size did not change.
+ * If the cache is content-addressed, a file is identified by a hash
+ * (SHA-256) of its contents instead, so that changes are detected
+ * reliably and identical files share their values; the file has to be
+ * read for computing the hash, but not to be parsed.
+ *
+ * The cache holds at most the given number of values; if it is
+ * exceeded, the files used least recently are removed. Files holding
+ * more values are not cached.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class OptionsFileCache {
+    /**
+     * @class Entry
+     * @brief A cached file
+     */
+    private static final class Entry {
+        /// @brief The values read from the file
+        private OptionsParsedFile myFile;
+
+        /// @brief The file's modification time when it was read (not used if content-addressed)
+        private long myLastModified;
+
+        /// @brief The file's size when it was read (not used if content-addressed)
+        private long mySize;
+    }
+
+
+    /// @brief The maximum number of cached values
+    private int myMaxValues;
+
+    /// @brief The number of cached values
+    private int myValuesNumber = 0;
+
+    /// @brief Whether files are identified by a hash of their contents
+    private boolean myContentAddressed = false;
+
+    /// @brief The cached files in the order of their use (least recently used first)
+    private LinkedHashMap<String, Entry> myEntries = new LinkedHashMap<>(16, .75f, true);
+
+    /// @brief The number of loads that used cached values and the number of loads that read the file
+    private long myHits = 0, myMisses = 0;
+
+
+
+    /** @brief Constructor
+     * @param[in] maxValues The maximum number of values to cache
+     */
+    public OptionsFileCache(int maxValues) {
+        myMaxValues = maxValues;
+    }
+
+
+    /** @brief Sets whether files are identified by a hash of their contents
+     *
+     * Clears the cache.
+     * @param[in] contentAddressed Whether files are identified by a hash of their contents
+     */
+    public synchronized void setContentAddressed(boolean contentAddressed) {
+        myContentAddressed = contentAddressed;
+        clear();
+    }
+
+
+    /** @brief Returns whether files are identified by a hash of their contents
+     * @return Whether the cache is content-addressed
+     */
+    public synchronized boolean isContentAddressed() {
+        return myContentAddressed;
+    }
+
+
+    /// @brief Removes all cached files
+    public synchronized void clear() {
+        myEntries.clear();
+        myValuesNumber = 0;
+    }
+
+
+    /** @brief Returns the number of cached files
+     * @return The number of cached files
+     */
+    public synchronized int size() {
+        return myEntries.size();
+    }
+
+
+    /** @brief Returns the number of cached values
+     * @return The number of cached values
+     */
+    public synchronized int getValuesNumber() {
+        return myValuesNumber;
+    }
+
+
+    /** @brief Returns the number of loads that used cached values
+     * @return The number of cache hits
+     */
+    public synchronized long getHits() {
+        return myHits;
+    }
+
+
+    /** @brief Returns the number of loads that had to read the file
+     * @return The number of cache misses
+     */
+    public synchronized long getMisses() {
+        return myMisses;
+    }
+
+
+    /** @brief Returns the values of a configuration file, reading it only if it is not cached
+     *
+     * The file is read without holding the cache's lock, so that several
+     *  files may be read in parallel.
+     * @param[in] io The handler to read the file with
+     * @param[in] into The options container to look up the options in
+     * @param[in] fileName The name of the file
+     * @return The file's values, null if options could not be loaded
+     * @throws IOException If the file cannot be read
+     */
+    OptionsParsedFile read(OptionsTypedFileIO io, OptionsCont into, String fileName) throws IOException {
+        Path path = Paths.get(fileName).toAbsolutePath().normalize();
+        String key = null;
+        long lastModified = 0;
+        long size = 0;
+        // a missing file is reported by the handler
+        if(Files.isRegularFile(path)) {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            lastModified = attributes.lastModifiedTime().toMillis();
+            size = attributes.size();
+            key = io.getClass().getName() + '\0' + (myContentAddressed ? hash(path) : path.toString());
+            OptionsParsedFile file = get(key, lastModified, size);
+            if(file!=null) {
+                return file;
+            }
+        }
+        OptionsRecorder recorder = new OptionsRecorder(into);
+        if(!io._loadConfiguration(recorder, fileName)) {
+            return null;
+        }
+        if(key!=null) {
+            put(key, recorder.getFile(), lastModified, size);
+        }
+        return recorder.getFile();
+    }
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Returns the cached values of a file
+     * @param[in] key The file's key
+     * @param[in] lastModified The file's modification time
+     * @param[in] size The file's size
+     * @return The cached values, null if the file is not cached or has changed
+     */
+    private synchronized OptionsParsedFile get(String key, long lastModified, long size) {
+        Entry entry = myEntries.get(key);
+        if(entry!=null && !myContentAddressed && (entry.myLastModified!=lastModified || entry.mySize!=size)) {
+            remove(key);
+            entry = null;
+        }
+        if(entry==null) {
+            ++myMisses;
+            return null;
+        }
+        ++myHits;
+        return entry.myFile;
+    }
+
+
+    /** @brief Stores the values of a file, removing the files used least recently if the cache is full
+     * @param[in] key The file's key
+     * @param[in] file The values read from the file
+     * @param[in] lastModified The file's modification time
+     * @param[in] size The file's size
+     */
+    private synchronized void put(String key, OptionsParsedFile file, long lastModified, long size) {
+        if(file.size()>myMaxValues) {
+            return;
+        }
+        remove(key);
+        Entry entry = new Entry();
+        entry.myFile = file;
+        entry.myLastModified = lastModified;
+        entry.mySize = size;
+        myEntries.put(key, entry);
+        myValuesNumber += file.size();
+        for(Iterator<Map.Entry<String, Entry>> i=myEntries.entrySet().iterator(); i.hasNext() && myValuesNumber>myMaxValues; ) {
+            myValuesNumber -= i.next().getValue().myFile.size();
+            i.remove();
+        }
+    }
+
+
+    /** @brief Removes a file from the cache
+     * @param[in] key The file's key
+     */
+    private void remove(String key) {
+        Entry entry = myEntries.remove(key);
+        if(entry!=null) {
+            myValuesNumber -= entry.myFile.size();
+        }
+    }
+
+
+    /** @brief Computes the hash of a file's contents
+     * @param[in] path The file's path
+     * @return The hash (hexadecimal)
+     * @throws IOException If the file cannot be read
+     */
+    private static String hash(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch(NoSuchAlgorithmException e) {
+            // each Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[65536];
+        try(InputStream is = Files.newInputStream(path)) {
+            int read;
+            while((read=is.read(buffer))>=0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder ret = new StringBuilder();
+        for(byte b : digest.digest()) {
+            ret.append(Character.forDigit((b>>4)&15, 16)).append(Character.forDigit(b&15, 16));
+        }
+        return ret.toString();
+    }
+    /// @}
+
+}
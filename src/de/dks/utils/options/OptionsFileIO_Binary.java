@@ -0,0 +1,529 @@
+package de.dks.utils.options;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Vector;
+import java.util.zip.CRC32;
+
+/**
+ * @class OptionsFileIO_Binary
+ * @brief Loads/saves options from/to compact binary files
+ *
+ * A binary configuration consists of a header and a payload. The header
+ * holds the magic number ("OPTB"), the format version, the number of
+ * entries, the payload's length, and the payload's CRC32 checksum. The
+ * payload holds the dictionary of the options' names (UTF-8, each
+ * preceded by its length), followed by the entries' values in the same
+ * order. Each value starts with its type: int and double values are
+ * stored as 4 and 8 bytes, bool values as a single byte, all other
+ * values as UTF-8 string preceded by its length. All numbers are big
+ * endian.
+ *
+ * Files are read into memory completely and closed at once. They are not
+ * memory-mapped, as a mapped file cannot be replaced on Windows until the
+ * mapping is garbage collected, so that compileConfiguration could not
+ * replace a sibling that was read before. The checksum is verified
+ * before any option is set. int, double, and bool values are set without
+ * being converted if the option has the stored type; otherwise, they are
+ * set as if they were read from a text file. The number of the entry is
+ * reported instead of a line.
+ *
+ * Templates cannot be written in this format.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class OptionsFileIO_Binary extends OptionsTypedFileIO {
+	/// @brief The extension appended to a configuration's name for naming its compiled sibling
+	public static final String COMPILED_EXTENSION = ".optb";
+
+	/// @brief The magic number ("OPTB")
+	private static final int MAGIC = 0x4f505442;
+
+	/// @brief The format version
+	private static final short VERSION = 1;
+
+	/// @brief The size of the header
+	private static final int HEADER_SIZE = 20;
+
+	/// @brief The minimum size of an entry within the payload (name length, type, and a bool value)
+	private static final int MIN_ENTRY_SIZE = 4;
+
+
+
+    /**
+     * @class NameSequence
+     * @brief A view on a plain ASCII name within a byte array
+     */
+    private static final class NameSequence implements CharSequence {
+        /// @brief The bytes of the name
+        private byte[] myBytes;
+
+        /// @brief The length of the name
+        private int myLength;
+
+
+        /** @brief Returns the length of the name
+         * @return The name's length
+         */
+        @Override
+        public int length() {
+            return myLength;
+        }
+
+
+        /** @brief Returns the indexed character
+         * @param[in] index The index of the character within the name
+         * @return The indexed character
+         */
+        @Override
+        public char charAt(int index) {
+            return (char) myBytes[index];
+        }
+
+
+        /** @brief Returns a part of the name
+         * @param[in] begin The begin of the part (inclusive)
+         * @param[in] end The end of the part (exclusive)
+         * @return The part
+         */
+        @Override
+        public CharSequence subSequence(int begin, int end) {
+            return toString().substring(begin, end);
+        }
+
+
+        /** @brief Returns the name as a string
+         * @return The name
+         */
+        @Override
+        public String toString() {
+            return new String(myBytes, 0, myLength, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+
+
+	/** @brief Returns the name of the compiled (binary) sibling of a configuration file
+	 * @param configFileName The name of the configuration file
+	 * @return The name of its compiled sibling
+	 */
+	public static String getCompiledName(String configFileName) {
+		return configFileName + COMPILED_EXTENSION;
+	}
+
+
+	/** @brief Loads parameters from a binary configuration file
+	 *
+	 * @param into The options container to fill
+	 * @param configFileName The name of the file to read
+	 * @return Whether options could be loaded
+	 * @throws IOException If the file cannot be read or is damaged
+	 */
+	@Override
+	protected boolean _loadConfiguration(OptionsCont into, String configFileName) throws IOException {
+		load(into, open(configFileName), configFileName);
+		return true;
+	}
+
+
+    /** @brief Writes the set options as a binary configuration
+     *
+     * @param os The stream to write the configuration to
+     * @param options The options container that includes the (set/parsed) options to write
+     * @return The number of written options
+     * @throws IOException If the stream cannot be written
+     */
+	@Override
+	protected int _writeConfiguration(OutputStream os, OptionsCont options) throws IOException {
+		Vector<String> names = new Vector<>();
+		Vector<String> optionNames = options.getSortedOptionNames();
+		for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
+			String oName = i.next();
+			if(options.isSet(oName) && !options.isDefault(oName)) {
+				names.add(oName);
+			}
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream payload = new DataOutputStream(bytes);
+		// the dictionary
+		for(Iterator<String> i=names.iterator(); i.hasNext(); ) {
+			String oName = i.next();
+			byte[] name = oName.getBytes(StandardCharsets.UTF_8);
+			if(name.length>0xffff) {
+				throw new IOException("The name of option '" + oName + "' is too long.");
+			}
+			payload.writeShort(name.length);
+			payload.write(name);
+		}
+		// the values
+		for(Iterator<String> i=names.iterator(); i.hasNext(); ) {
+			String oName = i.next();
+			String typeName = options.getTypeName(oName);
+			if("int".equals(typeName)) {
+				payload.writeByte(OptionsColumns.TYPE_INT);
+				payload.writeInt(options.getInteger(oName));
+			} else if("double".equals(typeName)) {
+				payload.writeByte(OptionsColumns.TYPE_DOUBLE);
+				payload.writeDouble(options.getDouble(oName));
+			} else if("bool".equals(typeName)) {
+				payload.writeByte(OptionsColumns.TYPE_BOOL);
+				payload.writeBoolean(options.getBool(oName));
+			} else {
+				byte[] value = options.getValueAsString(oName).getBytes(StandardCharsets.UTF_8);
+				payload.writeByte(OptionsColumns.TYPE_STRING);
+				payload.writeInt(value.length);
+				payload.write(value);
+			}
+		}
+		payload.flush();
+		byte[] data = bytes.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(data, 0, data.length);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(names.size()).putInt(data.length).putInt((int) crc.getValue());
+		os.write(header.array());
+		os.write(data);
+		os.flush();
+		return names.size();
+	}
+
+
+    /** @brief Templates cannot be written in the binary format
+     *
+     * @param os The stream to write the template to
+     * @param options The options container to write a template for
+     * @return Never returns
+     * @throws UnsupportedOperationException Always
+     */
+	@Override
+	protected int _writeTemplate(OutputStream os, OptionsCont options) throws IOException {
+		throw new UnsupportedOperationException("Templates cannot be written in the binary format.");
+	}
+
+
+	/** @brief Opens the compiled sibling of a configuration file if it is up to date
+	 *
+	 * @param configFileName The name of the configuration file
+	 * @return The compiled sibling's contents, null if it does not exist, is older than the configuration file, or is damaged
+	 */
+	static ByteBuffer openCompiled(String configFileName) {
+		File config = new File(configFileName);
+		File compiled = new File(getCompiledName(configFileName));
+		if(!compiled.isFile() || compiled.lastModified()<=config.lastModified()) {
+			return null;
+		}
+		try {
+			return open(compiled.getPath());
+		} catch(IOException e) {
+			// fall back to the configuration file
+			return null;
+		}
+	}
+
+
+	/** @brief Reads a binary configuration and verifies its header and its checksum
+	 *
+	 * As the checksum covers the payload only, the payload is walked
+	 *  through once for checking that it holds exactly the number of
+	 *  entries given in the header. Loading the returned contents thereby
+	 *  cannot fail after setting some of the options because the file is
+	 *  damaged.
+	 * @param fileName The name of the file to read
+	 * @return The file's contents, positioned at the begin of the payload
+	 * @throws IOException If the file cannot be read or is damaged
+	 */
+	static ByteBuffer open(String fileName) throws IOException {
+		ByteBuffer buffer;
+		try(FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if(size<HEADER_SIZE || size>Integer.MAX_VALUE) {
+				throw new IOException("The file '" + fileName + "' is not a binary configuration.");
+			}
+			byte[] data = new byte[(int) size];
+			ByteBuffer target = ByteBuffer.wrap(data);
+			while(target.hasRemaining() && channel.read(target)>=0) {
+				// read until the buffer is filled
+			}
+			buffer = ByteBuffer.wrap(data);
+		}
+		if(buffer.getInt()!=MAGIC) {
+			throw new IOException("The file '" + fileName + "' is not a binary configuration.");
+		}
+		short version = buffer.getShort();
+		if(version!=VERSION) {
+			throw new IOException("The binary configuration '" + fileName + "' has the unsupported version " + version + ".");
+		}
+		buffer.getShort();
+		int entryNumber = buffer.getInt();
+		int payloadLength = buffer.getInt();
+		int checksum = buffer.getInt();
+		if(payloadLength!=buffer.remaining()) {
+			throw new IOException("The binary configuration '" + fileName + "' is truncated.");
+		}
+		CRC32 crc = new CRC32();
+		crc.update(buffer.duplicate());
+		if((int) crc.getValue()!=checksum) {
+			throw new IOException("The binary configuration '" + fileName + "' is damaged (checksum mismatch).");
+		}
+		// the header is not covered by the checksum
+		if(entryNumber<0 || entryNumber>payloadLength/MIN_ENTRY_SIZE || !hasEntries(buffer.duplicate(), entryNumber, fileName)) {
+			throw new IOException("The binary configuration '" + fileName + "' is damaged (invalid number of entries).");
+		}
+		return buffer;
+	}
+
+
+	/** @brief Sets the options defined by an opened binary configuration
+	 *
+	 * Options that are already set are skipped without decoding their values.
+	 * @param into The options container to fill
+	 * @param buffer The file's contents as returned by open(String)
+	 * @param fileName The name of the file (for error reports)
+	 * @throws IOException If the file is damaged or the reading thread was interrupted
+	 */
+	static void load(OptionsCont into, ByteBuffer buffer, String fileName) throws IOException {
+		CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+		try {
+			int entryNumber = buffer.getInt(8);
+			int[] indices = new int[entryNumber];
+			int[] namePositions = new int[entryNumber];
+			String[] names = new String[entryNumber];
+			NameSequence nameSequence = new NameSequence();
+			byte[] bytes = new byte[256];
+			// resolve the dictionary's names
+			for(int i=0; i<entryNumber; ++i) {
+				namePositions[i] = buffer.position();
+				int length = buffer.getShort() & 0xffff;
+				bytes = read(buffer, bytes, length);
+				if(isASCII(bytes, length)) {
+					nameSequence.myBytes = bytes;
+					nameSequence.myLength = length;
+					indices[i] = into.getIndex(nameSequence, 0, length);
+				} else {
+					names[i] = decode(decoder, bytes, length, fileName, i);
+					indices[i] = into.getIndex(names[i], 0, names[i].length());
+				}
+				if(indices[i]>=0 && into.canBeSet(indices[i])) {
+					if(names[i]==null) {
+						into.checkDeprecation(nameSequence, 0, length);
+					} else {
+						into.checkDeprecation(names[i], 0, names[i].length());
+					}
+				}
+			}
+			// set the values
+			for(int i=0; i<entryNumber; ++i) {
+				if((i&4095)==0) {
+					OptionsTypedFileIO.checkInterrupted(fileName);
+				}
+				byte type = buffer.get();
+				int index = indices[i];
+				if(index>=0 && !into.canBeSet(index)) {
+					skip(buffer, type, fileName);
+					continue;
+				}
+				String typeName = index>=0 ? into.getTypeName(index) : null;
+				String value;
+				switch(type) {
+				case OptionsColumns.TYPE_INT:
+					int intValue = buffer.getInt();
+					if("int".equals(typeName)) {
+						into.countFileValue();
+						into.setInteger(index, intValue);
+						continue;
+					}
+					value = Integer.toString(intValue);
+					break;
+				case OptionsColumns.TYPE_DOUBLE:
+					double doubleValue = buffer.getDouble();
+					if("double".equals(typeName)) {
+						into.countFileValue();
+						into.setDouble(index, doubleValue);
+						continue;
+					}
+					value = Double.toString(doubleValue);
+					break;
+				case OptionsColumns.TYPE_BOOL:
+					boolean boolValue = buffer.get()!=0;
+					if("bool".equals(typeName)) {
+						into.countFileValue();
+						into.setBool(index, boolValue);
+						continue;
+					}
+					value = boolValue ? "true" : "false";
+					break;
+				case OptionsColumns.TYPE_STRING:
+					int length = buffer.getInt();
+					bytes = read(buffer, bytes, length);
+					value = decode(decoder, bytes, length, fileName, i);
+					if(index>=0 && !"int".equals(typeName) && !"double".equals(typeName) && !"bool".equals(typeName)
+							&& into.trySet(index, value, 0, value.length())) {
+						into.countFileValue();
+						continue;
+					}
+					break;
+				default:
+					throw new IOException("Invalid value type in binary configuration '" + fileName + "', entry " + (i+1) + ".");
+				}
+				// the option is not known or has a different type; set the value as if it was read from a text file
+				if(names[i]==null) {
+					names[i] = getName(buffer, namePositions[i], fileName, i, decoder);
+				}
+				into.set(names[i], value, fileName, i+1);
+			}
+		} catch(BufferUnderflowException | IllegalArgumentException e) {
+			throw new IOException("The binary configuration '" + fileName + "' is damaged.", e);
+		}
+	}
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+	/** @brief Returns whether the payload consists of exactly the given number of entries
+	 * @param buffer The payload (its position is changed)
+	 * @param entryNumber The number of entries
+	 * @param fileName The name of the file (for error reports)
+	 * @return Whether the payload holds the given number of entries
+	 */
+	private static boolean hasEntries(ByteBuffer buffer, int entryNumber, String fileName) {
+		try {
+			// Buffer.position(int) is used for running on Java 8
+			Buffer b = buffer;
+			for(int i=0; i<entryNumber; ++i) {
+				b.position(buffer.position() + 2 + (buffer.getShort() & 0xffff));
+			}
+			for(int i=0; i<entryNumber; ++i) {
+				skip(buffer, buffer.get(), fileName);
+			}
+		} catch(BufferUnderflowException | IllegalArgumentException | IOException e) {
+			// the entries end early or a value's type is not known
+			return false;
+		}
+		return !buffer.hasRemaining();
+	}
+
+
+	/** @brief Reads the given number of bytes
+	 * @param buffer The buffer to read from
+	 * @param bytes The array to read into
+	 * @param length The number of bytes to read
+	 * @return The array holding the bytes (bytes if it is large enough)
+	 */
+	private static byte[] read(ByteBuffer buffer, byte[] bytes, int length) {
+		if(length<0) {
+			throw new IllegalArgumentException("Negative length");
+		}
+		if(length>bytes.length) {
+			bytes = new byte[Math.max(length, bytes.length*2)];
+		}
+		buffer.get(bytes, 0, length);
+		return bytes;
+	}
+
+
+	/** @brief Skips a value
+	 * @param buffer The buffer to read from
+	 * @param type The type of the value
+	 * @param fileName The name of the file (for error reports)
+	 * @throws IOException If the type is not known
+	 */
+	private static void skip(ByteBuffer buffer, byte type, String fileName) throws IOException {
+		int length;
+		switch(type) {
+		case OptionsColumns.TYPE_INT:
+			length = 4;
+			break;
+		case OptionsColumns.TYPE_DOUBLE:
+			length = 8;
+			break;
+		case OptionsColumns.TYPE_BOOL:
+			length = 1;
+			break;
+		case OptionsColumns.TYPE_STRING:
+			length = buffer.getInt();
+			break;
+		default:
+			throw new IOException("Invalid value type in binary configuration '" + fileName + "'.");
+		}
+		// Buffer.position(int) is used for running on Java 8
+		Buffer b = buffer;
+		b.position(buffer.position()+length);
+	}
+
+
+	/** @brief Returns whether the given bytes are plain ASCII
+	 * @param bytes The bytes
+	 * @param length The number of bytes to check
+	 * @return Whether the bytes are plain ASCII
+	 */
+	private static boolean isASCII(byte[] bytes, int length) {
+		for(int i=0; i<length; ++i) {
+			if(bytes[i]<0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/** @brief Decodes UTF-8 bytes
+	 * @param decoder The decoder to use
+	 * @param bytes The bytes
+	 * @param length The number of bytes to decode
+	 * @param fileName The name of the file (for error reports)
+	 * @param entry The index of the entry (for error reports)
+	 * @return The decoded string
+	 * @throws IOException If the bytes are not valid UTF-8
+	 */
+	private static String decode(CharsetDecoder decoder, byte[] bytes, int length, String fileName, int entry) throws IOException {
+		if(isASCII(bytes, length)) {
+			return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+		}
+		try {
+			CharBuffer chars = decoder.decode(ByteBuffer.wrap(bytes, 0, length));
+			return chars.toString();
+		} catch(CharacterCodingException e) {
+			throw new IOException("Invalid UTF-8 sequence in binary configuration '" + fileName + "', entry " + (entry+1) + ".", e);
+		}
+	}
+
+
+	/** @brief Decodes a name of the dictionary
+	 * @param buffer The file's contents
+	 * @param pos The position of the name (its length) within the buffer
+	 * @param fileName The name of the file (for error reports)
+	 * @param entry The index of the entry (for error reports)
+	 * @param decoder The decoder to use
+	 * @return The name
+	 * @throws IOException If the name is not valid UTF-8
+	 */
+	private static String getName(ByteBuffer buffer, int pos, String fileName, int entry, CharsetDecoder decoder) throws IOException {
+		int length = buffer.getShort(pos) & 0xffff;
+		byte[] bytes = new byte[length];
+		for(int i=0; i<length; ++i) {
+			bytes[i] = buffer.get(pos+2+i);
+		}
+		return decode(decoder, bytes, length, fileName, entry);
+	}
+    /// @}
+
+}
@@ -1,9 +1,7 @@
 package de.dks.utils.options;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.Iterator;
 import java.util.Vector;
 
@@ -16,77 +14,105 @@ import java.util.Vector;
 public class OptionsFileIO_CSV extends OptionsTypedFileIO {
 
 	/** @brief Loads parameters from a configuration file
+	 * 
+	 * The file is read as UTF-8 using an OptionsCSVReader; values that
+	 * contain a ';' may be quoted using '"'.
 	 * @param into The options container to fill
 	 * @param configFileName The name of the option to retrieve the file name from
 	 * @return Whether options could be loaded
-	 * @throws IOException If the file cannot be read 
+	 * @throws IOException If the file cannot be read or is malformed
 	 */
 	@Override
 	protected boolean _loadConfiguration(OptionsCont into, String configFileName) throws IOException {
-        BufferedReader br = new BufferedReader(new FileReader(configFileName));
-		String line = null;
-		do {
-			line = br.readLine();
-			if(line==null) {
-				continue;
+		try(OptionsCSVReader reader = new OptionsCSVReader(configFileName)) {
+			while(reader.next()) {
+				// options that are already set are skipped without decoding the entry
+				CharSequence nameSequence = reader.getNameSequence();
+				int index = into.getIndex(nameSequence, 0, nameSequence.length());
+				if(index>=0 && !into.canBeSet(index)) {
+					continue;
+				}
+				String name = reader.getName();
+				if(into.canBeSet(name)) {
+					into.set(name, reader.getValue(), configFileName, reader.getLine());
+				}
 			}
-			line = line.trim();
-			if(line.length()==0) {
-				continue;
-			}
-			String[] r = line.split(";");
-			if(r.length!=2) {
-				br.close();
-				throw new IOException("Missing value for key '" + r[0] + "'.");
-			}
-			if(into.canBeSet(r[0])) {
-				into.set(r[0], r[1]);
-			}
-	    } while(line!=null);
-		br.close();
-        return true;
+		}
+		return true;
 	}
 
 	
-    /** @brief Writes the set options as an XML configuration file
+    /** @brief Writes the set options as a CSV configuration
      * 
-     * @param configName The name of the file to write the configuration to
+     * Names and values that contain ';', '"', or line breaks, that begin
+     * or end with a white space, or that are empty are quoted.
+     * @param writer The writer to write the configuration to
      * @param options The options container that includes the (set/parsed) options to write 
-     * @throws IOException If the file cannot be written
+     * @return The number of written options
+     * @throws IOException If the writer cannot be written
      */
 	@Override
-    public boolean writeConfiguration(String configName, OptionsCont options) throws IOException {
-    	Vector<String> optionNames = options.getSortedOptionNames();
-    	FileWriter fileWriter = new FileWriter(configName);
-    	for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
-    		String oName = i.next();
-    		if(options.isSet(oName) && !options.isDefault(oName)) {
-    			fileWriter.append(oName+";"+options.getValueAsString(oName)+"\n");
-    		}
-    	}
-    	fileWriter.close();
-    	return true;
-    }
+	protected int _writeConfiguration(Writer writer, OptionsCont options) throws IOException {
+		int written = 0;
+		Vector<String> optionNames = options.getSortedOptionNames();
+		for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
+			String oName = i.next();
+			if(options.isSet(oName) && !options.isDefault(oName)) {
+				writeField(writer, oName);
+				writer.write(';');
+				writeField(writer, options.getValueAsString(oName));
+				writer.write('\n');
+				++written;
+			}
+		}
+		return written;
+	}
 
     
-    /** @brief Writes the a template for a configuration file
+    /** @brief Writes a template for a CSV configuration
      * 
-     * @param configName The name of the file to write the template to
+     * @param writer The writer to write the template to
      * @param options The options container to write a template for 
-     * @throws IOException If the file cannot be written
+     * @return The number of written options
+     * @throws IOException If the writer cannot be written
      */
 	@Override
-    public boolean writeTemplate(String configName, OptionsCont options) throws IOException {
-    	Vector<String> optionNames = options.getSortedOptionNames();
-    	FileWriter fileWriter = new FileWriter(configName);
-    	for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
-    		String oName = i.next();
-   			fileWriter.append(oName+";\n");
-    	}
-    	fileWriter.close();
-    	return true;
-    }
-
-    
+	protected int _writeTemplate(Writer writer, OptionsCont options) throws IOException {
+		Vector<String> optionNames = options.getSortedOptionNames();
+		for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
+			writeField(writer, i.next());
+			writer.write(";\n");
+		}
+		return optionNames.size();
+	}
+	
 	
+	/** @brief Writes a field, quoting it if needed
+	 * @param writer The writer to write the field to
+	 * @param field The field to write
+	 * @throws IOException If the writer cannot be written
+	 */
+	private static void writeField(Writer writer, String field) throws IOException {
+		int length = field.length();
+		boolean quote = length==0 || field.charAt(0)<=' ' || field.charAt(length-1)<=' ';
+		for(int i=0; i<length&&!quote; ++i) {
+			char c = field.charAt(i);
+			quote = c==';' || c=='"' || c=='\n' || c=='\r';
+		}
+		if(!quote) {
+			writer.write(field);
+			return;
+		}
+		writer.write('"');
+		int begin = 0;
+		int end;
+		while((end=field.indexOf('"', begin))>=0) {
+			writer.write(field, begin, end-begin+1);
+			writer.write('"');
+			begin = end + 1;
+		}
+		writer.write(field, begin, length-begin);
+		writer.write('"');
+	}
+
 }
@@ -0,0 +1,240 @@
+package de.dks.utils.options;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.Vector;
+
+/**
+ * @class OptionsFileIO_JSON
+ * @brief Loads/saves options from/to JSON files
+ *
+ * A JSON configuration is a single object whose members are the options,
+ * e.g. {"name": "World", "repeat": 3, "verbose": true}. Numbers and
+ * booleans are set to int, double, and bool options without being
+ * converted from a string; other options get the number's text. Strings
+ * are set as given. Arrays are allowed for list options only, each
+ * element is appended. Members that are null are ignored.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class OptionsFileIO_JSON extends OptionsTypedFileIO {
+
+	/** @brief Loads parameters from a configuration file
+	 *
+	 * The file is read as UTF-8 using an OptionsJSONReader, one member
+	 * after the other, so that memory needs do not grow with the file.
+	 * Members of options that are already set are skipped without
+	 * decoding their values.
+	 * @param into The options container to fill
+	 * @param configFileName The name of the file to read
+	 * @return Whether options could be loaded
+	 * @throws IOException If the file cannot be read or is malformed
+	 */
+	@Override
+	protected boolean _loadConfiguration(OptionsCont into, String configFileName) throws IOException {
+		try(OptionsJSONReader reader = new OptionsJSONReader(configFileName)) {
+			while(reader.nextMember()) {
+				CharSequence name = reader.getName();
+				int index = into.getIndex(name, 0, name.length());
+				if(index<0) {
+					// reports the unknown option
+					into.canBeSet(name.toString());
+				}
+				if(!into.canBeSet(index)) {
+					reader.skipValue();
+					continue;
+				}
+				int kind = reader.nextValue();
+				switch(kind) {
+				case OptionsJSONReader.NULL:
+					break;
+				case OptionsJSONReader.BEGIN_OBJECT:
+					throw reader.error("Objects are not supported as values (option '" + name + "')");
+				case OptionsJSONReader.BEGIN_ARRAY:
+					if(!into.getTypeName(index).endsWith(" list")) {
+						throw reader.error("Arrays are only supported for list options (option '" + name + "')");
+					}
+					String listName = name.toString();
+					while((kind=reader.nextElement())!=OptionsJSONReader.END_ARRAY) {
+						if(kind==OptionsJSONReader.BEGIN_ARRAY || kind==OptionsJSONReader.BEGIN_OBJECT) {
+							throw reader.error("Nested values are not supported (option '" + listName + "')");
+						}
+						if(kind!=OptionsJSONReader.NULL) {
+							into.set(listName, getText(reader, kind), configFileName, reader.getLine());
+						}
+					}
+					break;
+				default:
+					if(setTyped(into, index, kind, reader.getText())) {
+						into.checkDeprecation(name, 0, name.length());
+						into.countFileValue();
+					} else {
+						into.set(name.toString(), getText(reader, kind), configFileName, reader.getLine());
+					}
+					break;
+				}
+			}
+		}
+		return true;
+	}
+
+
+    /** @brief Writes the set options as a JSON configuration
+     *
+     * int, double (if finite), and bool values are written as numbers and
+     * booleans, all other values as strings.
+     * @param writer The writer to write the configuration to
+     * @param options The options container that includes the (set/parsed) options to write
+     * @return The number of written options
+     * @throws IOException If the writer cannot be written
+     */
+	@Override
+	protected int _writeConfiguration(Writer writer, OptionsCont options) throws IOException {
+		int written = 0;
+		Vector<String> optionNames = options.getSortedOptionNames();
+		writer.write('{');
+		for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
+			String oName = i.next();
+			if(!options.isSet(oName) || options.isDefault(oName)) {
+				continue;
+			}
+			writer.write(written==0 ? "\n   " : ",\n   ");
+			writeString(writer, oName);
+			writer.write(": ");
+			String typeName = options.getTypeName(oName);
+			if("int".equals(typeName) || "bool".equals(typeName)
+					|| ("double".equals(typeName) && !Double.isInfinite(options.getDouble(oName)) && !Double.isNaN(options.getDouble(oName)))) {
+				writer.write(options.getValueAsString(oName));
+			} else {
+				writeString(writer, options.getValueAsString(oName));
+			}
+			++written;
+		}
+		writer.write(written==0 ? "}\n" : "\n}\n");
+		return written;
+	}
+
+
+    /** @brief Writes a template for a JSON configuration
+     *
+     * All options are written with the value null.
+     * @param writer The writer to write the template to
+     * @param options The options container to write a template for
+     * @return The number of written options
+     * @throws IOException If the writer cannot be written
+     */
+	@Override
+	protected int _writeTemplate(Writer writer, OptionsCont options) throws IOException {
+		Vector<String> optionNames = options.getSortedOptionNames();
+		writer.write('{');
+		for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
+			writer.write("\n   ");
+			writeString(writer, i.next());
+			writer.write(i.hasNext() ? ": null," : ": null\n");
+		}
+		writer.write("}\n");
+		return optionNames.size();
+	}
+
+
+	/** @brief Sets a number or a boolean to an option of the same type without converting it from a string
+	 * @param into The options container to fill
+	 * @param index The option's index
+	 * @param kind The kind of the value
+	 * @param text The text of the value (for numbers and strings)
+	 * @return Whether the value was set
+	 */
+	private static boolean setTyped(OptionsCont into, int index, int kind, CharSequence text) {
+		String typeName = into.getTypeName(index);
+		boolean primitive = "int".equals(typeName) || "double".equals(typeName) || "bool".equals(typeName);
+		switch(kind) {
+		case OptionsJSONReader.TRUE:
+		case OptionsJSONReader.FALSE:
+			if("bool".equals(typeName)) {
+				into.setBool(index, kind==OptionsJSONReader.TRUE);
+				return true;
+			}
+			return false;
+		case OptionsJSONReader.NUMBER:
+			if("int".equals(typeName)) {
+				long value = Option_Integer.tryParse(text, 0, text.length());
+				if(value==Option_Integer.INVALID) {
+					return false;
+				}
+				into.setInteger(index, (int) value);
+				return true;
+			}
+			if("double".equals(typeName)) {
+				into.setDouble(index, Option_Double.parse(text, 0, text.length()));
+				return true;
+			}
+			return false;
+		case OptionsJSONReader.STRING:
+			return !primitive && into.trySet(index, text, 0, text.length());
+		default:
+			return false;
+		}
+	}
+
+
+	/** @brief Returns the text of a scalar value
+	 * @param reader The reader that read the value
+	 * @param kind The kind of the value
+	 * @return The value's text
+	 */
+	private static String getText(OptionsJSONReader reader, int kind) {
+		switch(kind) {
+		case OptionsJSONReader.TRUE:
+			return "true";
+		case OptionsJSONReader.FALSE:
+			return "false";
+		default:
+			return reader.getText().toString();
+		}
+	}
+
+
+	/** @brief Writes a string as a JSON string, escaping quotes, backslashes, and control characters
+	 * @param writer The writer to write the string to
+	 * @param s The string to write
+	 * @throws IOException If the writer cannot be written
+	 */
+	private static void writeString(Writer writer, String s) throws IOException {
+		writer.write('"');
+		int length = s.length();
+		int begin = 0;
+		for(int i=0; i<length; ++i) {
+			char c = s.charAt(i);
+			if(c!='"' && c!='\\' && c>=' ') {
+				continue;
+			}
+			writer.write(s, begin, i-begin);
+			switch(c) {
+			case '"':
+				writer.write("\\\"");
+				break;
+			case '\\':
+				writer.write("\\\\");
+				break;
+			case '\n':
+				writer.write("\\n");
+				break;
+			case '\r':
+				writer.write("\\r");
+				break;
+			case '\t':
+				writer.write("\\t");
+				break;
+			default:
+				writer.write(String.format("\\u%04x", (int) c));
+				break;
+			}
+			begin = i + 1;
+		}
+		writer.write(s, begin, length-begin);
+		writer.write('"');
+	}
+
+}
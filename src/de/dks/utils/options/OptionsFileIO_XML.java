@@ -1,16 +1,17 @@
 package de.dks.utils.options;
 
-import java.io.FileWriter;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Vector;
 
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
-
-import org.xml.sax.SAXException;
-import org.xml.sax.XMLReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * @class OptionsFileIO_XML
@@ -19,74 +20,189 @@ import org.xml.sax.XMLReader;
  * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
  */
 public class OptionsFileIO_XML extends OptionsTypedFileIO {
-
+	/// @brief The factory for XML readers, configured once and shared by all loads
+	private static final XMLInputFactory FACTORY = createFactory();
+	
+	
 	/** @brief Loads parameters from a configuration file
+	 * 
+	 * The file is read using a streaming (StAX) reader. The text of each
+	 * element is collected in a buffer that is reused for all elements;
+	 * if it is not empty after trimming, it is set as the value of the
+	 * option named like the element.
 	 * @param into The options container to fill
 	 * @param configFileName The name of the option to retrieve the file name from
 	 * @return Whether options could be loaded
-	 * @throws IOException If the file cannot be read 
+	 * @throws IOException If the file cannot be read or is not well-formed
 	 */
 	@Override
 	protected boolean _loadConfiguration(OptionsCont into, String configFileName) throws IOException {
-        SAXParserFactory spf = SAXParserFactory.newInstance();
-        spf.setNamespaceAware(true);
-        SAXParser saxParser;
-		try {
-			saxParser = spf.newSAXParser();
-	        XMLReader xmlReader = saxParser.getXMLReader();
-	        xmlReader.setContentHandler(new OptionsSAXHandler(into));
-	        xmlReader.parse(configFileName);
-		} catch (ParserConfigurationException | SAXException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+		try(InputStream is = new FileInputStream(configFileName)) {
+			XMLStreamReader reader = FACTORY.createXMLStreamReader(configFileName, is);
+			try {
+				load(into, reader, configFileName);
+			} finally {
+				reader.close();
+			}
+		} catch(XMLStreamException e) {
+			throw new IOException("Could not read '" + configFileName + "': " + e.getMessage(), e);
 		}
-        return true;
+		return true;
 	}
-
 	
-    /** @brief Writes the set options as an XML configuration file
+	
+    /** @brief Writes the set options as an XML configuration
      * 
-     * @param configName The name of the file to write the configuration to
+     * The characters '&', '<', and '>' within values are escaped.
+     * @param writer The writer to write the configuration to
      * @param options The options container that includes the (set/parsed) options to write 
-     * @throws IOException If the file cannot be written
+     * @return The number of written options
+     * @throws IOException If the writer cannot be written
      */
 	@Override
-    public boolean writeConfiguration(String configName, OptionsCont options) throws IOException {
-    	Vector<String> optionNames = options.getSortedOptionNames();
-    	FileWriter fileWriter = new FileWriter(configName);
-    	fileWriter.append("<configuration>\n");
-    	for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
-    		String oName = i.next();
-    		if(options.isSet(oName) && !options.isDefault(oName)) {
-    			fileWriter.append("   <"+oName+">"+options.getValueAsString(oName)+"</"+oName+">\n");
-    		}
-    	}
-    	fileWriter.append("</configuration>\n");
-    	fileWriter.close();
-    	return true;
-    }
+	protected int _writeConfiguration(Writer writer, OptionsCont options) throws IOException {
+		int written = 0;
+		Vector<String> optionNames = options.getSortedOptionNames();
+		writer.write("<configuration>\n");
+		for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
+			String oName = i.next();
+			if(options.isSet(oName) && !options.isDefault(oName)) {
+				writer.write("   <");
+				writer.write(oName);
+				writer.write('>');
+				writeEscaped(writer, options.getValueAsString(oName));
+				writer.write("</");
+				writer.write(oName);
+				writer.write(">\n");
+				++written;
+			}
+		}
+		writer.write("</configuration>\n");
+		return written;
+	}
 
     
-    /** @brief Writes the a template for a configuration file
+    /** @brief Writes a template for an XML configuration
      * 
-     * @param configName The name of the file to write the template to
+     * @param writer The writer to write the template to
      * @param options The options container to write a template for 
-     * @throws IOException If the file cannot be written
+     * @return The number of written options
+     * @throws IOException If the writer cannot be written
      */
 	@Override
-    public boolean writeTemplate(String configName, OptionsCont options) throws IOException {
-    	Vector<String> optionNames = options.getSortedOptionNames();
-    	FileWriter fileWriter = new FileWriter(configName);
-    	fileWriter.append("<configuration>\n");
-    	for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
-    		String oName = i.next();
-   			fileWriter.append("   <"+oName+"></"+oName+">\n");
-    	}
-    	fileWriter.append("</configuration>\n");
-    	fileWriter.close();
-    	return true;
-    }
-
-    
+	protected int _writeTemplate(Writer writer, OptionsCont options) throws IOException {
+		Vector<String> optionNames = options.getSortedOptionNames();
+		writer.write("<configuration>\n");
+		for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
+			String oName = i.next();
+			writer.write("   <");
+			writer.write(oName);
+			writer.write("></");
+			writer.write(oName);
+			writer.write(">\n");
+		}
+		writer.write("</configuration>\n");
+		return optionNames.size();
+	}
+	
+	
+	/** @brief Writes a text, escaping '&', '<', and '>'
+	 * @param writer The writer to write the text to
+	 * @param text The text to write
+	 * @throws IOException If the writer cannot be written
+	 */
+	private static void writeEscaped(Writer writer, String text) throws IOException {
+		int length = text.length();
+		int begin = 0;
+		for(int i=0; i<length; ++i) {
+			String entity;
+			switch(text.charAt(i)) {
+			case '&':
+				entity = "&amp;";
+				break;
+			case '<':
+				entity = "&lt;";
+				break;
+			case '>':
+				entity = "&gt;";
+				break;
+			default:
+				continue;
+			}
+			writer.write(text, begin, i-begin);
+			writer.write(entity);
+			begin = i + 1;
+		}
+		writer.write(text, begin, length-begin);
+	}
+	
+	
+	/** @brief Sets the options defined by the elements of the read document
+	 * @param into The options container to fill
+	 * @param reader The reader to read the document from
+	 * @param configFileName The name of the read file (for error reports)
+	 * @throws XMLStreamException If the document is not well-formed
+	 * @throws IOException If the reading thread was interrupted
+	 */
+	private static void load(OptionsCont into, XMLStreamReader reader, String configFileName) throws XMLStreamException, IOException {
+		char[] text = new char[256];
+		int length = 0;
+		int line = -1;
+		while(reader.hasNext()) {
+			switch(reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				OptionsTypedFileIO.checkInterrupted(configFileName);
+				length = 0;
+				line = reader.getLocation().getLineNumber();
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+				// white spaces between elements are skipped without copying them
+				if(length==0 && reader.isWhiteSpace()) {
+					break;
+				}
+				int add = reader.getTextLength();
+				if(length+add>text.length) {
+					text = Arrays.copyOf(text, Math.max(text.length*2, length+add));
+				}
+				System.arraycopy(reader.getTextCharacters(), reader.getTextStart(), text, length, add);
+				length += add;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				int begin = 0;
+				while(begin<length && text[begin]<=' ') {
+					++begin;
+				}
+				while(length>begin && text[length-1]<=' ') {
+					--length;
+				}
+				if(length>begin) {
+					String name = reader.getLocalName();
+					if(into.canBeSet(name)) {
+						into.set(name, new String(text, begin, length-begin), configFileName, line);
+					}
+				}
+				length = 0;
+				break;
+			default:
+				break;
+			}
+		}
+	}
+	
+	
+	/** @brief Builds the factory for XML readers
+	 * 
+	 * External entities are not resolved, so that reading a configuration
+	 * cannot access further files or the network.
+	 * @return The configured factory
+	 */
+	private static XMLInputFactory createFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
+	}
 	
 }
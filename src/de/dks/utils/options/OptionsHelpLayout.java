@@ -0,0 +1,245 @@
+package de.dks.utils.options;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Vector;
+
+/**
+ * @class OptionsHelpLayout
+ * @brief The rendered help screen of an options container.
+ *
+ * The layout is computed in one pass: the synonyms of each option are
+ * formatted once, the column the descriptions start at is determined
+ * from the widest entry, and the text is built in a single buffer.
+ *
+ * Descriptions are wrapped at spaces so that the lines do not exceed the
+ * maximum width; continued lines start at the descriptions' column. A
+ * word that is longer than the available width is broken. If the
+ * options' names leave less than MIN_DESCRIPTION_WIDTH characters for
+ * the descriptions, the descriptions are not wrapped.
+ *
+ * A container keeps the layout it has rendered last, together with the
+ * parameters and the revision of the container's definitions, so that
+ * it is reused until the definitions or the parameters change.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+final class OptionsHelpLayout {
+    /// @brief The minimum width of the descriptions' column for wrapping the descriptions
+    static final int MIN_DESCRIPTION_WIDTH = 10;
+
+    /// @brief The maximum width of a line
+    private final int myMaxWidth;
+
+    /// @brief The indent before an option
+    private final int myOptionIndent;
+
+    /// @brief The space between an option's names and its description
+    private final int myDivider;
+
+    /// @brief The indent before a section's name
+    private final int mySectionIndent;
+
+    /// @brief The number of empty lines before a new section
+    private final int mySectionDivider;
+
+    /// @brief The revision of the container's definitions the layout was rendered for
+    private final int myRevision;
+
+    /// @brief The rendered help screen
+    private final String myText;
+
+    /// @brief The number of described options
+    private final int myOptionsNumber;
+
+
+
+    /** @brief Constructor, renders the help screen
+     * @param[in] options The options to describe
+     * @param[in] maxWidth The maximum width of a line
+     * @param[in] optionIndent The indent to use before writing an option
+     * @param[in] divider The space between the option name and the description
+     * @param[in] sectionIndent The indent to use before writing a section name
+     * @param[in] sectionDivider The number of empty lines before a new section starts
+     */
+    private OptionsHelpLayout(OptionsCont options, int maxWidth, int optionIndent, int divider, int sectionIndent, int sectionDivider) {
+        myMaxWidth = maxWidth;
+        myOptionIndent = optionIndent;
+        myDivider = divider;
+        mySectionIndent = sectionIndent;
+        mySectionDivider = sectionDivider;
+        myRevision = options.getDefinitionRevision();
+        Vector<String> optionNames = options.getSortedOptionNames();
+        myOptionsNumber = optionNames.size();
+        // format the names once, computing the needed width
+        String[] formatted = new String[optionNames.size()];
+        int optMaxWidth = 0;
+        int k = 0;
+        for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ++k) {
+            formatted[k] = getHelpFormattedSynonyms(options, i.next());
+            optMaxWidth = Math.max(optMaxWidth, formatted[k].length());
+        }
+        int column = optionIndent + optMaxWidth + divider;
+        int width = maxWidth - column;
+        String newLine = System.lineSeparator();
+        StringBuilder sb = new StringBuilder(optionNames.size()*(maxWidth+newLine.length())+256);
+        String helpHead = options.getHelpHead();
+        if(helpHead!=null) {
+            sb.append(helpHead).append(newLine);
+        }
+        String lastSection = "";
+        k = 0;
+        for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ++k) {
+            String name = i.next();
+            // check whether a new section starts
+            String optSection = options.getSection(name);
+            if(optSection!=null && !"".equals(optSection) && !lastSection.equals(optSection)) {
+                if(!"".equals(lastSection)) {
+                    for(int j=0; j<sectionDivider; ++j) {
+                        sb.append(newLine);
+                    }
+                }
+                lastSection = optSection;
+                pad(sb, sectionIndent);
+                sb.append(lastSection).append(newLine);
+            }
+            // write the option
+            pad(sb, optionIndent);
+            sb.append(formatted[k]);
+            String desc = options.getDescription(name);
+            if(desc!=null && !desc.isEmpty()) {
+                pad(sb, column-optionIndent-formatted[k].length());
+                if(width<MIN_DESCRIPTION_WIDTH) {
+                    sb.append(desc);
+                } else {
+                    appendWrapped(sb, desc, column, width, newLine);
+                }
+            }
+            sb.append(newLine);
+        }
+        String helpTail = options.getHelpTail();
+        if(helpTail!=null) {
+            sb.append(helpTail).append(newLine);
+        }
+        myText = sb.toString();
+    }
+
+
+    /** @brief Returns the help screen of the given container, rendering it only if the cached one is outdated
+     * @param[in] options The options to describe
+     * @param[in] maxWidth The maximum width of a line
+     * @param[in] optionIndent The indent to use before writing an option
+     * @param[in] divider The space between the option name and the description
+     * @param[in] sectionIndent The indent to use before writing a section name
+     * @param[in] sectionDivider The number of empty lines before a new section starts
+     * @return The layout
+     */
+    static OptionsHelpLayout get(OptionsCont options, int maxWidth, int optionIndent, int divider, int sectionIndent, int sectionDivider) {
+        OptionsHelpLayout layout = options.getHelpLayout();
+        if(layout==null || layout.myRevision!=options.getDefinitionRevision()
+                || layout.myMaxWidth!=maxWidth || layout.myOptionIndent!=optionIndent || layout.myDivider!=divider
+                || layout.mySectionIndent!=sectionIndent || layout.mySectionDivider!=sectionDivider) {
+            layout = new OptionsHelpLayout(options, maxWidth, optionIndent, divider, sectionIndent, sectionDivider);
+            options.setHelpLayout(layout);
+        }
+        return layout;
+    }
+
+
+    /** @brief Returns the rendered help screen
+     * @return The help screen
+     */
+    String getText() {
+        return myText;
+    }
+
+
+    /** @brief Returns the number of described options
+     * @return The number of options
+     */
+    int getOptionsNumber() {
+        return myOptionsNumber;
+    }
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Appends a description, wrapping it at spaces
+     * @param[in] sb The buffer to append the description to
+     * @param[in] desc The description
+     * @param[in] column The column continued lines start at
+     * @param[in] width The width available for the description
+     * @param[in] newLine The line separator
+     */
+    private static void appendWrapped(StringBuilder sb, String desc, int column, int width, String newLine) {
+        int length = desc.length();
+        int beg = 0;
+        boolean first = true;
+        while(beg<length) {
+            if(!first) {
+                sb.append(newLine);
+                pad(sb, column);
+            }
+            first = false;
+            int end;
+            if(length-beg<=width) {
+                end = length;
+            } else {
+                end = desc.lastIndexOf(' ', beg+width);
+                if(end<=beg) {
+                    // the word is longer than the available width
+                    end = beg + width;
+                }
+            }
+            sb.append(desc, beg, end);
+            beg = end;
+            while(beg<length && desc.charAt(beg)==' ') {
+                ++beg;
+            }
+        }
+    }
+
+
+    /** @brief Appends the given number of spaces
+     * @param[in] sb The buffer to append the spaces to
+     * @param[in] number The number of spaces
+     */
+    private static void pad(StringBuilder sb, int number) {
+        for(int i=0; i<number; ++i) {
+            sb.append(' ');
+        }
+    }
+
+
+    /** @brief Returns the synomymes of an option as a help-formatted string
+     *
+     * The synomymes are sorted by length.
+     * @param[in] options The options container to get information from
+     * @param[in] optionName The name of option to get the synonyms help string for
+     * @return The options as a help-formatted string
+     */
+    private static String getHelpFormattedSynonyms(OptionsCont options, String optionName) {
+        Vector<String> synonyms = options.getSynonyms(optionName);
+        Collections.sort(synonyms, options.new SortByLengthComparator());
+        StringBuilder sb = new StringBuilder();
+        for(Iterator<String> i=synonyms.iterator(); i.hasNext(); ) {
+            String name2 = i.next();
+            // consider the - / --
+            if(name2.length()==1) {
+                sb.append('-');
+            } else {
+                sb.append("--");
+            }
+            sb.append(name2);
+            if(i.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        return sb.toString();
+    }
+    /// @}
+
+}
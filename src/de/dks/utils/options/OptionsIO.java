@@ -5,10 +5,8 @@ import java.io.PrintStream;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Vector;
-
-import javax.xml.parsers.ParserConfigurationException;
-
-import org.xml.sax.SAXException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * @class OptionsIO
@@ -25,13 +23,10 @@ public class OptionsIO {
      * @param[in] continueOnError Continues even if an error occurs while parsing
      * @param[in] acceptUnknown Unknown options do not throw an exception
      * @return Whether parsing and loading was successful
-     * @todo continueOnError is not used
      * @todo acceptUnknown is not used
-     * @throws ParserConfigurationException Thrown if the XML-parser could not be built
-     * @throws SAXException Thrown on an XML-parsing error
      * @throws IOException Thrown if the configuration file could not be opened
      */
-    public static boolean parseAndLoad(OptionsCont into, String[] args, OptionsTypedFileIO fileIO, String configOptionName, boolean continueOnError, boolean acceptUnknown) throws ParserConfigurationException, SAXException, IOException {
+    public static boolean parseAndLoad(OptionsCont into, String[] args, OptionsTypedFileIO fileIO, String configOptionName, boolean continueOnError, boolean acceptUnknown) throws IOException {
         boolean ok = OptionsParser.parse(into, args, continueOnError);
         if(ok && fileIO!=null && configOptionName!=null && !"".equals(configOptionName) && into.isSet(configOptionName)) {
             ok = fileIO.loadConfiguration(into, configOptionName);
@@ -40,6 +35,42 @@ public class OptionsIO {
     }
     
     
+    /** @brief Parses options from the command line and loads options from a configuration file asynchronously
+     *
+     * The command line is parsed and the configuration is loaded by a task
+     *  run by the given executor, e.g. one that starts a virtual thread per
+     *  task (Java 21+). All errors on the command line are collected; if
+     *  there are any, the configuration is not loaded. The returned future
+     *  completes with the filled container, or exceptionally with an
+     *  OptionsLoadException holding the command line's errors
+     *  (getDiagnostics()) or naming the configuration file that could not
+     *  be read (getFileName()). Cancelling the future interrupts the
+     *  loading, even while a large file is being read.
+     * @param[in] into The options container to fill
+     * @param[in] args The arguments given on the command line
+     * @param[in] fileIO The file reading handler to use (may be null)
+     * @param[in] configOptionName The name of the option to retrieve the configuration's name from (may be null)
+     * @param[in] executor The executor to parse and load with
+     * @return The future that completes when the options are filled
+     */
+    public static <T extends OptionsCont> CompletableFuture<T> parseAndLoadAsync(final T into, final String[] args, final OptionsTypedFileIO fileIO, final String configOptionName, Executor executor) {
+        return OptionsTypedFileIO.submit(() -> {
+            OptionsDiagnostics diagnostics = new OptionsDiagnostics();
+            if(!OptionsParser.parse(into, args, diagnostics)) {
+                String message = diagnostics.getMessage(0);
+                if(diagnostics.size()>1) {
+                    message += " (" + (diagnostics.size()-1) + " further error(s))";
+                }
+                throw new OptionsLoadException(message, null, diagnostics, null);
+            }
+            if(fileIO!=null && configOptionName!=null && !"".equals(configOptionName) && into.isSet(configOptionName)) {
+                fileIO.loadConfigurationOrFail(into, configOptionName);
+            }
+            return into;
+        }, executor);
+    }
+    
+    
     /** @brief Output operator
      * @param[in] os The output container to write
      * @param[in] options The options to print
@@ -48,6 +79,8 @@ public class OptionsIO {
      * @param[in] skipDefault Whether options with default values shall be skipped
      */
     public static void printSetOptions(PrintStream os, OptionsCont options, boolean includeSynonyms, boolean shortestFirst, boolean skipDefault) {
+    	Object event = OptionsEvents.beginWrite();
+    	int written = 0;
     	Vector<String> optionNames = options.getSortedOptionNames();
         for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) { 
             String name = i.next();
@@ -82,7 +115,9 @@ public class OptionsIO {
                 os.print(" (default)");
             }
             os.println();
+            ++written;
         }
+        OptionsEvents.commitWrite(event, "options", null, null, written);
     }
     
 
@@ -90,6 +125,9 @@ public class OptionsIO {
      *
      * First, the help header is printed. Then, the method iterates over the
      *  known options. In the end, the help tail is printed.
+     *
+     * The help screen is rendered once and kept by the options container
+     *  until its definitions or the layout parameters change.
      * @param[in] os The stream to write to
      * @param[in] options The options to print
      * @param[in] maxWidth The maximum width of a line
@@ -99,106 +137,46 @@ public class OptionsIO {
      * @param[in] sectionDivider The number of empty lines before a new section starts 
      */
     public static void printHelp(PrintStream os, OptionsCont options, int maxWidth, int optionIndent, int divider, int sectionIndent, int sectionDivider) {
-    	Vector<String> optionNames = options.getSortedOptionNames();
-    	String helpHead = options.getHelpHead();
-    	String helpTail = options.getHelpTail();
-        // compute needed width
-        int optMaxWidth = 0;
-        for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
-            String name = i.next();
-            String optNames = getHelpFormattedSynonyms(options, name);
-            optMaxWidth = Math.max(optMaxWidth, optNames.length());
-        }
-        // build the indent
-        String optionIndentSting = "", sectionIndentSting = "";
-        for(int i=0; i<optionIndent; ++i) {
-            optionIndentSting += " ";
-        }
-        for(int i=0; i<sectionIndent; ++i) {
-            sectionIndentSting += " ";
-        }
-        // 
-        if(helpHead!=null) {
-            os.println(helpHead);
-        }
-        String lastSection = "";
-        for(Iterator<String> i=optionNames.iterator(); i.hasNext(); ) {
-        	String name = i.next();
-            // check whether a new section starts
-            String optSection = options.getSection(name);
-            if(optSection!=null && !"".contentEquals(optSection) && lastSection!=optSection) {
-            	if(!"".equals(lastSection)) {
-            		for(int k=0; k<sectionDivider; ++k) {
-            			System.out.println("");
-            		}
-            	}
-                lastSection = optSection;
-                os.println(sectionIndentSting+lastSection);
-            }
-            // write the option
-            String optNames = getHelpFormattedSynonyms(options, name);
-            // write the divider
-            os.print(optionIndentSting+optNames);
-            int owidth = optNames.length();
-            // write the description
-            int beg = 0;
-            String desc = options.getDescription(name);
-            int offset = divider+optMaxWidth-owidth;
-            int startCol = divider+optMaxWidth+optionIndent;
-            while(desc!=null&&beg<desc.length()) {
-                for(int j=0; j<offset; ++j) {
-                    os.print(" ");
-                }
-                if(maxWidth-startCol>=desc.length()-beg) {
-                    os.print(desc.substring(beg));
-                    beg = desc.length();
-                } else {
-                    int end = desc.lastIndexOf(' ', beg+maxWidth-startCol);
-                    if(end>=0) {
-                    	os.println(desc.substring(beg, end));
-                    	beg = end;
-                    } else {
-                    	throw new RuntimeException("Could not render the description for option '" + name + "'. The description probably contains too long words");
-                    }
-                }
-                startCol = divider+optMaxWidth+optionIndent+1; // could "running description indent"
-                offset = startCol;
-            }
-            os.println();
-        }
-        if(helpTail!=null) {
-            os.println(helpTail);
-        }
+    	Object event = OptionsEvents.beginWrite();
+    	OptionsHelpLayout layout = OptionsHelpLayout.get(options, maxWidth, optionIndent, divider, sectionIndent, sectionDivider);
+    	os.print(layout.getText());
+        OptionsEvents.commitWrite(event, "help", null, null, layout.getOptionsNumber());
     }
 
-    
-
 
-    /** @brief Returns the synomymes of an option as a help-formatted string 
+    /** @brief Prints the help screen to the given destination
      *
-     * The synomymes are sorted by length.
-     * @param[in] options The options container to get information from
-     * @param[in] optionName The name of option to get the synonyms help string for
-     * @return The options as a help-formatted string
+     * The help screen is written using a single call to append.
+     * @param[in] out The destination to write to
+     * @param[in] options The options to print
+     * @param[in] maxWidth The maximum width of a line
+     * @param[in] optionIndent The indent to use before writing an option
+     * @param[in] divider The space between the option name and the description
+     * @param[in] sectionIndent The indent to use before writing a section name
+     * @param[in] sectionDivider The number of empty lines before a new section starts 
+     * @throws IOException If the help screen cannot be written
+     * @see printHelp(PrintStream, OptionsCont, int, int, int, int, int)
      */
-    private static String getHelpFormattedSynonyms(OptionsCont options, String optionName) {
-        Vector<String> synonyms = options.getSynonyms(optionName);
-        Collections.sort(synonyms, options.new SortByLengthComparator());
-        StringBuffer sb = new StringBuffer();
-        for(Iterator<String> i=synonyms.iterator(); i.hasNext(); ) {
-            String name2 = i.next();
-            // consider the - / --
-            if(name2.length()==1) {
-                sb.append('-');
-            } else {
-                sb.append("--");
-            }
-            sb.append(name2);
-            if(i.hasNext()) {
-                sb.append(", ");
-            }
-        }
-        return sb.toString();
+    public static void printHelp(Appendable out, OptionsCont options, int maxWidth, int optionIndent, int divider, int sectionIndent, int sectionDivider) throws IOException {
+    	Object event = OptionsEvents.beginWrite();
+    	OptionsHelpLayout layout = OptionsHelpLayout.get(options, maxWidth, optionIndent, divider, sectionIndent, sectionDivider);
+    	out.append(layout.getText());
+        OptionsEvents.commitWrite(event, "help", null, null, layout.getOptionsNumber());
+    }
+
+
+    /** @brief Returns the help screen
+     * @param[in] options The options to describe
+     * @param[in] maxWidth The maximum width of a line
+     * @param[in] optionIndent The indent to use before writing an option
+     * @param[in] divider The space between the option name and the description
+     * @param[in] sectionIndent The indent to use before writing a section name
+     * @param[in] sectionDivider The number of empty lines before a new section starts 
+     * @return The help screen
+     * @see printHelp(PrintStream, OptionsCont, int, int, int, int, int)
+     */
+    public static String getHelp(OptionsCont options, int maxWidth, int optionIndent, int divider, int sectionIndent, int sectionDivider) {
+    	return OptionsHelpLayout.get(options, maxWidth, optionIndent, divider, sectionIndent, sectionDivider).getText();
     }
     
 }
@@ -0,0 +1,518 @@
+package de.dks.utils.options;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @class OptionsJSONReader
+ * @brief Reads the members of a JSON configuration file.
+ *
+ * The file is read as UTF-8 (a leading byte order mark is skipped) and
+ * parsed while being read, so that only the current member's name and
+ * value are kept in memory. The document must be a single object; its
+ * members are retrieved one after the other using nextMember(), their
+ * values using nextValue() or, for arrays, nextElement(). Values may
+ * be skipped without being decoded using skipValue().
+ *
+ * Errors are reported as IOException including the file name and the line.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+final class OptionsJSONReader implements Closeable {
+    /// @brief Value kinds
+    /// @{
+    static final int STRING = 0;
+    static final int NUMBER = 1;
+    static final int TRUE = 2;
+    static final int FALSE = 3;
+    static final int NULL = 4;
+    static final int BEGIN_ARRAY = 5;
+    static final int END_ARRAY = 6;
+    static final int BEGIN_OBJECT = 7;
+    /// @}
+
+    /// @brief The source to read from
+    private Reader mySource;
+
+    /// @brief The name of the file (for error reports)
+    private String myFileName;
+
+    /// @brief The buffer of read characters
+    private char[] myBuffer = new char[8192];
+
+    /// @brief The position of the next character within the buffer
+    private int myBufferPos = 0;
+
+    /// @brief The number of valid characters within the buffer
+    private int myBufferLength = 0;
+
+    /// @brief The line that is currently read
+    private int myLine = 1;
+
+    /// @brief The line the current member starts at
+    private int myMemberLine = 0;
+
+    /// @brief The current member's name
+    private StringBuilder myName = new StringBuilder();
+
+    /// @brief The current value's text (strings and numbers)
+    private StringBuilder myText = new StringBuilder();
+
+    /// @brief The number of members read so far, -1 if the object was not yet opened
+    private int myMemberNumber = -1;
+
+    /// @brief The number of elements of the current array read so far
+    private int myElementNumber = 0;
+
+
+
+    /** @brief Constructor
+     *
+     * Opens the file.
+     * @param[in] fileName The name of the file to read
+     * @throws IOException If the file cannot be opened
+     */
+    OptionsJSONReader(String fileName) throws IOException {
+        mySource = new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT));
+        myFileName = fileName;
+        if(read()!='\uFEFF') {
+            unread();
+        }
+    }
+
+
+    /** @brief Reads the name of the next member
+     *
+     * The member's value has to be read or skipped before reading the
+     *  next member.
+     * @return Whether a member was read (false if the object is closed)
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    boolean nextMember() throws IOException {
+        int c = readNonWhite();
+        if(myMemberNumber<0) {
+            if(c!='{') {
+                throw error("Expected '{'");
+            }
+            myMemberNumber = 0;
+            c = readNonWhite();
+            if(c=='}') {
+                return finish();
+            }
+        } else {
+            if(c=='}') {
+                return finish();
+            }
+            if(c!=',') {
+                throw error("Expected ',' or '}'");
+            }
+            c = readNonWhite();
+        }
+        if(c!='"') {
+            throw error("Expected a member name");
+        }
+        myMemberLine = myLine;
+        readString(myName);
+        if(readNonWhite()!=':') {
+            throw error("Expected ':'");
+        }
+        ++myMemberNumber;
+        myElementNumber = 0;
+        return true;
+    }
+
+
+    /** @brief Reads the next value
+     *
+     * The text of strings and numbers is retrieved using getText().
+     * @return The kind of the read value
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    int nextValue() throws IOException {
+        int c = readNonWhite();
+        switch(c) {
+        case '"':
+            readString(myText);
+            return STRING;
+        case 't':
+            expect("rue");
+            return TRUE;
+        case 'f':
+            expect("alse");
+            return FALSE;
+        case 'n':
+            expect("ull");
+            return NULL;
+        case '[':
+            return BEGIN_ARRAY;
+        case '{':
+            return BEGIN_OBJECT;
+        default:
+            if(c=='-' || (c>='0' && c<='9')) {
+                readNumber(c);
+                return NUMBER;
+            }
+            throw error(c<0 ? "Unexpected end of file" : "Unexpected character '" + (char) c + "'");
+        }
+    }
+
+
+    /** @brief Reads the next element of the current array
+     * @return The kind of the read value, END_ARRAY if the array is closed
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    int nextElement() throws IOException {
+        int c = readNonWhite();
+        if(c==']') {
+            return END_ARRAY;
+        }
+        if(myElementNumber>0) {
+            if(c!=',') {
+                throw error("Expected ',' or ']'");
+            }
+        } else {
+            unread();
+        }
+        ++myElementNumber;
+        return nextValue();
+    }
+
+
+    /** @brief Skips the next value, including nested arrays and objects
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            int c = readNonWhite();
+            switch(c) {
+            case '"':
+                skipString();
+                break;
+            case '[':
+            case '{':
+                ++depth;
+                break;
+            case ']':
+            case '}':
+                if(--depth<0) {
+                    throw error("Unexpected character '" + (char) c + "'");
+                }
+                break;
+            case ',':
+            case ':':
+                if(depth==0) {
+                    throw error("Unexpected character '" + (char) c + "'");
+                }
+                break;
+            default:
+                if(c<0) {
+                    throw error("Unexpected end of file");
+                }
+                // a literal or a number, up to the next delimiter
+                while(c>=0 && c!=',' && c!=']' && c!='}' && c!=' ' && c!='\t' && c!='\n' && c!='\r') {
+                    c = read();
+                }
+                unread();
+                break;
+            }
+        } while(depth>0);
+    }
+
+
+    /** @brief Returns the current member's name
+     * @return The name of the member (valid until the next member is read)
+     */
+    CharSequence getName() {
+        return myName;
+    }
+
+
+    /** @brief Returns the text of the current string or number
+     * @return The value's text (valid until the next value is read)
+     */
+    CharSequence getText() {
+        return myText;
+    }
+
+
+    /** @brief Returns the line the current member starts at
+     * @return The current member's line
+     */
+    int getLine() {
+        return myMemberLine;
+    }
+
+
+    /** @brief Builds an exception reporting an error at the current line
+     * @param[in] message The message (without position)
+     * @return The exception to throw
+     */
+    IOException error(String message) {
+        return new IOException(message + " in " + myFileName + ", line " + myLine + ".");
+    }
+
+
+    /** @brief Closes the file
+     * @throws IOException If the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        mySource.close();
+    }
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Checks that nothing but white spaces follow the closed object
+     * @return false
+     * @throws IOException If further characters follow
+     */
+    private boolean finish() throws IOException {
+        if(readNonWhite()>=0) {
+            throw error("Unexpected content after the closing '}'");
+        }
+        return false;
+    }
+
+
+    /** @brief Reads a string (after the opening quote), resolving escapes
+     * @param[in] into The builder to store the string in (cleared before)
+     * @throws IOException If the file cannot be read or the string is malformed
+     */
+    private void readString(StringBuilder into) throws IOException {
+        into.setLength(0);
+        while(true) {
+            // copy the characters up to the next quote or escape at once
+            int pos = myBufferPos;
+            while(pos<myBufferLength) {
+                char c = myBuffer[pos];
+                if(c=='"' || c=='\\' || c<' ') {
+                    break;
+                }
+                ++pos;
+            }
+            into.append(myBuffer, myBufferPos, pos-myBufferPos);
+            myBufferPos = pos;
+            if(pos>=myBufferLength) {
+                if(!fill()) {
+                    throw error("Missing closing quote");
+                }
+                continue;
+            }
+            int c = read();
+            if(c=='"') {
+                return;
+            }
+            if(c!='\\') {
+                throw error("Unescaped control character in string");
+            }
+            c = read();
+            switch(c) {
+            case '"':
+            case '\\':
+            case '/':
+                into.append((char) c);
+                break;
+            case 'b':
+                into.append('\b');
+                break;
+            case 'f':
+                into.append('\f');
+                break;
+            case 'n':
+                into.append('\n');
+                break;
+            case 'r':
+                into.append('\r');
+                break;
+            case 't':
+                into.append('\t');
+                break;
+            case 'u':
+                int value = 0;
+                for(int i=0; i<4; ++i) {
+                    int digit = Character.digit(read(), 16);
+                    if(digit<0) {
+                        throw error("Invalid unicode escape");
+                    }
+                    value = value * 16 + digit;
+                }
+                into.append((char) value);
+                break;
+            default:
+                throw error("Invalid escape sequence");
+            }
+        }
+    }
+
+
+    /** @brief Skips a string (after the opening quote)
+     * @throws IOException If the file cannot be read or the string is not closed
+     */
+    private void skipString() throws IOException {
+        int c;
+        while((c=read())!='"') {
+            if(c<0) {
+                throw error("Missing closing quote");
+            }
+            if(c=='\\') {
+                read();
+            }
+        }
+    }
+
+
+    /** @brief Reads a number into myText
+     * @param[in] c The number's first character
+     * @throws IOException If the file cannot be read or the number is malformed
+     */
+    private void readNumber(int c) throws IOException {
+        myText.setLength(0);
+        while((c>='0' && c<='9') || c=='-' || c=='+' || c=='.' || c=='e' || c=='E') {
+            myText.append((char) c);
+            c = read();
+        }
+        unread();
+        if(!isNumber(myText)) {
+            throw error("Invalid number '" + myText + "'");
+        }
+    }
+
+
+    /** @brief Returns whether the given text is a JSON number
+     * @param[in] s The text to check
+     * @return Whether the text is a number
+     */
+    private static boolean isNumber(CharSequence s) {
+        int length = s.length();
+        int i = 0;
+        if(i<length && s.charAt(i)=='-') {
+            ++i;
+        }
+        // integer part: a single zero or digits not starting with a zero
+        if(i>=length || !isDigit(s.charAt(i))) {
+            return false;
+        }
+        if(s.charAt(i++)!='0') {
+            while(i<length && isDigit(s.charAt(i))) {
+                ++i;
+            }
+        }
+        if(i<length && s.charAt(i)=='.') {
+            if(++i>=length || !isDigit(s.charAt(i))) {
+                return false;
+            }
+            while(i<length && isDigit(s.charAt(i))) {
+                ++i;
+            }
+        }
+        if(i<length && (s.charAt(i)=='e' || s.charAt(i)=='E')) {
+            ++i;
+            if(i<length && (s.charAt(i)=='-' || s.charAt(i)=='+')) {
+                ++i;
+            }
+            if(i>=length || !isDigit(s.charAt(i))) {
+                return false;
+            }
+            while(i<length && isDigit(s.charAt(i))) {
+                ++i;
+            }
+        }
+        return i==length;
+    }
+
+
+    /** @brief Returns whether the given character is a decimal digit
+     * @param[in] c The character
+     * @return Whether the character is a digit
+     */
+    private static boolean isDigit(char c) {
+        return c>='0' && c<='9';
+    }
+
+
+    /** @brief Checks that the given characters follow
+     * @param[in] rest The expected characters
+     * @throws IOException If other characters follow
+     */
+    private void expect(String rest) throws IOException {
+        for(int i=0; i<rest.length(); ++i) {
+            if(read()!=rest.charAt(i)) {
+                throw error("Invalid literal");
+            }
+        }
+    }
+
+
+    /** @brief Returns the next character that is not a white space
+     * @return The next non-white character, -1 if the file is exhausted
+     * @throws IOException If the file cannot be read
+     */
+    private int readNonWhite() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while(c==' ' || c=='\t' || c=='\n' || c=='\r');
+        return c;
+    }
+
+
+    /** @brief Returns the next character
+     * @return The next character, -1 if the file is exhausted
+     * @throws IOException If the file cannot be read
+     */
+    private int read() throws IOException {
+        if(myBufferPos>=myBufferLength && !fill()) {
+            return -1;
+        }
+        char c = myBuffer[myBufferPos++];
+        if(c=='\n') {
+            ++myLine;
+        }
+        return c;
+    }
+
+
+    /// @brief Steps back behind the last read character (if one was read)
+    private void unread() {
+        if(myBufferPos>0 && myBufferLength>0) {
+            --myBufferPos;
+            if(myBuffer[myBufferPos]=='\n') {
+                --myLine;
+            }
+        }
+    }
+
+
+    /** @brief Reads the next characters into the buffer
+     * @return Whether characters were read
+     * @throws IOException If the file cannot be read, is not valid UTF-8, or the reading thread was interrupted
+     */
+    private boolean fill() throws IOException {
+        OptionsTypedFileIO.checkInterrupted(myFileName);
+        myBufferPos = 0;
+        try {
+            myBufferLength = mySource.read(myBuffer, 0, myBuffer.length);
+        } catch(CharacterCodingException e) {
+            throw new IOException("Invalid UTF-8 sequence in " + myFileName + ", line " + myLine + ".", e);
+        }
+        if(myBufferLength<=0) {
+            myBufferLength = 0;
+            return false;
+        }
+        return true;
+    }
+    /// @}
+
+}
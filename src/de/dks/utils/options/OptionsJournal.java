@@ -0,0 +1,283 @@
+package de.dks.utils.options;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Vector;
+
+/**
+ * @class OptionsJournal
+ * @brief Saves changed options incrementally by appending them to a journal.
+ *
+ * Instead of writing the whole configuration after each change, record()
+ * appends the changed option's value to a journal that is stored next to
+ * the configuration file (named as the file plus JOURNAL_EXTENSION). When
+ * the journal grows larger than the configuration file (and at least
+ * larger than the minimum compaction size), it is compacted: the
+ * configuration is written completely, replacing the file atomically,
+ * and the journal is removed.
+ *
+ * loadConfiguration reads the journal transparently: its values replace
+ * the values of the same options in the configuration file, the latest
+ * value of an option counting. A record that was not completely written,
+ * e.g. because of a crash, is ignored.
+ *
+ * The journal holds one record per line, the option's name and its value
+ * divided by a ';', written as UTF-8; backslashes and line breaks are
+ * escaped using a backslash.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class OptionsJournal {
+    /// @brief The extension of the journal's name
+    public static final String JOURNAL_EXTENSION = ".journal";
+
+    /// @brief The handler to write the configuration with
+    private OptionsTypedFileIO myIO;
+
+    /// @brief The name of the configuration file
+    private String myFileName;
+
+    /// @brief The name of the journal
+    private String myJournalName;
+
+    /// @brief The size the journal must reach before it is compacted
+    private long myMinCompactionSize = 65536;
+
+    /// @brief Whether each record is forced to the disk
+    private boolean mySync = true;
+
+
+
+    /** @brief Constructor
+     * @param[in] io The handler to write (and read) the configuration with
+     * @param[in] fileName The name of the configuration file
+     */
+    public OptionsJournal(OptionsTypedFileIO io, String fileName) {
+        myIO = io;
+        myFileName = fileName;
+        myJournalName = getJournalName(fileName);
+    }
+
+
+    /** @brief Returns the name of a configuration's journal
+     * @param[in] fileName The name of the configuration file
+     * @return The name of the journal
+     */
+    public static String getJournalName(String fileName) {
+        return fileName + JOURNAL_EXTENSION;
+    }
+
+
+    /** @brief Sets the size the journal must reach before it is compacted
+     * @param[in] size The minimum size of the journal in bytes
+     */
+    public void setMinCompactionSize(long size) {
+        myMinCompactionSize = size;
+    }
+
+
+    /** @brief Sets whether each record is forced to the disk before record() returns
+     * @param[in] sync Whether records are forced to the disk
+     */
+    public void setSync(boolean sync) {
+        mySync = sync;
+    }
+
+
+    /** @brief Records the current value of the named option
+     *
+     * If the configuration file does not exist yet, the configuration is
+     *  written completely instead. The journal is compacted if it has grown
+     *  too large.
+     * @param[in] options The options container that holds the changed option
+     * @param[in] name The name of the changed (and set) option
+     * @throws IOException If the journal or the configuration cannot be written
+     */
+    public synchronized void record(OptionsCont options, String name) throws IOException {
+        if(!new File(myFileName).exists()) {
+            compact(options);
+            return;
+        }
+        StringBuilder record = new StringBuilder();
+        escape(record, name);
+        record.append(';');
+        escape(record, options.getValueAsString(name));
+        record.append('\n');
+        long size;
+        try(FileChannel channel = FileChannel.open(Paths.get(myJournalName), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            removeIncompleteRecord(channel);
+            ByteBuffer bytes = ByteBuffer.wrap(record.toString().getBytes(StandardCharsets.UTF_8));
+            channel.position(channel.size());
+            while(bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            if(mySync) {
+                channel.force(false);
+            }
+            size = channel.size();
+        }
+        if(size>Math.max(myMinCompactionSize, new File(myFileName).length())) {
+            compact(options);
+        }
+    }
+
+
+    /** @brief Writes the configuration completely and removes the journal
+     *
+     * The configuration file is replaced atomically before the journal is
+     *  removed, so that a crash in between leaves a journal whose values
+     *  are already included in the file.
+     * @param[in] options The options container to write
+     * @throws IOException If the configuration cannot be written or the journal cannot be removed
+     */
+    public synchronized void compact(OptionsCont options) throws IOException {
+        myIO.writeConfiguration(myFileName, options);
+        Files.deleteIfExists(Paths.get(myJournalName));
+    }
+
+
+
+    /// @brief Reading journals
+    /// @{
+
+    /** @brief Returns whether the given configuration has a journal
+     * @param[in] fileName The name of the configuration file
+     * @return Whether a journal exists
+     */
+    static boolean exists(String fileName) {
+        return new File(getJournalName(fileName)).exists();
+    }
+
+
+    /** @brief Reads a journal, keeping the latest value of each option
+     * @param[in] into The options container to look up the options in
+     * @param[in] journalName The name of the journal
+     * @return The values of the journal's complete records (empty if the journal does not exist)
+     * @throws IOException If the journal cannot be read
+     */
+    static OptionsParsedFile read(OptionsCont into, String journalName) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(Paths.get(journalName));
+        } catch(NoSuchFileException e) {
+            // compacted in the meantime
+            bytes = new byte[0];
+        }
+        Vector<String> names = new Vector<>();
+        Vector<String> values = new Vector<>();
+        int begin = 0;
+        for(int i=0; i<bytes.length; ++i) {
+            if(bytes[i]!='\n') {
+                continue;
+            }
+            String line = new String(bytes, begin, i-begin, StandardCharsets.UTF_8);
+            int divider = line.indexOf(';');
+            if(divider<0) {
+                throw new IOException("Missing value in " + journalName + ", line " + (names.size()+1) + ".");
+            }
+            names.add(unescape(line, 0, divider));
+            values.add(unescape(line, divider+1, line.length()));
+            begin = i + 1;
+        }
+        // the last record of each option counts
+        OptionsParsedFile ret = new OptionsParsedFile();
+        HashSet<Integer> indices = new HashSet<>();
+        HashSet<String> unknown = new HashSet<>();
+        for(int i=names.size()-1; i>=0; --i) {
+            String name = names.elementAt(i);
+            int index = into.getIndex(name, 0, name.length());
+            if(index>=0 ? indices.add(index) : unknown.add(name)) {
+                ret.addString(name, values.elementAt(i), i+1);
+            }
+        }
+        return ret;
+    }
+    /// @}
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Removes the bytes after the last complete record (left by an interrupted write)
+     * @param[in] channel The opened journal
+     * @throws IOException If the journal cannot be read or truncated
+     */
+    private static void removeIncompleteRecord(FileChannel channel) throws IOException {
+        long size = channel.size();
+        ByteBuffer last = ByteBuffer.allocate(1);
+        if(size==0 || (channel.read(last, size-1)==1 && last.get(0)=='\n')) {
+            return;
+        }
+        byte[] bytes = new byte[(int) size];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while(buffer.hasRemaining() && channel.read(buffer, buffer.position())>=0) {
+            // positional reads advance the buffer
+        }
+        int end = bytes.length;
+        while(end>0 && bytes[end-1]!='\n') {
+            --end;
+        }
+        channel.truncate(end);
+    }
+
+
+    /** @brief Appends a string, escaping backslashes and line breaks
+     * @param[in] into The builder to append the string to
+     * @param[in] s The string to append
+     */
+    private static void escape(StringBuilder into, String s) {
+        for(int i=0; i<s.length(); ++i) {
+            char c = s.charAt(i);
+            switch(c) {
+            case '\\':
+                into.append("\\\\");
+                break;
+            case '\n':
+                into.append("\\n");
+                break;
+            case '\r':
+                into.append("\\r");
+                break;
+            default:
+                into.append(c);
+                break;
+            }
+        }
+    }
+
+
+    /** @brief Returns a region of a string with the escapes resolved
+     * @param[in] s The string
+     * @param[in] begin The begin of the region (inclusive)
+     * @param[in] end The end of the region (exclusive)
+     * @return The unescaped region
+     */
+    private static String unescape(String s, int begin, int end) {
+        if(s.indexOf('\\', begin)<0 || s.indexOf('\\', begin)>=end) {
+            return s.substring(begin, end);
+        }
+        StringBuilder ret = new StringBuilder(end-begin);
+        for(int i=begin; i<end; ++i) {
+            char c = s.charAt(i);
+            if(c=='\\' && i+1<end) {
+                c = s.charAt(++i);
+                ret.append(c=='n' ? '\n' : c=='r' ? '\r' : c);
+            } else {
+                ret.append(c);
+            }
+        }
+        return ret.toString();
+    }
+    /// @}
+
+}
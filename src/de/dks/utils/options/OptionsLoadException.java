@@ -0,0 +1,57 @@
+package de.dks.utils.options;
+
+/**
+ * @class OptionsLoadException
+ * @brief Describes why parsing the command line or loading a configuration failed.
+ *
+ * The futures returned by OptionsIO.parseAndLoadAsync and
+ * OptionsTypedFileIO.loadConfigurationAsync complete with this exception
+ * if the options could not be filled. It names the configuration file
+ * that was being read (null if the command line was erroneous), holds
+ * the errors found on the command line (if any), and the exception that
+ * caused the failure (if any).
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class OptionsLoadException extends Exception {
+    /// @brief The serial version
+    private static final long serialVersionUID = 1L;
+
+    /// @brief The configuration file that was being read (null if the command line was erroneous)
+    private final String myFileName;
+
+    /// @brief The errors found on the command line (null if the command line was parsed successfully)
+    private final transient OptionsDiagnostics myDiagnostics;
+
+
+
+    /** @brief Constructor
+     * @param[in] message The message
+     * @param[in] fileName The configuration file that was being read (null if the command line was erroneous)
+     * @param[in] diagnostics The errors found on the command line (null if none)
+     * @param[in] cause The exception that caused the failure (null if none)
+     */
+    OptionsLoadException(String message, String fileName, OptionsDiagnostics diagnostics, Throwable cause) {
+        super(message, cause);
+        myFileName = fileName;
+        myDiagnostics = diagnostics;
+    }
+
+
+    /** @brief Returns the configuration file that was being read
+     * @return The name of the file, null if the command line was erroneous
+     */
+    public String getFileName() {
+        return myFileName;
+    }
+
+
+    /** @brief Returns the errors found on the command line
+     * @return The errors, null if the command line was parsed successfully
+     */
+    public OptionsDiagnostics getDiagnostics() {
+        return myDiagnostics;
+    }
+
+}
@@ -0,0 +1,96 @@
+package de.dks.utils.options;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @class OptionsLoadTask
+ * @brief A future that is completed by running a loading step and that interrupts the step when being cancelled.
+ *
+ * The task is handed to an executor. When the returned future is
+ * cancelled while the step runs, the running thread is interrupted; the
+ * readers check the interruption while reading, so that even the reading
+ * of a large file stops. The interruption is cleared when the step
+ * returns, so that the executor's thread can be reused.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+final class OptionsLoadTask<T> extends CompletableFuture<T> implements Runnable {
+    /**
+     * @interface Step
+     * @brief The loading step
+     */
+    interface Step<T> {
+        /** @brief Performs the step
+         * @return The step's result
+         * @throws OptionsLoadException If the options could not be filled
+         */
+        T run() throws OptionsLoadException;
+    }
+
+
+    /// @brief The step to run
+    private final Step<T> myStep;
+
+    /// @brief Guards the running thread
+    private final Object myLock = new Object();
+
+    /// @brief The thread that runs the step (null if not running)
+    private Thread myRunner = null;
+
+    /// @brief Whether the running thread was interrupted by cancelling the task
+    private boolean myInterrupted = false;
+
+
+
+    /** @brief Constructor
+     * @param[in] step The step to run
+     */
+    OptionsLoadTask(Step<T> step) {
+        myStep = step;
+    }
+
+
+    /// @brief Runs the step (if the task was not cancelled before) and completes the future
+    @Override
+    public void run() {
+        synchronized(myLock) {
+            if(isDone()) {
+                return;
+            }
+            myRunner = Thread.currentThread();
+        }
+        try {
+            complete(myStep.run());
+        } catch(Throwable e) {
+            completeExceptionally(e);
+        } finally {
+            synchronized(myLock) {
+                myRunner = null;
+                if(myInterrupted) {
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+
+
+    /** @brief Cancels the task, interrupting the running step
+     * @param[in] mayInterruptIfRunning Not used, a running step is always interrupted
+     * @return Whether the task was cancelled
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if(cancelled) {
+            synchronized(myLock) {
+                if(myRunner!=null) {
+                    myInterrupted = true;
+                    myRunner.interrupt();
+                }
+            }
+        }
+        return cancelled;
+    }
+
+}
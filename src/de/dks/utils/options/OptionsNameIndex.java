@@ -0,0 +1,221 @@
+package de.dks.utils.options;
+
+import java.util.Arrays;
+
+/**
+ * @class OptionsNameIndex
+ * @brief A map from option names to indices.
+ *
+ * An open addressing hash map that stores the names and the indices
+ * in plain arrays. Besides looking up a String, it allows to look up a
+ * region of a CharSequence without building a String first. Names that
+ * consist of a single ASCII character (abbreviations) are additionally
+ * kept in a table indexed by the character.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+final class OptionsNameIndex {
+    /// @brief The stored names (null for free slots)
+    private String[] myNames;
+
+    /// @brief The indices stored for the names
+    private int[] myIndices;
+
+    /// @brief The number of stored names
+    private int mySize = 0;
+
+    /// @brief The indices stored for single ASCII character names, -1 if none
+    private int[] myASCIINames = new int[128];
+
+
+
+    /** @brief Constructor
+     * @param[in] expectedSize The number of names expected to be stored
+     */
+    OptionsNameIndex(int expectedSize) {
+        int capacity = 16;
+        while(capacity<expectedSize*2) {
+            capacity <<= 1;
+        }
+        myNames = new String[capacity];
+        myIndices = new int[capacity];
+        Arrays.fill(myASCIINames, -1);
+    }
+
+
+    /** @brief Copy constructor
+     * @param[in] other The index to copy
+     */
+    private OptionsNameIndex(OptionsNameIndex other) {
+        myNames = other.myNames.clone();
+        myIndices = other.myIndices.clone();
+        mySize = other.mySize;
+        myASCIINames = other.myASCIINames.clone();
+    }
+
+
+    /** @brief Returns a copy of this index
+     * @return A copy of this index
+     */
+    OptionsNameIndex copy() {
+        return new OptionsNameIndex(this);
+    }
+
+
+    /** @brief Stores the index for the given name, replacing a previously stored one
+     * @param[in] name The name
+     * @param[in] index The index to store
+     */
+    void put(String name, int index) {
+        if(name.length()==1 && name.charAt(0)<128) {
+            myASCIINames[name.charAt(0)] = index;
+        }
+        if((mySize+1)*2>myNames.length) {
+            resize(myNames.length*2);
+        }
+        int mask = myNames.length - 1;
+        int pos = spread(name.hashCode()) & mask;
+        while(myNames[pos]!=null) {
+            if(myNames[pos].equals(name)) {
+                myIndices[pos] = index;
+                return;
+            }
+            pos = (pos + 1) & mask;
+        }
+        myNames[pos] = name;
+        myIndices[pos] = index;
+        ++mySize;
+    }
+
+
+    /** @brief Returns the index stored for the given name
+     * @param[in] name The name
+     * @return The stored index, -1 if the name is not known
+     */
+    int get(String name) {
+        int mask = myNames.length - 1;
+        int pos = spread(name.hashCode()) & mask;
+        while(myNames[pos]!=null) {
+            if(myNames[pos].equals(name)) {
+                return myIndices[pos];
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+
+    /** @brief Returns the index stored for the name that consists of the given character
+     * @param[in] c The name's character
+     * @return The stored index, -1 if the name is not known
+     */
+    int get(char c) {
+        if(c<128) {
+            return myASCIINames[c];
+        }
+        // the hash code of a single character string is the character
+        int mask = myNames.length - 1;
+        int pos = spread(c) & mask;
+        while(myNames[pos]!=null) {
+            if(myNames[pos].length()==1 && myNames[pos].charAt(0)==c) {
+                return myIndices[pos];
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+
+    /** @brief Returns the index stored for the name given as a region of a character sequence
+     * @param[in] s The character sequence the name is a part of
+     * @param[in] begin The begin of the name within the sequence (inclusive)
+     * @param[in] end The end of the name within the sequence (exclusive)
+     * @return The stored index, -1 if the name is not known
+     */
+    int get(CharSequence s, int begin, int end) {
+        // same as String.hashCode()
+        int h = 0;
+        for(int i=begin; i<end; ++i) {
+            h = 31 * h + s.charAt(i);
+        }
+        int mask = myNames.length - 1;
+        int pos = spread(h) & mask;
+        while(myNames[pos]!=null) {
+            if(matches(myNames[pos], s, begin, end)) {
+                return myIndices[pos];
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+
+    /** @brief Returns the number of stored names
+     * @return The number of stored names
+     */
+    int size() {
+        return mySize;
+    }
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Scrambles the hash code and spreads its higher bits to the lower ones
+     *
+     * Names that only differ in a trailing number have neighbouring hash
+     *  codes that would form long runs of occupied slots; multiplying by
+     *  the golden ratio distributes them over the table.
+     * @param[in] h The hash code
+     * @return The spread hash code
+     */
+    private static int spread(int h) {
+        h *= 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+
+    /** @brief Returns whether the name equals the given region
+     * @param[in] name The name to compare
+     * @param[in] s The character sequence the region is a part of
+     * @param[in] begin The begin of the region (inclusive)
+     * @param[in] end The end of the region (exclusive)
+     * @return Whether the name equals the region
+     */
+    private static boolean matches(String name, CharSequence s, int begin, int end) {
+        int length = end - begin;
+        if(name.length()!=length) {
+            return false;
+        }
+        if(s instanceof String) {
+            return name.regionMatches(0, (String) s, begin, length);
+        }
+        for(int i=0; i<length; ++i) {
+            if(name.charAt(i)!=s.charAt(begin+i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /** @brief Rebuilds the table using the given capacity
+     * @param[in] capacity The new capacity (a power of two)
+     */
+    private void resize(int capacity) {
+        String[] names = myNames;
+        int[] indices = myIndices;
+        myNames = new String[capacity];
+        myIndices = new int[capacity];
+        mySize = 0;
+        for(int i=0; i<names.length; ++i) {
+            if(names[i]!=null) {
+                put(names[i], indices[i]);
+            }
+        }
+    }
+    /// @}
+
+}
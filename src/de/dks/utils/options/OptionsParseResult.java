@@ -0,0 +1,59 @@
+package de.dks.utils.options;
+
+/**
+ * @class OptionsParseResult
+ * @brief The result of parsing one argument vector of a batch.
+ *
+ * Holds the values parsed from the argument vector and the errors found
+ * while parsing it, if any (see OptionsDiagnostics).
+ *
+ * @see OptionsParser#parseAll
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public final class OptionsParseResult {
+    /// @brief The parsed values
+    private final OptionsValues myValues;
+
+    /// @brief The errors found while parsing (null if none)
+    private final OptionsDiagnostics myDiagnostics;
+
+
+
+    /** @brief Constructor
+     * @param[in] values The parsed values
+     * @param[in] diagnostics The errors found while parsing (null if none)
+     */
+    OptionsParseResult(OptionsValues values, OptionsDiagnostics diagnostics) {
+        myValues = values;
+        myDiagnostics = diagnostics;
+    }
+
+
+    /** @brief Returns whether the argument vector was parsed without errors
+     * @return Whether parsing was successful
+     */
+    public boolean isValid() {
+        return myDiagnostics==null;
+    }
+
+
+    /** @brief Returns the parsed values
+     *
+     * If errors were found, the values hold the options that were set
+     *  by the other arguments.
+     * @return The parsed values
+     */
+    public OptionsValues getValues() {
+        return myValues;
+    }
+
+
+    /** @brief Returns the errors found while parsing
+     * @return The errors, null if parsing was successful
+     */
+    public OptionsDiagnostics getDiagnostics() {
+        return myDiagnostics;
+    }
+
+}
@@ -0,0 +1,249 @@
+package de.dks.utils.options;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * @class OptionsParsedFile
+ * @brief The values read from a configuration file, independent of a container.
+ *
+ * Stores the name of each set option, the value, and the line the
+ * value was read from, in the order the values were read. int, double,
+ * and bool values that were set to options of these types are kept
+ * in binary form, all others as strings.
+ *
+ * The values are applied to a container as if the file was read
+ * again: options that are already set are skipped, binary values are
+ * set without being converted if the option has the same type, all
+ * other values are set using OptionsCont.set(String, String, String, int).
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+final class OptionsParsedFile {
+    /// @brief The number of stored values
+    private int mySize = 0;
+
+    /// @brief The names the values were set using
+    private String[] myNames = new String[16];
+
+    /// @brief The values' types (OptionsColumns.TYPE_INT, TYPE_DOUBLE, TYPE_BOOL, or TYPE_STRING)
+    private byte[] myTypes = new byte[16];
+
+    /// @brief The binary values (int, double bits, bool as 0/1)
+    private long[] myBits = new long[16];
+
+    /// @brief The string values (null for binary values)
+    private String[] myTexts = new String[16];
+
+    /// @brief The lines the values were read from
+    private int[] myLines = new int[16];
+
+
+
+    /** @brief Adds an int value
+     * @param[in] name The name the value was set using
+     * @param[in] value The value
+     * @param[in] line The line the value was read from
+     */
+    void addInteger(String name, int value, int line) {
+        add(name, OptionsColumns.TYPE_INT, value, null, line);
+    }
+
+
+    /** @brief Adds a double value
+     * @param[in] name The name the value was set using
+     * @param[in] value The value
+     * @param[in] line The line the value was read from
+     */
+    void addDouble(String name, double value, int line) {
+        add(name, OptionsColumns.TYPE_DOUBLE, Double.doubleToRawLongBits(value), null, line);
+    }
+
+
+    /** @brief Adds a bool value
+     * @param[in] name The name the value was set using
+     * @param[in] value The value
+     * @param[in] line The line the value was read from
+     */
+    void addBool(String name, boolean value, int line) {
+        add(name, OptionsColumns.TYPE_BOOL, value ? 1 : 0, null, line);
+    }
+
+
+    /** @brief Adds a value given as string
+     * @param[in] name The name the value was set using
+     * @param[in] value The value
+     * @param[in] line The line the value was read from
+     */
+    void addString(String name, String value, int line) {
+        add(name, OptionsColumns.TYPE_STRING, 0, value, line);
+    }
+
+
+    /** @brief Returns the number of stored values
+     * @return The number of stored values
+     */
+    int size() {
+        return mySize;
+    }
+
+
+    /** @brief Returns the first value that is set to the named option
+     *
+     * Values set using a synonym of the option are regarded as well.
+     * @param[in] into The options container to look up the options in
+     * @param[in] optionName The name of the option
+     * @return The first value of the option, null if the option is not set
+     */
+    String getFirstValue(OptionsCont into, String optionName) {
+        int index = into.getIndex(optionName, 0, optionName.length());
+        for(int i=0; i<mySize; ++i) {
+            String name = myNames[i];
+            if(index>=0 ? into.getIndex(name, 0, name.length())==index : name.equals(optionName)) {
+                return getText(i);
+            }
+        }
+        return null;
+    }
+
+
+    /** @brief Returns the values with the given changes applied
+     *
+     * The changes replace all values of the options they set (values set
+     *  using synonyms are regarded as well), including the values of list
+     *  options.
+     * @param[in] changes The changed values
+     * @param[in] into The options container to look up the options in
+     * @return The changed values (this object if there are no changes)
+     */
+    OptionsParsedFile overriddenBy(OptionsParsedFile changes, OptionsCont into) {
+        if(changes.mySize==0) {
+            return this;
+        }
+        HashSet<Integer> changedIndices = new HashSet<>();
+        HashSet<String> changedNames = new HashSet<>();
+        for(int i=0; i<changes.mySize; ++i) {
+            String name = changes.myNames[i];
+            int index = into.getIndex(name, 0, name.length());
+            if(index>=0) {
+                changedIndices.add(index);
+            } else {
+                changedNames.add(name);
+            }
+        }
+        OptionsParsedFile ret = new OptionsParsedFile();
+        for(int i=0; i<changes.mySize; ++i) {
+            ret.add(changes.myNames[i], changes.myTypes[i], changes.myBits[i], changes.myTexts[i], changes.myLines[i]);
+        }
+        for(int i=0; i<mySize; ++i) {
+            String name = myNames[i];
+            int index = into.getIndex(name, 0, name.length());
+            if(index>=0 ? !changedIndices.contains(index) : !changedNames.contains(name)) {
+                ret.add(name, myTypes[i], myBits[i], myTexts[i], myLines[i]);
+            }
+        }
+        return ret;
+    }
+
+
+    /** @brief Sets the stored values to the given container
+     * @param[in] into The options container to fill
+     * @param[in] fileName The name of the file the values were read from (for error reports)
+     */
+    void apply(OptionsCont into, String fileName) {
+        for(int i=0; i<mySize; ++i) {
+            String name = myNames[i];
+            int index = into.getIndex(name, 0, name.length());
+            if(index>=0 && !into.canBeSet(index)) {
+                continue;
+            }
+            if(index>=0 && myTypes[i]!=OptionsColumns.TYPE_STRING && setBinary(into, index, i)) {
+                into.checkDeprecation(name, 0, name.length());
+                into.countFileValue();
+                continue;
+            }
+            into.set(name, getText(i), fileName, myLines[i]);
+        }
+    }
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Adds a value
+     * @param[in] name The name the value was set using
+     * @param[in] type The value's type
+     * @param[in] bits The binary value
+     * @param[in] text The string value
+     * @param[in] line The line the value was read from
+     */
+    private void add(String name, byte type, long bits, String text, int line) {
+        if(mySize==myNames.length) {
+            int capacity = mySize * 2;
+            myNames = Arrays.copyOf(myNames, capacity);
+            myTypes = Arrays.copyOf(myTypes, capacity);
+            myBits = Arrays.copyOf(myBits, capacity);
+            myTexts = Arrays.copyOf(myTexts, capacity);
+            myLines = Arrays.copyOf(myLines, capacity);
+        }
+        myNames[mySize] = name;
+        myTypes[mySize] = type;
+        myBits[mySize] = bits;
+        myTexts[mySize] = text;
+        myLines[mySize] = line;
+        ++mySize;
+    }
+
+
+    /** @brief Sets a binary value if the option has the value's type
+     * @param[in] into The options container to fill
+     * @param[in] index The option's index
+     * @param[in] i The index of the value
+     * @return Whether the value was set
+     */
+    private boolean setBinary(OptionsCont into, int index, int i) {
+        String typeName = into.getTypeName(index);
+        switch(myTypes[i]) {
+        case OptionsColumns.TYPE_INT:
+            if("int".equals(typeName)) {
+                into.setInteger(index, (int) myBits[i]);
+                return true;
+            }
+            return false;
+        case OptionsColumns.TYPE_DOUBLE:
+            if("double".equals(typeName)) {
+                into.setDouble(index, Double.longBitsToDouble(myBits[i]));
+                return true;
+            }
+            return false;
+        default:
+            if("bool".equals(typeName)) {
+                into.setBool(index, myBits[i]!=0);
+                return true;
+            }
+            return false;
+        }
+    }
+
+
+    /** @brief Returns the string representation of a value
+     * @param[in] i The index of the value
+     * @return The value as string
+     */
+    private String getText(int i) {
+        switch(myTypes[i]) {
+        case OptionsColumns.TYPE_INT:
+            return Integer.toString((int) myBits[i]);
+        case OptionsColumns.TYPE_DOUBLE:
+            return Double.toString(Double.longBitsToDouble(myBits[i]));
+        case OptionsColumns.TYPE_BOOL:
+            return myBits[i]!=0 ? "true" : "false";
+        default:
+            return myTexts[i];
+        }
+    }
+    /// @}
+
+}
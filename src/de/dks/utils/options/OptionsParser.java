@@ -1,7 +1,22 @@
 package de.dks.utils.options;
 
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Vector;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @class OptionsParser
@@ -11,175 +26,645 @@ import java.util.Vector;
  */
 public class OptionsParser {
     /** @brief Parses the given options into the given container
+     *
+     * If continueOnError is false, an exception is thrown on the first
+     *  error. Otherwise, all arguments are parsed and the errors are
+     *  reported on System.err.
      * @param[in] into The options container to fill
      * @param[in] args The arguments given on the command line
      * @param[in] continueOnError Continues even if an error occures while parsing
      * @return Whether parsing was successful
      */
     public static boolean parse(OptionsCont into, String[] args, boolean continueOnError) {
+        return parse(into, Arrays.asList(args).iterator(), continueOnError);
+    }
+
+
+    /** @brief Parses the given options into the given container
+     *
+     * The arguments are read one after the other, so that they do not
+     *  have to be stored completely.
+     * @param[in] into The options container to fill
+     * @param[in] args The arguments to parse
+     * @param[in] continueOnError Continues even if an error occures while parsing
+     * @return Whether parsing was successful
+     */
+    public static boolean parse(OptionsCont into, Iterator<String> args, boolean continueOnError) {
+        OptionsDiagnostics diagnostics = new OptionsDiagnostics();
+        return report(parse(into, args, diagnostics, !continueOnError), diagnostics, continueOnError);
+    }
+
+
+    /** @brief Parses the given options into the given container, collecting the errors
+     *
+     * No exception is thrown on errors within the arguments; they are
+     *  recorded by the given collector and parsing goes on with the next
+     *  argument. The errors are added to the ones already recorded by
+     *  the collector.
+     * @param[in] into The options container to fill
+     * @param[in] args The arguments given on the command line
+     * @param[in] diagnostics The collector to record the errors in
+     * @return Whether parsing was successful
+     */
+    public static boolean parse(OptionsCont into, String[] args, OptionsDiagnostics diagnostics) {
+        return parse(into, Arrays.asList(args).iterator(), diagnostics, false);
+    }
+
+
+    /** @brief Parses the given options into the given container, collecting the errors
+     * @param[in] into The options container to fill
+     * @param[in] args The arguments to parse
+     * @param[in] diagnostics The collector to record the errors in
+     * @return Whether parsing was successful
+     */
+    public static boolean parse(OptionsCont into, Iterator<String> args, OptionsDiagnostics diagnostics) {
+        return parse(into, args, diagnostics, false);
+    }
+
+
+    /** @brief Parses the given options into the given container, reading arguments from argument files
+     *
+     * An argument that starts with '@' names an argument file. The file's
+     *  contents are split into arguments using an OptionsTokenizer and
+     *  are parsed instead of the argument. Argument files may name further
+     *  argument files, but not themselves. The files are read while
+     *  parsing, so that they are never loaded completely.
+     *
+     * An argument file that cannot be read or that names itself and an
+     *  unterminated quote within a file are errors like the ones within
+     *  the arguments; the arguments of a file end at such an error.
+     * @param[in] into The options container to fill
+     * @param[in] args The arguments given on the command line
+     * @param[in] continueOnError Continues even if an error occures while parsing
+     * @return Whether parsing was successful
+     */
+    public static boolean parseWithArgumentFiles(OptionsCont into, String[] args, boolean continueOnError) {
+        OptionsDiagnostics diagnostics = new OptionsDiagnostics();
+        try(ArgumentFilesIterator i=new ArgumentFilesIterator(Arrays.asList(args).iterator(), diagnostics)) {
+            return report(parse(into, i, diagnostics, !continueOnError), diagnostics, continueOnError);
+        }
+    }
+
+
+    /** @brief Parses the given options into the given container, reading arguments from argument files and collecting the errors
+     * @param[in] into The options container to fill
+     * @param[in] args The arguments given on the command line
+     * @param[in] diagnostics The collector to record the errors in
+     * @return Whether parsing was successful
+     * @see parseWithArgumentFiles(OptionsCont, String[], boolean)
+     */
+    public static boolean parseWithArgumentFiles(OptionsCont into, String[] args, OptionsDiagnostics diagnostics) {
+        try(ArgumentFilesIterator i=new ArgumentFilesIterator(Arrays.asList(args).iterator(), diagnostics)) {
+            return parse(into, i, diagnostics, false);
+        }
+    }
+
+
+    /** @brief Parses the options given as a single, shell-like command line into the given container
+     *
+     * The command line is split into arguments using an OptionsTokenizer.
+     *  Arguments that start with '@' name argument files (see
+     *  parseWithArgumentFiles).
+     * @param[in] into The options container to fill
+     * @param[in] commandLine The command line to parse
+     * @param[in] continueOnError Continues even if an error occures while parsing
+     * @return Whether parsing was successful
+     */
+    public static boolean parseCommandLine(OptionsCont into, String commandLine, boolean continueOnError) {
+        OptionsDiagnostics diagnostics = new OptionsDiagnostics();
+        return report(parseCommandLine(into, commandLine, diagnostics, !continueOnError), diagnostics, continueOnError);
+    }
+
+
+    /** @brief Parses the options given as a single, shell-like command line into the given container, collecting the errors
+     * @param[in] into The options container to fill
+     * @param[in] commandLine The command line to parse
+     * @param[in] diagnostics The collector to record the errors in
+     * @return Whether parsing was successful
+     * @see parseCommandLine(OptionsCont, String, boolean)
+     */
+    public static boolean parseCommandLine(OptionsCont into, String commandLine, OptionsDiagnostics diagnostics) {
+        return parseCommandLine(into, commandLine, diagnostics, false);
+    }
+
+
+    /** @brief Parses the given argument vectors in parallel
+     *
+     * Each argument vector is parsed into a new set of values of the
+     *  given schema. The argument vectors are divided between the pool's
+     *  threads using fork/join. Errors do not stop parsing an argument
+     *  vector; they are returned as the result's diagnostics.
+     * @param[in] schema The schema of the options
+     * @param[in] args The argument vectors to parse
+     * @param[in] pool The pool to parse the argument vectors within
+     * @return The results, in the order of the argument vectors
+     */
+    public static List<OptionsParseResult> parseAll(OptionsSchema schema, Collection<String[]> args, ForkJoinPool pool) {
+        String[][] argsArray = args.toArray(new String[args.size()][]);
+        OptionsParseResult[] results = new OptionsParseResult[argsArray.length];
+        // leave some chunks per thread for balancing the load
+        int chunkSize = Math.max(1, argsArray.length / (pool.getParallelism() * 8));
+        pool.invoke(new BatchTask(schema, argsArray, results, 0, argsArray.length, chunkSize));
+        return Arrays.asList(results);
+    }
+
+
+    /** @brief Parses the given argument vectors in parallel using the common pool
+     * @param[in] schema The schema of the options
+     * @param[in] args The argument vectors to parse
+     * @return The results, in the order of the argument vectors
+     */
+    public static List<OptionsParseResult> parseAll(OptionsSchema schema, Collection<String[]> args) {
+        return parseAll(schema, args, ForkJoinPool.commonPool());
+    }
+
+
+    /** @brief Parses the given argument vectors in parallel
+     * @param[in] schema The schema of the options
+     * @param[in] args The argument vectors to parse
+     * @param[in] pool The pool to parse the argument vectors within
+     * @return The results, in the order of the argument vectors
+     */
+    public static List<OptionsParseResult> parseAll(OptionsSchema schema, Stream<String[]> args, ForkJoinPool pool) {
+        return parseAll(schema, args.collect(Collectors.toList()), pool);
+    }
+
+
+    /** @brief Parses the given options into the given container, collecting the errors
+     * @param[in] into The options container to fill
+     * @param[in] args The arguments to parse
+     * @param[in] diagnostics The collector to record the errors in
+     * @param[in] stopOnError Whether parsing shall stop at the first error
+     * @return Whether parsing was successful
+     */
+    private static boolean parse(OptionsCont into, Iterator<String> args, OptionsDiagnostics diagnostics, boolean stopOnError) {
+        Object event = OptionsEvents.beginParse();
+        int errorNumber = diagnostics.size();
         boolean ok = true;
-        for(int pos=0; pos<args.length;) {
+        // the current argument, the following one, and the two previous ones
+        String current = args.hasNext() ? args.next() : null;
+        String next = null;
+        String last = null;
+        String beforeLast = null;
+        int pos = 0;
+        while(current!=null) {
+            next = args.hasNext() ? args.next() : null;
+            // reading the arguments may have failed (argument files)
+            if(stopOnError && diagnostics.size()>errorNumber) {
+                break;
+            }
             // try to parse a token combination
-            int add = parse(into, args, pos);
+            int add = parse(into, current, next, pos, pos>2 ? last : null, pos>2 ? beforeLast : null, diagnostics);
             // check whether an error occured
             if(add<0) {
                 // error occured
                 ok = false;
                 // maybe we want to continue although an error occured
-                if(continueOnError) {
-                    pos += -add;
-                } else {
-                    return false;
+                if(stopOnError) {
+                    break;
                 }
+                add = -add;
+            }
+            // ok, go on with the next combination
+            pos += add;
+            if(add==1) {
+                beforeLast = last;
+                last = current;
+                current = next;
             } else {
-                // ok, go on with the next combination
-                pos += add;
+                beforeLast = current;
+                last = next;
+                current = args.hasNext() ? args.next() : null;
             }
         }
+        OptionsEvents.commitParse(event, pos, diagnostics.size()-errorNumber);
         // return whether parsing had errors or not
-        return ok;
+        return ok && diagnostics.size()==errorNumber;
+    }
+
+
+    /** @brief Parses the options given as a single, shell-like command line, collecting the errors
+     * @param[in] into The options container to fill
+     * @param[in] commandLine The command line to parse
+     * @param[in] diagnostics The collector to record the errors in
+     * @param[in] stopOnError Whether parsing shall stop at the first error
+     * @return Whether parsing was successful
+     */
+    private static boolean parseCommandLine(OptionsCont into, String commandLine, OptionsDiagnostics diagnostics, boolean stopOnError) {
+        OptionsTokenizer tokenizer = new OptionsTokenizer(new StringReader(commandLine), "the command line", true);
+        try(ArgumentFilesIterator i=new ArgumentFilesIterator(tokenizer, diagnostics)) {
+            return parse(into, i, diagnostics, stopOnError);
+        }
+    }
+
+
+    /** @brief Reports the errors recorded while parsing as configured by continueOnError
+     *
+     * If continueOnError is false, the first error is thrown. Otherwise,
+     *  all errors are printed to System.err.
+     * @param[in] ok Whether parsing was successful
+     * @param[in] diagnostics The recorded errors
+     * @param[in] continueOnError Whether parsing shall go on after errors
+     * @return Whether parsing was successful
+     */
+    private static boolean report(boolean ok, OptionsDiagnostics diagnostics, boolean continueOnError) {
+        if(ok) {
+            return true;
+        }
+        if(!continueOnError) {
+            // !!! what kind of an exception should be thrown?
+            throw new RuntimeException(diagnostics.getMessage(0));
+        }
+        for(int i=0; i<diagnostics.size(); ++i) {
+            System.err.println(diagnostics.getMessage(i));
+        }
+        return false;
     }
 
 
     /** @brief Parses a single option into the container
      * @param[in] into The options container to fill
-     * @param[in] args The arguments given on the command line
-     * @param[in] pos The current position within the arguments to parse from
-     * @return The number of arguments to proceed
+     * @param[in] arg The argument to parse
+     * @param[in] next The following argument, null if there is none
+     * @param[in] pos The index of the argument
+     * @param[in] last The previous argument (for error reports, may be null)
+     * @param[in] beforeLast The argument before the previous one (for error reports, may be null)
+     * @param[in] diagnostics The collector to record errors in
+     * @return The number of arguments to proceed, negative if an error occured
      */
-    private static int parse(OptionsCont into, String[] args, int pos) {
+    private static int parse(OptionsCont into, String arg, String next, int pos, String last, String beforeLast, OptionsDiagnostics diagnostics) {
         // an option name indicator must have at least two characters
-        if(args[pos].length()>=2) {
-            if(args[pos].charAt(0)=='-'&&args[pos].charAt(1)!='-') {
+        if(arg.length()>=2) {
+            if(arg.charAt(0)=='-'&&arg.charAt(1)!='-') {
                 // the next combination is an abbreviation
-                return parseAbbreviation(into, args, pos);
-            } else if(args[pos].charAt(0)=='-'&&args[pos].charAt(1)=='-') {
+                return parseAbbreviation(into, arg, next, pos, diagnostics);
+            } else if(arg.charAt(0)=='-'&&arg.charAt(1)=='-') {
                 // the next combination is a full name argument
-                return parseFull(into, args, pos);
+                return parseFull(into, arg, next, pos, diagnostics);
             }
         }
         // no option
-        String msg = "Unrecognized option '" + args[pos] + "'.";
-        if(pos>2&&args[pos-1].charAt(0)=='-'&&args[pos-2].charAt(0)=='-') {
-            msg = msg + "\n Propably forgot a parameter for '" + args[pos-2] + "'.";
+        String msg = "Unrecognized option '" + arg + "'.";
+        if(last!=null&&beforeLast!=null&&last.startsWith("-")&&beforeLast.startsWith("-")) {
+            msg = msg + "\n Propably forgot a parameter for '" + beforeLast + "'.";
         }
-        // !!! what kind of an exception should be thrown?
-        throw new RuntimeException(msg);
+        diagnostics.add(OptionsDiagnostics.Kind.UNRECOGNIZED_ARGUMENT, pos, null, null, msg);
+        return -1;
     }
 
 
     /** @brief Parses a single, abbreviated option into the container
      * @param[in] into The options container to fill
-     * @param[in] args The arguments given on the command line
-     * @param[in] pos The current position within the arguments to parse from
-     * @return The number of arguments to proceed
+     * @param[in] arg The argument to parse
+     * @param[in] next The following argument, null if there is none
+     * @param[in] pos The index of the argument
+     * @param[in] diagnostics The collector to record errors in
+     * @return The number of arguments to proceed, negative if an error occured
      */
-    private static int parseAbbreviation(OptionsCont into, String[] args, int pos) {
-        String options = args[pos].substring(1);
-        int len = options.length();
-        Vector<String> usingParameter = new Vector<>();
+    private static int parseAbbreviation(OptionsCont into, String arg, String next, int pos, OptionsDiagnostics diagnostics) {
+        int len = arg.length();
+        // the first option that needs a parameter, its index and the number of such options
+        char usingParameter = 0;
+        int index = -1;
+        int numUsingParameter = 0;
+        boolean ok = true;
         // go through the combination
-        int i = 0;
-        for(; i<len&&options.charAt(i)!='='; ++i) {
+        int i = 1;
+        for(; i<len&&arg.charAt(i)!='='; ++i) {
+            char c = arg.charAt(i);
+            int current = into.getIndex(c);
             // check whether the name is a bool
-            if(!into.isBool("" + options.charAt(i))) {
-                // if not, then add it to the list of options that need a parameter
-                usingParameter.add("" + options.charAt(i));
+            if(current<0 || !into.isBool(current)) {
+                // if not, then remember it as an option that needs a parameter
+                if(numUsingParameter==0) {
+                    usingParameter = c;
+                    index = current;
+                }
+                ++numUsingParameter;
+            } else if(!into.canBeSet(current)) {
+                diagnostics.add(OptionsDiagnostics.Kind.ALREADY_SET, pos, String.valueOf(c), null, "This option was already set.");
+                ok = false;
             } else {
                 // otherwise simply set it
-                into.set("" + options.charAt(i), true);
+                into.checkDeprecation(c);
+                into.setTrue(current);
             }
         }
         // check options that need a parameter
-        if(usingParameter.size()==0) {
+        if(numUsingParameter==0) {
             // if no one was needed, return ok for parsing
-            return 1;
+            return ok ? 1 : -1;
         }
-        if(usingParameter.size()>1) {
+        if(numUsingParameter>1) {
             // if there is more than one report an error
             StringBuffer sb = new StringBuffer();
             sb.append("All of the following options need a value: ");
-            for (Iterator<String> j=usingParameter.iterator(); j.hasNext(); ) {
-                sb.append(j.next());
-                if(j.hasNext()) {
-                    sb.append(", ");
+            boolean first = true;
+            for(int j=1; j<i; ++j) {
+                int current = into.getIndex(arg.charAt(j));
+                if(current<0 || !into.isBool(current)) {
+                    if(!first) {
+                        sb.append(", ");
+                    }
+                    sb.append(arg.charAt(j));
+                    first = false;
                 }
             }
             sb.append("\n");
-            throw new RuntimeException(sb.toString()); // !!! exception type
+            diagnostics.add(OptionsDiagnostics.Kind.SEVERAL_OPTIONS_NEED_VALUE, pos, arg.substring(1, i), null, sb.toString());
+            return -1;
         }
         // assume one token is used
         int tokens = 1;
         // otherwise (one needed a parameter)
-        String param = "";
-        if(i<options.length() && options.charAt(i)=='=') {
-            // maybe the parameter is within the string
-            param = options.substring(i+1);
-        }
-        if(param.length()==0 && pos+1>=args.length) {
-            // no parameter was given, report an error
-            throw new RuntimeException("Option '" + usingParameter.firstElement() + "' needs a value."); // !!! exception type
-        }
-        if(param.length()==0) {
+        String param = arg;
+        int paramBegin = i + 1;
+        if(paramBegin>=len) {
+            if(next==null) {
+                // no parameter was given, report an error
+                diagnostics.add(OptionsDiagnostics.Kind.MISSING_VALUE, pos, String.valueOf(usingParameter), null, "Option '" + usingParameter + "' needs a value.");
+                return -1;
+            }
             // use the next token as option value
-            param = args[pos+1];
+            param = next;
+            paramBegin = 0;
             tokens = 2;
         }
+        if(index<0) {
+            diagnostics.add(OptionsDiagnostics.Kind.UNKNOWN_OPTION, pos, String.valueOf(usingParameter), null, "The option '" + usingParameter + "' is not known.");
+            return -tokens;
+        }
+        if(!into.canBeSet(index)) {
+            diagnostics.add(OptionsDiagnostics.Kind.ALREADY_SET, pos, String.valueOf(usingParameter), null, "This option was already set.");
+            return -tokens;
+        }
         // ok
-        try {
-        	into.set(usingParameter.firstElement(), param);
-        } catch(NumberFormatException e) {
-            throw new RuntimeException("The parameter for option '" + usingParameter.firstElement() + "' must be of " + into.getTypeName(usingParameter.firstElement()) + " type.");
+        into.checkDeprecation(usingParameter);
+        if(!into.trySet(index, param, paramBegin, param.length())) {
+            String type = into.getTypeName(index);
+            diagnostics.add(OptionsDiagnostics.Kind.INVALID_VALUE, pos, String.valueOf(usingParameter), type, "The parameter for option '" + usingParameter + "' must be of " + type + " type.");
+            return -tokens;
         }
-        return tokens;
+        return ok ? tokens : -tokens;
     }
 
 
     /** @brief Parses a single, fully-named option into the container
      * @param[in] into The options container to fill
-     * @param[in] args The arguments given on the command line
-     * @param[in] pos The current position within the arguments to parse from
-     * @return The number of arguments to proceed
-     */
-    private static int parseFull(OptionsCont into, String[] args, int pos) {
-        String option = args[pos].substring(2);
-        String value = "";
-        // check whether the value is given within the same token
-        int idx = option.indexOf('=');
-        if(idx>=0) {
-            value = option.substring(idx+1);
-            option = option.substring(0, idx);
+     * @param[in] arg The argument to parse
+     * @param[in] next The following argument, null if there is none
+     * @param[in] pos The index of the argument
+     * @param[in] diagnostics The collector to record errors in
+     * @return The number of arguments to proceed, negative if an error occured
+     */
+    private static int parseFull(OptionsCont into, String arg, String next, int pos, OptionsDiagnostics diagnostics) {
+        // the name and the value are addressed by their offsets within the argument
+        int len = arg.length();
+        int nameEnd = arg.indexOf('=', 2);
+        int valueBegin = len;
+        if(nameEnd<0) {
+            nameEnd = len;
+        } else {
+            // the value is given within the same token
+            valueBegin = nameEnd + 1;
         }
+        int index = into.getIndex(arg, 2, nameEnd);
         // check whether it is a boolean option
-        if(into.isBool(option)) {
-            if(value!="") {
+        if(index>=0 && into.isBool(index)) {
+            if(valueBegin<len) {
                 // if a value has been given, inform the user
-                throw new RuntimeException("Option '" + option + "' does not need a value.");// !!! exception type
+                String name = arg.substring(2, nameEnd);
+                diagnostics.add(OptionsDiagnostics.Kind.UNEXPECTED_VALUE, pos, name, null, "Option '" + name + "' does not need a value.");
+                return -1;
+            }
+            if(!into.canBeSet(index)) {
+                diagnostics.add(OptionsDiagnostics.Kind.ALREADY_SET, pos, arg.substring(2, nameEnd), null, "This option was already set.");
+                return -1;
             }
-            into.set(option, true);
+            into.checkDeprecation(arg, 2, nameEnd);
+            into.setTrue(index);
             return 1;
         }
         // otherwise (parameter needed)
-        if(!value.equals("")) {
-            // ok, value was given within the same token
-            try {
-            	into.set(option, value);
-            } catch(NumberFormatException e) {
-                throw new RuntimeException("The parameter for option '" + option + "' must be of " + into.getTypeName(option) + " type.");
+        String value = arg;
+        int tokens = 1;
+        if(valueBegin>=len) {
+            if(next==null) {
+                // there is no further parameter, report an error
+                String name = arg.substring(2, nameEnd);
+                diagnostics.add(OptionsDiagnostics.Kind.MISSING_VALUE, pos, name, null, "Parameter '" + name + "' needs a value.");
+                return -1;
             }
-            return 1;
+            // ok, use the next one
+            value = next;
+            valueBegin = 0;
+            tokens = 2;
+        }
+        if(index<0) {
+            String name = arg.substring(2, nameEnd);
+            diagnostics.add(OptionsDiagnostics.Kind.UNKNOWN_OPTION, pos, name, null, "The option '" + name + "' is not known.");
+            return -tokens;
+        }
+        if(!into.canBeSet(index)) {
+            diagnostics.add(OptionsDiagnostics.Kind.ALREADY_SET, pos, arg.substring(2, nameEnd), null, "This option was already set.");
+            return -tokens;
+        }
+        into.checkDeprecation(arg, 2, nameEnd);
+        if(!into.trySet(index, value, valueBegin, value.length())) {
+            String name = arg.substring(2, nameEnd);
+            String type = into.getTypeName(index);
+            diagnostics.add(OptionsDiagnostics.Kind.INVALID_VALUE, pos, name, type, "The parameter for option '" + name + "' must be of " + type + " type.");
+            return -tokens;
+        }
+        return tokens;
+    }
+
+
+    /**
+     * @class BatchTask
+     * @brief Parses a range of argument vectors, splitting it if it is too large.
+     */
+    private static class BatchTask extends RecursiveAction {
+        /// @brief The serial version id
+        private static final long serialVersionUID = 1L;
+
+        /// @brief The schema of the options
+        private OptionsSchema mySchema;
+
+        /// @brief All argument vectors
+        private String[][] myArgs;
+
+        /// @brief All results
+        private OptionsParseResult[] myResults;
+
+        /// @brief The range of argument vectors to parse (begin inclusive, end exclusive)
+        private int myBegin, myEnd;
+
+        /// @brief The number of argument vectors to parse without splitting
+        private int myChunkSize;
+
+
+        /** @brief Constructor
+         * @param[in] schema The schema of the options
+         * @param[in] args All argument vectors
+         * @param[out] results All results
+         * @param[in] begin The begin of the range to parse (inclusive)
+         * @param[in] end The end of the range to parse (exclusive)
+         * @param[in] chunkSize The number of argument vectors to parse without splitting
+         */
+        BatchTask(OptionsSchema schema, String[][] args, OptionsParseResult[] results, int begin, int end, int chunkSize) {
+            mySchema = schema;
+            myArgs = args;
+            myResults = results;
+            myBegin = begin;
+            myEnd = end;
+            myChunkSize = chunkSize;
         }
-        if(pos+1>=args.length) {
-            // there is no further parameter, report an error
-            throw new RuntimeException("Parameter '" + option + "' needs a value.");
+
+
+        /** @brief Parses the range or splits it
+         */
+        @Override
+        protected void compute() {
+            if(myEnd-myBegin>myChunkSize) {
+                int middle = (myBegin + myEnd) >>> 1;
+                invokeAll(new BatchTask(mySchema, myArgs, myResults, myBegin, middle, myChunkSize),
+                    new BatchTask(mySchema, myArgs, myResults, middle, myEnd, myChunkSize));
+                return;
+            }
+            // the collector is reused; only the errors of invalid argument vectors are copied
+            OptionsDiagnostics diagnostics = new OptionsDiagnostics();
+            for(int i=myBegin; i<myEnd; ++i) {
+                OptionsValues values = mySchema.newValues();
+                diagnostics.clear();
+                parse(values, Arrays.asList(myArgs[i]).iterator(), diagnostics, false);
+                myResults[i] = new OptionsParseResult(values, diagnostics.isEmpty() ? null : diagnostics.copy());
+            }
         }
-        // ok, use the next one
-        try {
-        	into.set(option, args[pos+1]);
-        } catch(NumberFormatException e) {
-            throw new RuntimeException("The parameter for option '" + option + "' must be of " + into.getTypeName(option) + " type.");
+
+    }
+
+
+    /**
+     * @class ArgumentFilesIterator
+     * @brief Returns the given arguments, replacing references to argument files by the files' contents.
+     *
+     * An argument file that cannot be read or that names itself, directly
+     *  or via further argument files, and an unterminated quote are
+     *  recorded in the given collector, using the index of the argument
+     *  that would have been returned next.
+     */
+    private static class ArgumentFilesIterator implements Iterator<String>, Closeable {
+        /// @brief The arguments and the currently read argument files (the last one is read)
+        private Vector<Iterator<String>> mySources = new Vector<>();
+
+        /// @brief The canonical paths of the currently read argument files, in the order of mySources (null for the arguments)
+        private Vector<String> myPaths = new Vector<>();
+
+        /// @brief The next argument (null if not yet determined)
+        private String myNext = null;
+
+        /// @brief The collector to record the errors in
+        private OptionsDiagnostics myDiagnostics;
+
+        /// @brief The number of returned arguments
+        private int myIndex = 0;
+
+
+        /** @brief Constructor
+         * @param[in] args The arguments to expand
+         * @param[in] diagnostics The collector to record the errors in
+         */
+        ArgumentFilesIterator(Iterator<String> args, OptionsDiagnostics diagnostics) {
+            mySources.add(args);
+            myPaths.add(null);
+            myDiagnostics = diagnostics;
         }
-        return 2;
+
+
+        /** @brief Returns whether a further argument exists
+         * @return Whether a further argument exists
+         */
+        @Override
+        public boolean hasNext() {
+            while(myNext==null && !mySources.isEmpty()) {
+                Iterator<String> source = mySources.lastElement();
+                if(!source.hasNext()) {
+                    mySources.removeElementAt(mySources.size()-1);
+                    myPaths.removeElementAt(myPaths.size()-1);
+                    if(source instanceof OptionsTokenizer && ((OptionsTokenizer) source).getError()!=null) {
+                        myDiagnostics.add(OptionsDiagnostics.Kind.MALFORMED_ARGUMENT, myIndex, null, null, ((OptionsTokenizer) source).getError());
+                    }
+                    close(source);
+                    continue;
+                }
+                String arg = source.next();
+                if(arg.length()>1 && arg.charAt(0)=='@') {
+                    String fileName = arg.substring(1);
+                    File file = new File(fileName);
+                    if(!file.isFile()) {
+                        myDiagnostics.add(OptionsDiagnostics.Kind.UNREADABLE_ARGUMENT_FILE, myIndex, null, null, "The argument file '" + fileName + "' does not exist.");
+                        continue;
+                    }
+                    try {
+                        String path = file.getCanonicalPath();
+                        if(myPaths.contains(path)) {
+                            myDiagnostics.add(OptionsDiagnostics.Kind.UNREADABLE_ARGUMENT_FILE, myIndex, null, null, "The argument file '" + fileName + "' includes itself.");
+                            continue;
+                        }
+                        mySources.add(new OptionsTokenizer(new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8), "'" + fileName + "'", true));
+                        myPaths.add(path);
+                    } catch(IOException e) {
+                        myDiagnostics.add(OptionsDiagnostics.Kind.UNREADABLE_ARGUMENT_FILE, myIndex, null, null, "Could not read the argument file '" + fileName + "' (" + e.getMessage() + ").");
+                    }
+                } else {
+                    myNext = arg;
+                }
+            }
+            return myNext!=null;
+        }
+
+
+        /** @brief Returns the next argument
+         * @return The next argument
+         * @throw NoSuchElementException If no further argument exists
+         */
+        @Override
+        public String next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String ret = myNext;
+            myNext = null;
+            ++myIndex;
+            return ret;
+        }
+
+
+        /** @brief Closes all argument files that are still open
+         */
+        @Override
+        public void close() {
+            while(!mySources.isEmpty()) {
+                close(mySources.remove(mySources.size()-1));
+            }
+            myPaths.clear();
+        }
+
+
+        /** @brief Closes the given source if it reads an argument file
+         * @param[in] source The source to close
+         */
+        private void close(Iterator<String> source) {
+            if(source instanceof OptionsTokenizer) {
+                try {
+                    ((OptionsTokenizer) source).close();
+                } catch(IOException e) {
+                    // the file was read completely; nothing to do
+                }
+            }
+        }
+
     }
 
 
@@ -0,0 +1,165 @@
+package de.dks.utils.options;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * @class OptionsPrefetcher
+ * @brief Reads the files of a hierarchical configuration concurrently.
+ *
+ * Each file is read into an OptionsParsedFile by a task run by the given
+ * executor. As soon as a file is read, the reading of the parent it names
+ * is started, so that the chain is read ahead of setting the values.
+ * Files may also be prefetched because they were part of the chain
+ * when the configuration was loaded before.
+ *
+ * The values are set by the loading thread, in the order the files are
+ * requested using get(String). A file that was not prefetched, or whose
+ * reading has not been started by the executor yet, is read by the
+ * loading thread itself. Files that turn out not to be part of the chain
+ * are discarded.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+final class OptionsPrefetcher {
+    /**
+     * @class Result
+     * @brief A read file
+     */
+    static final class Result {
+        /// @brief The read values that are still to be set, null if options could not be loaded
+        OptionsParsedFile myFile;
+
+        /// @brief The name of the file that was read (the compiled sibling if it was used)
+        String myFileName;
+
+        /// @brief The name of the format the file was read as
+        String myFormat;
+    }
+
+
+    /// @brief The handler to read the files with
+    private OptionsTypedFileIO myIO;
+
+    /// @brief The container to look up the options in
+    private OptionsCont myTarget;
+
+    /// @brief The name of the option that names the parent configuration, null if not used
+    private String myParentName;
+
+    /// @brief The executor to read the files with
+    private Executor myExecutor;
+
+    /// @brief The started reads by file name
+    private ConcurrentHashMap<String, FutureTask<Result>> myTasks = new ConcurrentHashMap<>();
+
+    /// @brief Whether the loading has finished (no further reads are started)
+    private volatile boolean myClosed = false;
+
+
+
+    /** @brief Constructor
+     * @param[in] io The handler to read the files with
+     * @param[in] target The container to look up the options in (options must not be added while loading)
+     * @param[in] parentName The name of the option that names the parent configuration, null if not used
+     * @param[in] executor The executor to read the files with
+     */
+    OptionsPrefetcher(OptionsTypedFileIO io, OptionsCont target, String parentName, Executor executor) {
+        myIO = io;
+        myTarget = target;
+        myParentName = parentName!=null && !"".equals(parentName) ? parentName : null;
+        myExecutor = executor;
+    }
+
+
+    /** @brief Starts reading the named file, if not done before
+     * @param[in] fileName The name of the file to read, may be null
+     */
+    void prefetch(final String fileName) {
+        if(myClosed || fileName==null || myTasks.containsKey(fileName)) {
+            return;
+        }
+        FutureTask<Result> task = new FutureTask<>(() -> read(fileName));
+        if(myTasks.putIfAbsent(fileName, task)!=null) {
+            return;
+        }
+        try {
+            myExecutor.execute(task);
+        } catch(RejectedExecutionException e) {
+            // read by the loading thread when being requested
+        }
+    }
+
+
+    /** @brief Returns the named file's values, waiting for the file being read
+     * @param[in] fileName The name of the file
+     * @return The read file
+     * @throws IOException If the file cannot be read
+     */
+    Result get(String fileName) throws IOException {
+        FutureTask<Result> task = myTasks.get(fileName);
+        if(task==null) {
+            prefetch(fileName);
+            task = myTasks.get(fileName);
+        }
+        if(task==null) {
+            return read(fileName);
+        }
+        // reads the file if the executor has not started it yet
+        task.run();
+        try {
+            return task.get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading '" + fileName + "'.");
+        } catch(ExecutionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+
+    /// @brief Stops starting reads and discards the reads that have not been finished yet (interrupting running ones)
+    void close() {
+        myClosed = true;
+        for(Iterator<FutureTask<Result>> i=myTasks.values().iterator(); i.hasNext(); ) {
+            i.next().cancel(true);
+        }
+    }
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Reads the named file and starts reading the parent it names
+     * @param[in] fileName The name of the file
+     * @return The read file
+     * @throws IOException If the file cannot be read
+     */
+    private Result read(String fileName) throws IOException {
+        Result ret = myIO.readParsed(myTarget, fileName);
+        if(ret.myFile!=null && myParentName!=null) {
+            prefetch(ret.myFile.getFirstValue(myTarget, myParentName));
+        }
+        return ret;
+    }
+    /// @}
+
+}
@@ -0,0 +1,175 @@
+package de.dks.utils.options;
+
+import java.util.HashMap;
+
+/**
+ * @class OptionsRecorder
+ * @brief A container that records the values a file reading handler sets.
+ *
+ * Options are looked up in the given target container, but all values
+ * are stored in an OptionsParsedFile instead of being set. All options
+ * are reported as being settable, so that the values of a file are
+ * recorded completely, independent of the options that are already set
+ * in the target.
+ *
+ * Only the methods used by OptionsTypedFileIO implementations for
+ * reading files are supported.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+final class OptionsRecorder extends OptionsCont {
+    /// @brief The container to look up the options in
+    private OptionsCont myTarget;
+
+    /// @brief The recorded values
+    private OptionsParsedFile myFile = new OptionsParsedFile();
+
+    /// @brief The names the indices of options were looked up using
+    private HashMap<Integer, String> myIndexNames = new HashMap<>();
+
+
+
+    /** @brief Constructor
+     * @param[in] target The container to look up the options in
+     */
+    OptionsRecorder(OptionsCont target) {
+        super(false);
+        myTarget = target;
+    }
+
+
+    /** @brief Returns the recorded values
+     * @return The recorded values
+     */
+    OptionsParsedFile getFile() {
+        return myFile;
+    }
+
+
+    /** @brief Returns whether the named option is known (all options can be set)
+     * @param[in] name The name of the option
+     * @return true
+     * @throw RuntimeException If the option is not known
+     */
+    @Override
+    public boolean canBeSet(String name) {
+        if(!myTarget.contains(name)) {
+            throw new RuntimeException("The option '" + name + "' is not known.");
+        }
+        return true;
+    }
+
+
+    /** @brief Records the given value
+     * @param[in] name The name of the option to set
+     * @param[in] value The value to set
+     * @param[in] fileName The file the value was read from
+     * @param[in] line The line within the file the value was read from
+     * @throw RuntimeException If the option is not known
+     */
+    @Override
+    public void set(String name, String value, String fileName, int line) {
+        canBeSet(name);
+        myFile.addString(name, value, line);
+    }
+
+
+    /// @brief Values are counted when they are applied
+    @Override
+    void countFileValue() {
+    }
+
+
+    /** @brief Returns the index of the option whose name is given as a region of a character sequence
+     *
+     * The name is remembered for recording values set using the index.
+     * @param[in] s The character sequence the name is a part of
+     * @param[in] begin The begin of the name within the sequence (inclusive)
+     * @param[in] end The end of the name within the sequence (exclusive)
+     * @return The option's index, -1 if the option is not known
+     */
+    @Override
+    int getIndex(CharSequence s, int begin, int end) {
+        int index = myTarget.getIndex(s, begin, end);
+        if(index>=0) {
+            myIndexNames.put(index, s.subSequence(begin, end).toString());
+        }
+        return index;
+    }
+
+
+    /** @brief Returns the name of the indexed option's type
+     * @param[in] index The option's index
+     * @return The type of the option
+     */
+    @Override
+    String getTypeName(int index) {
+        return myTarget.getTypeName(index);
+    }
+
+
+    /** @brief Returns whether the indexed option can be set (always)
+     * @param[in] index The option's index
+     * @return true
+     */
+    @Override
+    boolean canBeSet(int index) {
+        return true;
+    }
+
+
+    /** @brief Records the value given as a region of a character sequence
+     * @param[in] index The option's index
+     * @param[in] s The character sequence the value is a part of
+     * @param[in] begin The begin of the value within the sequence (inclusive)
+     * @param[in] end The end of the value within the sequence (exclusive)
+     * @return true (the value is converted when it is applied)
+     */
+    @Override
+    boolean trySet(int index, CharSequence s, int begin, int end) {
+        myFile.addString(myIndexNames.get(index), s.subSequence(begin, end).toString(), 0);
+        return true;
+    }
+
+
+    /** @brief Records the given int value
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     */
+    @Override
+    void setInteger(int index, int value) {
+        myFile.addInteger(myIndexNames.get(index), value, 0);
+    }
+
+
+    /** @brief Records the given double value
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     */
+    @Override
+    void setDouble(int index, double value) {
+        myFile.addDouble(myIndexNames.get(index), value, 0);
+    }
+
+
+    /** @brief Records the given bool value
+     * @param[in] index The option's index
+     * @param[in] value The value to set
+     */
+    @Override
+    void setBool(int index, boolean value) {
+        myFile.addBool(myIndexNames.get(index), value, 0);
+    }
+
+
+    /** @brief Deprecations are reported when the values are applied
+     * @param[in] s The character sequence the name is a part of
+     * @param[in] begin The begin of the name within the sequence (inclusive)
+     * @param[in] end The end of the name within the sequence (exclusive)
+     */
+    @Override
+    void checkDeprecation(CharSequence s, int begin, int end) {
+    }
+
+}
@@ -0,0 +1,247 @@
+package de.dks.utils.options;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * @class OptionsReloader
+ * @brief Reloads the options when their configuration files change.
+ *
+ * The reloader builds the options using the given definition, parses the
+ * command line arguments and loads the configuration, including all
+ * parent configurations. The resulting values are published as an
+ * OptionsSnapshot. The files that were read are watched afterwards. If
+ * one of them changes, the options are built and loaded again within
+ * the reloader's own thread and the new snapshot replaces the old one
+ * atomically. Readers always see a complete set of values, either the
+ * old or the new one.
+ *
+ * Changes are collected until no further change occurred for the
+ * debounce time, so that a burst of changes causes a single reload. If
+ * reloading fails, the previous snapshot stays in use and the error is
+ * available using getLastError().
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class OptionsReloader implements Closeable {
+    /// @brief Builds a new options container (definitions only)
+    private Supplier<OptionsCont> myDefinition;
+
+    /// @brief The arguments given on the command line
+    private String[] myArgs;
+
+    /// @brief The file reading handler to use
+    private OptionsTypedFileIO myFileIO;
+
+    /// @brief The name of the option to read the configuration file name from
+    private String myConfigOptionName;
+
+    /// @brief The time to wait for further changes before reloading, in ms
+    private long myDebounceMillis;
+
+    /// @brief The current values
+    private AtomicReference<OptionsSnapshot> mySnapshot = new AtomicReference<>();
+
+    /// @brief The last error that occurred while reloading (null if none)
+    private volatile Exception myLastError = null;
+
+    /// @brief The files to watch (absolute paths)
+    private HashSet<Path> myFiles = new HashSet<>();
+
+    /// @brief Map from watch keys to the watched folders
+    private HashMap<WatchKey, Path> myFolders = new HashMap<>();
+
+    /// @brief The watch service
+    private WatchService myWatchService = null;
+
+    /// @brief The thread that waits for changes
+    private Thread myThread = null;
+
+
+
+    /** @brief Constructor
+     * @param[in] definition Builds a new options container including all options, but no values
+     * @param[in] args The arguments given on the command line
+     * @param[in] fileIO The file reading handler to use
+     * @param[in] configOptionName The name of the option to read the configuration file name from
+     * @param[in] debounceMillis The time to wait for further changes before reloading, in ms
+     */
+    public OptionsReloader(Supplier<OptionsCont> definition, String[] args, OptionsTypedFileIO fileIO, String configOptionName, long debounceMillis) {
+        myDefinition = definition;
+        myArgs = args;
+        myFileIO = fileIO;
+        myConfigOptionName = configOptionName;
+        myDebounceMillis = debounceMillis;
+    }
+
+
+    /** @brief Loads the options and starts watching the read configuration files
+     * @return The loaded options
+     * @throws IOException If a configuration file cannot be read or the files cannot be watched
+     */
+    public synchronized OptionsSnapshot start() throws IOException {
+        if(myThread!=null) {
+            throw new RuntimeException("The reloader was already started.");
+        }
+        Vector<String> files = new Vector<>();
+        mySnapshot.set(load(files));
+        myWatchService = FileSystems.getDefault().newWatchService();
+        watch(files);
+        myThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                process();
+            }
+        }, "OptionsReloader");
+        myThread.setDaemon(true);
+        myThread.start();
+        return mySnapshot.get();
+    }
+
+
+    /** @brief Returns the current options
+     * @return The current options
+     */
+    public OptionsSnapshot getSnapshot() {
+        return mySnapshot.get();
+    }
+
+
+    /** @brief Returns the error that occurred while the last reload
+     * @return The last reload's error, null if the last reload was successful
+     */
+    public Exception getLastError() {
+        return myLastError;
+    }
+
+
+    /** @brief Stops watching the configuration files
+     * @throws IOException If the watch service cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if(myThread==null) {
+            return;
+        }
+        myThread.interrupt();
+        myWatchService.close();
+        myThread = null;
+    }
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Builds the options, parses the command line and loads the configuration
+     * @param[out] files The names of the read configuration files
+     * @return The loaded options
+     * @throws IOException If a configuration file cannot be read
+     */
+    private OptionsSnapshot load(Vector<String> files) throws IOException {
+        OptionsCont options = myDefinition.get();
+        if(!OptionsParser.parse(options, myArgs, false)) {
+            throw new RuntimeException("The command line could not be parsed.");
+        }
+        if(myConfigOptionName!=null && !"".equals(myConfigOptionName) && options.isSet(myConfigOptionName)) {
+            if(!myFileIO.loadConfiguration(options, myConfigOptionName, files)) {
+                throw new IOException("The configuration could not be loaded.");
+            }
+        }
+        return options.snapshot();
+    }
+
+
+    /** @brief Watches the folders of the given files
+     * @param[in] files The files to watch
+     * @throws IOException If a folder cannot be watched
+     */
+    private void watch(Vector<String> files) throws IOException {
+        for(Iterator<WatchKey> i=myFolders.keySet().iterator(); i.hasNext(); ) {
+            i.next().cancel();
+        }
+        myFolders.clear();
+        myFiles.clear();
+        HashMap<Path, WatchKey> folders = new HashMap<>();
+        for(Iterator<String> i=files.iterator(); i.hasNext(); ) {
+            Path file = Paths.get(i.next()).toAbsolutePath().normalize();
+            myFiles.add(file);
+            // changes may be recorded in a journal
+            myFiles.add(file.resolveSibling(file.getFileName() + OptionsJournal.JOURNAL_EXTENSION));
+            Path folder = file.getParent();
+            if(!folders.containsKey(folder)) {
+                WatchKey key = folder.register(myWatchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                folders.put(folder, key);
+                myFolders.put(key, folder);
+            }
+        }
+    }
+
+
+    /** @brief Returns whether the events of the given key concern one of the watched files
+     * @param[in] key The signalled watch key
+     * @return Whether a watched file has changed
+     */
+    private boolean concernsFiles(WatchKey key) {
+        Path folder = myFolders.get(key);
+        boolean changed = false;
+        for(Iterator<WatchEvent<?>> i=key.pollEvents().iterator(); i.hasNext(); ) {
+            WatchEvent<?> event = i.next();
+            if(event.kind()==StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+            } else if(folder!=null && myFiles.contains(folder.resolve((Path) event.context()))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+
+    /** @brief Waits for changes and reloads the options (the watching thread's body)
+     */
+    private void process() {
+        try {
+            while(true) {
+                if(!concernsFiles(myWatchService.take())) {
+                    continue;
+                }
+                // collect further changes until it gets quiet
+                WatchKey key;
+                while((key=myWatchService.poll(myDebounceMillis, TimeUnit.MILLISECONDS))!=null) {
+                    concernsFiles(key);
+                }
+                try {
+                    Vector<String> files = new Vector<>();
+                    OptionsSnapshot snapshot = load(files);
+                    mySnapshot.set(snapshot);
+                    myLastError = null;
+                    // the parent configurations may have changed
+                    watch(files);
+                } catch(IOException | RuntimeException e) {
+                    myLastError = e;
+                }
+            }
+        } catch(InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+    /// @}
+
+}
@@ -1,6 +1,7 @@
 package de.dks.utils.options;
 
 import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
@@ -14,15 +15,34 @@ public class OptionsSAXHandler extends DefaultHandler {
     /// @brief The options to fill
     private OptionsCont myOptions;
     
-    /// @brief The name of the current option to set
-    private String myCurrentOptionName; 
+    /// @brief The name of the parsed file (for error reports)
+    private String myFileName;
+    
+    /// @brief The locator of the parsed document (may be null)
+    private Locator myLocator = null;
+    
+    /// @brief The text of the current element
+    private StringBuilder myText = new StringBuilder();
+    
+    /// @brief The line the current element's text starts at
+    private int myLine = -1;
     
     
     /** @brief Constructor
      * @param[in] options The options to fill
      */
     public OptionsSAXHandler(OptionsCont options) {
+        this(options, null);
+    }
+    
+    
+    /** @brief Constructor
+     * @param[in] options The options to fill
+     * @param[in] fileName The name of the parsed file (for error reports)
+     */
+    public OptionsSAXHandler(OptionsCont options, String fileName) {
         myOptions = options;
+        myFileName = fileName;
     }
     
     
@@ -30,6 +50,14 @@ public class OptionsSAXHandler extends DefaultHandler {
     /// @brief Handlers for the SAX ContentHandler interface
     /// @{
     
+    /** @brief Called with the document's locator before parsing starts
+     * @param[in] locator The locator of the parsed document
+     */
+    public void setDocumentLocator(Locator locator) {
+        myLocator = locator;
+    }
+    
+    
     /** @brief Called on element begin
      * @param[in] namespaceURI
      * @param[in] localName
@@ -37,20 +65,47 @@ public class OptionsSAXHandler extends DefaultHandler {
      * @param[in] atts
      */
     public void startElement(String namespaceURI, String localName, String qName, Attributes atts) throws SAXException {
-        myCurrentOptionName = localName;
+        myText.setLength(0);
     }
     
     
     /** @brief Called on characters
+     * 
+     * The text of an element may be reported in several calls; it is
+     *  collected and set when the element ends.
      * @param[in] ch the character string
      * @param[in] start the begin of the character string
      * @param[in] length the length of the character string
      */
     public void characters(char[] ch, int start, int length) throws SAXException {
-        // https://howtodoinjava.com/xml/sax-parser-read-xml-example/, 15.09.2019
-        String value = new String(ch, start, length).trim();
-        if(value.length()>0 && myOptions.canBeSet(myCurrentOptionName)) {
-            myOptions.set(myCurrentOptionName, value);
+        if(myText.length()==0) {
+            // skip white spaces between elements
+            while(length>0 && ch[start]<=' ') {
+                ++start;
+                --length;
+            }
+            if(length==0) {
+                return;
+            }
+            myLine = myLocator!=null ? myLocator.getLineNumber() : -1;
+        }
+        myText.append(ch, start, length);
+    }
+    
+    
+    /** @brief Called on element end
+     * 
+     * Sets the collected text (if not empty) as the value of the option
+     *  named like the element.
+     * @param[in] namespaceURI
+     * @param[in] localName
+     * @param[in] qName
+     */
+    public void endElement(String namespaceURI, String localName, String qName) throws SAXException {
+        String value = myText.toString().trim();
+        myText.setLength(0);
+        if(value.length()>0 && myOptions.canBeSet(localName)) {
+            myOptions.set(localName, value, myFileName, myLine);
         }
     }
     /// @}
@@ -0,0 +1,53 @@
+package de.dks.utils.options;
+
+/**
+ * @class OptionsSchema
+ * @brief The immutable definitions of a set of options.
+ *
+ * A schema is compiled once from an options container using
+ * OptionsCont.compile(). It keeps the names, synonyms, deprecations,
+ * sections, and descriptions of the options as well as their default
+ * values. It cannot be changed, so that it may be shared between
+ * threads.
+ *
+ * newValues() returns a new set of values (OptionsValues) that initially
+ * holds the default values. The value set shares the definitions with
+ * the schema and stores only the values and their flags, so that
+ * building it is cheap. It can be used wherever an OptionsCont is
+ * expected, e.g. for parsing the command line or loading configuration
+ * files.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public final class OptionsSchema {
+    /// @brief The options' definitions and default values (never changed)
+    private final OptionsCont_Columnar myDefinition;
+
+
+
+    /** @brief Constructor
+     * @param[in] definition The options' definitions and default values, must not be changed afterwards
+     */
+    OptionsSchema(OptionsCont_Columnar definition) {
+        myDefinition = definition;
+    }
+
+
+    /** @brief Returns a new set of values that holds the default values
+     * @return A new set of values
+     */
+    public OptionsValues newValues() {
+        return new OptionsValues(this, myDefinition);
+    }
+
+
+    /** @brief Returns the information whether the named option is known
+     * @param[in] name The name of the option
+     * @return Whether the option is known
+     */
+    public boolean contains(String name) {
+        return myDefinition.contains(name);
+    }
+
+}
@@ -0,0 +1,313 @@
+package de.dks.utils.options;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
+
+/**
+ * @class OptionsSnapshot
+ * @brief An immutable copy of the option values of an options container.
+ *
+ * The snapshot is built using OptionsCont.snapshot() and stores the
+ * values the options had at this time in primitive arrays, indexed by
+ * the option's position within the container. It cannot be changed, so
+ * that it may be shared between threads and read without any
+ * synchronisation.
+ *
+ * Besides reading values by name, an option's index can be retrieved
+ * once using getIndex(String) and used for further reads.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public final class OptionsSnapshot {
+    /// @brief Map from option names (including synonyms) to option indices
+    private final OptionsNameIndex myNames;
+
+    /// @brief The options' values
+    private final OptionsColumns myValues;
+
+    /// @brief The options' names as returned by OptionsCont.getSortedOptionNames()
+    private final String[] mySortedOptionNames;
+
+
+
+    /** @brief Constructor
+     * @param[in] names Map from option names to option indices
+     * @param[in] values The options' values
+     * @param[in] sortedOptionNames The options' names
+     */
+    OptionsSnapshot(OptionsNameIndex names, OptionsColumns values, String[] sortedOptionNames) {
+        myNames = names;
+        myValues = values;
+        mySortedOptionNames = sortedOptionNames;
+    }
+
+
+
+    /// @brief Retrieving Option Values by name
+    /// @{
+
+    /** @brief Returns the integer value of the named option
+     * @param[in] name The name of the option to retrieve the value from
+     * @return The named option's value
+     */
+    public int getInteger(String name) {
+        return getInteger(getIndex(name));
+    }
+
+
+    /** @brief Returns the float value of the named option
+     * @param[in] name The name of the option to retrieve the value from
+     * @return The named option's value
+     */
+    public double getDouble(String name) {
+        return getDouble(getIndex(name));
+    }
+
+
+    /** @brief Returns the boolean value of the named option
+     * @param[in] name The name of the option to retrieve the value from
+     * @return The named option's value
+     */
+    public boolean getBool(String name) {
+        return getBool(getIndex(name));
+    }
+
+
+    /** @brief Returns the string value of the named option
+     * @param[in] name The name of the option to retrieve the value from
+     * @return The named option's value
+     */
+    public String getString(String name) {
+        return getString(getIndex(name));
+    }
+
+
+    /** @brief Returns the integer values of the named list option
+     * @param[in] name The name of the option to retrieve the values from
+     * @return The named option's values (read-only)
+     */
+    public IntBuffer getIntegerList(String name) {
+        return getIntegerList(getIndex(name));
+    }
+
+
+    /** @brief Returns the double values of the named list option
+     * @param[in] name The name of the option to retrieve the values from
+     * @return The named option's values (read-only)
+     */
+    public DoubleBuffer getDoubleList(String name) {
+        return getDoubleList(getIndex(name));
+    }
+
+
+    /** @brief Returns the string values of the named list option
+     * @param[in] name The name of the option to retrieve the values from
+     * @return The named option's values (read-only)
+     */
+    public List<String> getStringList(String name) {
+        return getStringList(getIndex(name));
+    }
+
+
+    /** @brief Returns the value of the named option as a string
+     * @param[in] name The name of the option to retrieve the value from
+     * @return The string representation of the option's value
+     */
+    public String getValueAsString(String name) {
+        return getValueAsString(getIndex(name));
+    }
+
+
+    /** @brief Returns the name of the option's type
+     * @param[in] name The name of the option get the type of
+     * @return The type of the option
+     */
+    public String getTypeName(String name) {
+        return myValues.getTypeName(getIndex(name));
+    }
+
+
+    /** @brief Returns the information whether the option is set
+     * @param[in] name The name of the option to check
+     * @return Whether the option has a value set
+     */
+    public boolean isSet(String name) {
+        return myValues.isSet(getIndex(name));
+    }
+
+
+    /** @brief Returns whether the named option's value is its default value
+     * @param[in] name The name of the option to check whether it has the default value
+     * @return Whether the named option has the default value
+     */
+    public boolean isDefault(String name) {
+        return myValues.isDefault(getIndex(name));
+    }
+
+
+    /** @brief Returns the information whether the named option is known
+     * @param[in] name The name of the option
+     * @return Whether the option is known
+     */
+    public boolean contains(String name) {
+        return myNames.get(name)>=0;
+    }
+
+
+    /** @brief Returns the sorted (as inserted) option names
+     * @return The sorted list of option names
+     */
+    public Vector<String> getSortedOptionNames() {
+        return new Vector<>(Arrays.asList(mySortedOptionNames));
+    }
+    /// @}
+
+
+
+    /// @brief Retrieving Option Values by index
+    /// @{
+
+    /** @brief Returns the index of the named option
+     *
+     * The index is the option's position within the container the
+     *  snapshot was built from.
+     * @param[in] name The name of the option
+     * @return The option's index
+     */
+    public int getIndex(String name) {
+        int index = myNames.get(name);
+        if(index<0) {
+            throw new RuntimeException("The option '" + name + "' is not known.");
+        }
+        return index;
+    }
+
+
+    /** @brief Returns the number of options
+     * @return The number of options
+     */
+    public int size() {
+        return myValues.size();
+    }
+
+
+    /** @brief Returns the integer value of the indexed option
+     * @param[in] index The index of the option to retrieve the value from
+     * @return The indexed option's value
+     */
+    public int getInteger(int index) {
+        check(index, myValues.getType(index)==OptionsColumns.TYPE_INT, "an integer");
+        return myValues.getInteger(index);
+    }
+
+
+    /** @brief Returns the float value of the indexed option
+     * @param[in] index The index of the option to retrieve the value from
+     * @return The indexed option's value
+     */
+    public double getDouble(int index) {
+        check(index, myValues.getType(index)==OptionsColumns.TYPE_DOUBLE, "a double");
+        return myValues.getDouble(index);
+    }
+
+
+    /** @brief Returns the boolean value of the indexed option
+     * @param[in] index The index of the option to retrieve the value from
+     * @return The indexed option's value
+     */
+    public boolean getBool(int index) {
+        check(index, myValues.getType(index)==OptionsColumns.TYPE_BOOL, "a bool");
+        return myValues.getBool(index);
+    }
+
+
+    /** @brief Returns the string value of the indexed option
+     *
+     * File name options are string options as well.
+     * @param[in] index The index of the option to retrieve the value from
+     * @return The indexed option's value
+     */
+    public String getString(int index) {
+        byte type = myValues.getType(index);
+        check(index, type==OptionsColumns.TYPE_STRING||type==OptionsColumns.TYPE_FILENAME, "a string");
+        return myValues.getString(index);
+    }
+
+
+    /** @brief Returns the integer values of the indexed list option
+     * @param[in] index The index of the option to retrieve the values from
+     * @return The indexed option's values (read-only)
+     */
+    public IntBuffer getIntegerList(int index) {
+        check(index, myValues.getType(index)==OptionsColumns.TYPE_INT_LIST, "an integer list");
+        return ((Option_IntegerList) myValues.getList(index)).getValues();
+    }
+
+
+    /** @brief Returns the double values of the indexed list option
+     * @param[in] index The index of the option to retrieve the values from
+     * @return The indexed option's values (read-only)
+     */
+    public DoubleBuffer getDoubleList(int index) {
+        check(index, myValues.getType(index)==OptionsColumns.TYPE_DOUBLE_LIST, "a double list");
+        return ((Option_DoubleList) myValues.getList(index)).getValues();
+    }
+
+
+    /** @brief Returns the string values of the indexed list option
+     * @param[in] index The index of the option to retrieve the values from
+     * @return The indexed option's values (read-only)
+     */
+    public List<String> getStringList(int index) {
+        check(index, myValues.getType(index)==OptionsColumns.TYPE_STRING_LIST, "a string list");
+        return ((Option_StringList) myValues.getList(index)).getValues();
+    }
+
+
+    /** @brief Returns the value of the indexed option as a string
+     * @param[in] index The index of the option to retrieve the value from
+     * @return The string representation of the option's value
+     */
+    public String getValueAsString(int index) {
+        if(!myValues.isSet(index)) {
+            throw new RuntimeException("The option '" + mySortedOptionNames[index] + "' is not set!");
+        }
+        return myValues.getValueAsString(index);
+    }
+
+
+    /** @brief Returns the information whether the indexed option is set
+     * @param[in] index The index of the option to check
+     * @return Whether the option has a value set
+     */
+    public boolean isSet(int index) {
+        return myValues.isSet(index);
+    }
+    /// @}
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Checks whether the indexed option has the requested type and is set
+     * @param[in] index The index of the option
+     * @param[in] typeMatches Whether the option has the requested type
+     * @param[in] typeName The requested type's name (with article) for the error message
+     * @throw RuntimeException If the option has a different type or is not set
+     */
+    private void check(int index, boolean typeMatches, String typeName) {
+        if(!typeMatches) {
+            throw new RuntimeException("Option '" + mySortedOptionNames[index] + "' is not " + typeName + " option!");
+        }
+        if(!myValues.isSet(index)) {
+            throw new RuntimeException("The option '" + mySortedOptionNames[index] + "' is not set!");
+        }
+    }
+    /// @}
+
+}
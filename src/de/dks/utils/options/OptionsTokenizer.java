@@ -0,0 +1,257 @@
+package de.dks.utils.options;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * @class OptionsTokenizer
+ * @brief Splits a shell-like command line into arguments while reading it.
+ *
+ * The tokenizer reads the given source character by character and
+ * returns one argument after the other, so that the source never has to
+ * be loaded completely. The following rules apply:
+ * - arguments are divided by white spaces (including line breaks)
+ * - characters within single quotes are taken literally
+ * - within double quotes, a backslash escapes '"' and '\'
+ * - outside quotes, a backslash escapes the next character
+ * - a '#' at the begin of an argument starts a comment that lasts until the end of the line
+ *
+ * Quotes may be used within an argument, e.g. --name="a b". An empty
+ * argument can be given as "" or ''.
+ *
+ * Errors while reading are reported as UncheckedIOException, as
+ * the Iterator interface does not allow checked exceptions. An
+ * unterminated quote is reported as a RuntimeException. If the tokenizer
+ * is built for recording errors (as done when parsing argument files),
+ * an error ends the arguments instead and is returned by getError().
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class OptionsTokenizer implements Iterator<String>, Closeable {
+    /// @brief The source to read from
+    private Reader mySource;
+
+    /// @brief The name of the source (for error reports)
+    private String mySourceName;
+
+    /// @brief The buffer of read characters
+    private char[] myBuffer = new char[8192];
+
+    /// @brief The position of the next character within the buffer
+    private int myBufferPos = 0;
+
+    /// @brief The number of valid characters within the buffer
+    private int myBufferLength = 0;
+
+    /// @brief The current argument
+    private StringBuilder myArgument = new StringBuilder();
+
+    /// @brief The next argument (null if not yet read or if the source is exhausted)
+    private String myNext = null;
+
+    /// @brief Whether the source is exhausted
+    private boolean myAmAtEnd = false;
+
+    /// @brief The line that is currently read
+    private int myLine = 1;
+
+    /// @brief Whether errors shall be recorded instead of being thrown
+    private boolean myRecordErrors;
+
+    /// @brief The error that ended reading (null if none)
+    private String myError = null;
+
+
+
+    /** @brief Constructor
+     * @param[in] source The source to read from
+     * @param[in] sourceName The name of the source (for error reports)
+     */
+    public OptionsTokenizer(Reader source, String sourceName) {
+        this(source, sourceName, false);
+    }
+
+
+    /** @brief Constructor
+     * @param[in] source The source to read from
+     * @param[in] sourceName The name of the source (for error reports)
+     * @param[in] recordErrors Whether errors shall end the arguments and be returned by getError() instead of being thrown
+     */
+    OptionsTokenizer(Reader source, String sourceName, boolean recordErrors) {
+        mySource = source;
+        mySourceName = sourceName;
+        myRecordErrors = recordErrors;
+    }
+
+
+    /** @brief Returns whether a further argument exists
+     * @return Whether a further argument exists
+     * @throw UncheckedIOException If the source cannot be read
+     * @throw RuntimeException If a quote is not closed
+     */
+    @Override
+    public boolean hasNext() {
+        if(myNext==null && !myAmAtEnd) {
+            myNext = readArgument();
+        }
+        return myNext!=null;
+    }
+
+
+    /** @brief Returns the next argument
+     * @return The next argument
+     * @throw NoSuchElementException If no further argument exists
+     */
+    @Override
+    public String next() {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String ret = myNext;
+        myNext = null;
+        return ret;
+    }
+
+
+    /** @brief Returns the error that ended reading
+     *
+     * Errors are only recorded if the tokenizer was built for recording
+     *  them.
+     * @return The error's message, null if no error occured
+     */
+    String getError() {
+        return myError;
+    }
+
+
+    /** @brief Closes the source
+     * @throws IOException If the source cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        mySource.close();
+    }
+
+
+
+    /// @brief Private helper methods
+    /// @{
+
+    /** @brief Reads the next argument
+     * @return The read argument, null if the source is exhausted
+     */
+    private String readArgument() {
+        int c;
+        // skip white spaces and comments
+        while(true) {
+            c = read();
+            if(c<0) {
+                myAmAtEnd = true;
+                return null;
+            }
+            if(c=='#') {
+                while(c>=0 && c!='\n') {
+                    c = read();
+                }
+            } else if(!Character.isWhitespace(c)) {
+                break;
+            }
+        }
+        myArgument.setLength(0);
+        int line = myLine;
+        for(; c>=0 && !Character.isWhitespace(c); c=read()) {
+            if(c=='\'') {
+                while((c=read())!='\'') {
+                    if(c<0) {
+                        return fail("Missing closing quote in " + mySourceName + ", line " + line + ".");
+                    }
+                    myArgument.append((char) c);
+                }
+            } else if(c=='"') {
+                while((c=read())!='"') {
+                    if(c=='\\') {
+                        c = read();
+                        if(c!='"' && c!='\\' && c>=0) {
+                            myArgument.append('\\');
+                        }
+                    }
+                    if(c<0) {
+                        return fail("Missing closing quote in " + mySourceName + ", line " + line + ".");
+                    }
+                    myArgument.append((char) c);
+                }
+            } else if(c=='\\') {
+                c = read();
+                if(c<0) {
+                    myArgument.append('\\');
+                } else if(c!='\n') {
+                    // an escaped line break continues the argument
+                    myArgument.append((char) c);
+                }
+            } else {
+                myArgument.append((char) c);
+            }
+        }
+        if(c<0) {
+            myAmAtEnd = true;
+            if(myError!=null) {
+                // the argument may be incomplete
+                return null;
+            }
+        }
+        return myArgument.toString();
+    }
+
+
+    /** @brief Reports an error, ending the arguments if errors are recorded
+     * @param[in] message The error's message
+     * @return null (no further argument)
+     * @throw RuntimeException If errors are not recorded
+     */
+    private String fail(String message) {
+        if(!myRecordErrors) {
+            throw new RuntimeException(message);
+        }
+        if(myError==null) {
+            // keep a read error that caused the end of the source
+            myError = message;
+        }
+        myAmAtEnd = true;
+        return null;
+    }
+
+
+    /** @brief Reads the next character
+     * @return The next character, -1 if the source is exhausted
+     */
+    private int read() {
+        if(myBufferPos>=myBufferLength) {
+            try {
+                myBufferLength = mySource.read(myBuffer, 0, myBuffer.length);
+            } catch(IOException e) {
+                if(!myRecordErrors) {
+                    throw new UncheckedIOException(e);
+                }
+                myError = "Could not read " + mySourceName + " (" + e.getMessage() + ").";
+                myBufferLength = 0;
+            }
+            myBufferPos = 0;
+            if(myBufferLength<=0) {
+                myBufferLength = 0;
+                return -1;
+            }
+        }
+        char c = myBuffer[myBufferPos++];
+        if(c=='\n') {
+            ++myLine;
+        }
+        return c;
+    }
+    /// @}
+
+}
@@ -1,6 +1,29 @@
 package de.dks.utils.options;
 
+import java.io.BufferedWriter;
+import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @class OptionsTypedFileIO
@@ -9,11 +32,96 @@ import java.io.IOException;
  * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
  */
 public abstract class OptionsTypedFileIO {
+	/// @brief The size of the buffer used when writing text formats
+	private static final int BUFFER_SIZE = 65536;
+	
+	/// @brief Whether up-to-date compiled (binary) siblings of configuration files are read instead
+	private boolean myUseCompiled = false;
+	
+	/// @brief The cache of read configuration files, null if files are always read
+	private OptionsFileCache myCache = null;
+	
+	/// @brief The executor to read the files of hierarchical configurations with, null if they are read one after the other
+	private Executor myPrefetchExecutor = null;
+	
+	/// @brief The files of the hierarchical configurations loaded before, by the absolute path of the first file
+	private HashMap<String, Vector<String>> myChains = new HashMap<>();
+	
+	
+	/** @brief Sets whether compiled siblings of configuration files shall be read
+	 * 
+	 * If enabled, the binary file built by compileConfiguration (named
+	 * as the configuration file plus OptionsFileIO_Binary.COMPILED_EXTENSION)
+	 * is read instead of a configuration file if it is newer than the
+	 * configuration file. If it is missing, outdated, or damaged, the
+	 * configuration file is read.
+	 * @param useCompiled Whether compiled siblings shall be read
+	 */
+	public void setUseCompiled(boolean useCompiled) {
+		myUseCompiled = useCompiled;
+	}
+	
+	
+	/** @brief Returns whether compiled siblings of configuration files are read
+	 * @return Whether compiled siblings are read
+	 */
+	public boolean isUseCompiled() {
+		return myUseCompiled;
+	}
+	
+	
+	/** @brief Sets the cache to keep the values of read configuration files in
+	 * 
+	 * If a cache is set, configuration files whose values are cached are
+	 * not read again; this is useful if several containers share parent
+	 * configurations. The cache may be shared by several handlers.
+	 * @param cache The cache to use, null for reading files always
+	 */
+	public void setCache(OptionsFileCache cache) {
+		myCache = cache;
+	}
+	
+	
+	/** @brief Returns the cache the values of read configuration files are kept in
+	 * @return The used cache, null if files are always read
+	 */
+	public OptionsFileCache getCache() {
+		return myCache;
+	}
+	
+	
+	/** @brief Sets the executor to read the files of hierarchical configurations with
+	 * 
+	 * If an executor is set, the files of a hierarchical configuration are
+	 * read concurrently by tasks run by the executor: as soon as a file is
+	 * read, the reading of the parent it names is started, and the files
+	 * that formed the chain when the configuration was loaded before are
+	 * all started at once. The values are still set one file after the
+	 * other in the order of precedence, so that the result is the same as
+	 * when the files are read one after the other. A thread pool, or on
+	 * Java 21 and later an executor that starts a virtual thread per task,
+	 * may be used. The options of the container must not be changed (e.g.
+	 * added) while loading.
+	 * @param executor The executor to use, null for reading the files one after the other
+	 */
+	public void setPrefetchExecutor(Executor executor) {
+		myPrefetchExecutor = executor;
+	}
+	
+	
+	/** @brief Returns the executor the files of hierarchical configurations are read with
+	 * @return The used executor, null if the files are read one after the other
+	 */
+	public Executor getPrefetchExecutor() {
+		return myPrefetchExecutor;
+	}
+	
 	
 	/** @brief Loads parameters from a configuration file
 	 * 
 	 * This method calls the protected member  _loadConfiguration(OptionsCont, String)
-	 * within a loop that realises hierarchical configurations.
+	 * within a loop that realises hierarchical configurations. A file
+	 * that is read again within a hierarchy is reported as an error.
 	 * 
 	 * @see _loadConfiguration(OptionsCont, String)
 	 * @param into The options container to fill
@@ -22,40 +130,211 @@ public abstract class OptionsTypedFileIO {
 	 * @throws IOException If the file cannot be read
 	 */
 	public boolean loadConfiguration(OptionsCont into, String configOptionName) throws IOException {
+		return loadConfiguration(into, configOptionName, null);
+	}
+	
+	
+	/** @brief Loads parameters from a configuration file, reporting the read files
+	 * 
+	 * @see loadConfiguration(OptionsCont, String)
+	 * @param into The options container to fill
+	 * @param configOptionName The name of the option to retrieve the file name from
+	 * @param loadedFiles If not null, the names of the read files are appended (in reading order); for compiled siblings, the name of the configuration file is reported
+	 * @return Whether options could be loaded
+	 * @throws IOException If the file cannot be read or the parent configurations are cyclic
+	 */
+	public boolean loadConfiguration(OptionsCont into, String configOptionName, Vector<String> loadedFiles) throws IOException {
 		String parentName = into.getParentConfigurationName();
 		String fileName = into.getString(configOptionName);
 		boolean ok = true;
-		do {
-			if(parentName!=null && !"".equals(parentName)) {
-				into.remarkUnset(parentName);
+		// a parent given before loading (e.g. on the command line) is used for the first file
+		boolean parentGiven = parentName!=null && !"".equals(parentName) && into.isSet(parentName);
+		HashSet<String> readFiles = new HashSet<>();
+		Vector<String> chain = new Vector<>();
+		String rootPath = getPath(fileName);
+		OptionsPrefetcher prefetcher = null;
+		if(myPrefetchExecutor!=null) {
+			prefetcher = new OptionsPrefetcher(this, into, parentName, myPrefetchExecutor);
+			for(Iterator<String> i=getChain(rootPath).iterator(); i.hasNext(); ) {
+				prefetcher.prefetch(i.next());
+			}
+		}
+		try {
+			do {
+				checkInterrupted(fileName);
+				if(!readFiles.add(getPath(fileName))) {
+					throw new IOException("Cyclic parent configurations: '" + fileName + "' is read again.");
+				}
+				chain.add(fileName);
+				if(parentName!=null && !"".equals(parentName)) {
+					into.remarkUnset(parentName);
+				}
+				if(loadedFiles!=null) {
+					loadedFiles.add(fileName);
+				}
+				ok = loadFile(into, fileName, prefetcher);
+				fileName = ok ? getParent(into, parentName, parentGiven) : null;
+				parentGiven = false;
+			} while (fileName!=null);
+		} finally {
+			if(prefetcher!=null) {
+				prefetcher.close();
 			}
-			ok &= _loadConfiguration(into, fileName);
-			fileName = null;
-			if(parentName!=null && !"".equals(parentName) && into.isSet(parentName)) {
-				fileName = into.getString(parentName);
+		}
+		if(prefetcher!=null) {
+			synchronized(myChains) {
+				myChains.put(rootPath, chain);
 			}
-		} while (ok && fileName!=null);
+		}
 		return ok;
 	}
 	
 	
+	/** @brief Loads parameters from a configuration file asynchronously
+	 * 
+	 * The configuration (including its parents) is loaded as by
+	 * loadConfiguration(OptionsCont, String) by a task run by the given
+	 * executor, e.g. one that starts a virtual thread per task (Java 21+).
+	 * The returned future completes with the filled container, or
+	 * exceptionally with an OptionsLoadException that names the file that
+	 * was being read and holds the error as its cause. Cancelling the
+	 * future interrupts the loading, even while a large file is being read;
+	 * the container is then partially filled.
+	 * 
+	 * @param into The options container to fill
+	 * @param configOptionName The name of the option to retrieve the file name from
+	 * @param executor The executor to load the configuration with
+	 * @return The future that completes when the configuration is loaded
+	 */
+	public <T extends OptionsCont> CompletableFuture<T> loadConfigurationAsync(final T into, final String configOptionName, Executor executor) {
+		return submit(() -> {
+			loadConfigurationOrFail(into, configOptionName);
+			return into;
+		}, executor);
+	}
+	
+	
+	/** @brief Compiles a configuration file into its binary sibling
+	 * 
+	 * The configuration file (without its parents) is read into the given
+	 * container, which should not hold values besides the defaults, and
+	 * the read values are written to the compiled sibling.
+	 * 
+	 * @see setUseCompiled(boolean)
+	 * @param options The options container to read the configuration into
+	 * @param configFileName The name of the configuration file
+	 * @return The name of the written compiled sibling
+	 * @throws IOException If the file cannot be read or the sibling cannot be written
+	 */
+	public String compileConfiguration(OptionsCont options, String configFileName) throws IOException {
+		_loadConfiguration(options, configFileName);
+		String compiledName = OptionsFileIO_Binary.getCompiledName(configFileName);
+		new OptionsFileIO_Binary().writeConfiguration(compiledName, options);
+		return compiledName;
+	}
+	
+	
 	
     /** @brief Writes the set options as configuration file
      * 
+     * The file is replaced atomically (see writeAtomically), so that it
+     *  is never left partially written.
      * @param configName The name of the file to write the configuration to
      * @param options The options container that includes the (set/parsed) options to write 
+     * @return Whether the configuration could be written
      * @throws IOException If the file cannot be written
      */
-	public abstract boolean writeConfiguration(String configName, OptionsCont options) throws IOException;
+	public boolean writeConfiguration(String configName, final OptionsCont options) throws IOException {
+		Object event = OptionsEvents.beginWrite();
+		int written = writeAtomically(configName, (os) -> _writeConfiguration(os, options));
+		OptionsEvents.commitWrite(event, "configuration", configName, getClass().getSimpleName(), written);
+		return true;
+	}
+
+	
+    /** @brief Writes the set options as configuration to the given stream
+     * 
+     * The stream is not closed.
+     * @param os The stream to write the configuration to
+     * @param options The options container that includes the (set/parsed) options to write 
+     * @return Whether the configuration could be written
+     * @throws IOException If the stream cannot be written
+     */
+	public boolean writeConfiguration(OutputStream os, OptionsCont options) throws IOException {
+		Object event = OptionsEvents.beginWrite();
+		int written = _writeConfiguration(os, options);
+		OptionsEvents.commitWrite(event, "configuration", null, getClass().getSimpleName(), written);
+		return true;
+	}
+
+	
+    /** @brief Writes the set options as configuration to the given writer
+     * 
+     * The writer is flushed, but not closed.
+     * @param writer The writer to write the configuration to
+     * @param options The options container that includes the (set/parsed) options to write 
+     * @return Whether the configuration could be written
+     * @throws IOException If the writer cannot be written
+     * @throws UnsupportedOperationException If the format is not a text format
+     */
+	public boolean writeConfiguration(Writer writer, OptionsCont options) throws IOException {
+		Object event = OptionsEvents.beginWrite();
+		int written = _writeConfiguration(writer, options);
+		writer.flush();
+		OptionsEvents.commitWrite(event, "configuration", null, getClass().getSimpleName(), written);
+		return true;
+	}
 
     
     /** @brief Writes the a template for a configuration file
      * 
+     * The file is replaced atomically (see writeAtomically), so that it
+     *  is never left partially written.
      * @param configName The name of the file to write the template to
      * @param options The options container to write a template for 
+     * @return Whether the template could be written
      * @throws IOException If the file cannot be written
      */
-    public abstract boolean writeTemplate(String configName, OptionsCont options) throws IOException;
+    public boolean writeTemplate(String configName, final OptionsCont options) throws IOException {
+		Object event = OptionsEvents.beginWrite();
+		int written = writeAtomically(configName, (os) -> _writeTemplate(os, options));
+		OptionsEvents.commitWrite(event, "template", configName, getClass().getSimpleName(), written);
+		return true;
+    }
+
+    
+    /** @brief Writes a template for a configuration to the given stream
+     * 
+     * The stream is not closed.
+     * @param os The stream to write the template to
+     * @param options The options container to write a template for 
+     * @return Whether the template could be written
+     * @throws IOException If the stream cannot be written
+     */
+    public boolean writeTemplate(OutputStream os, OptionsCont options) throws IOException {
+		Object event = OptionsEvents.beginWrite();
+		int written = _writeTemplate(os, options);
+		OptionsEvents.commitWrite(event, "template", null, getClass().getSimpleName(), written);
+		return true;
+    }
+
+    
+    /** @brief Writes a template for a configuration to the given writer
+     * 
+     * The writer is flushed, but not closed.
+     * @param writer The writer to write the template to
+     * @param options The options container to write a template for 
+     * @return Whether the template could be written
+     * @throws IOException If the writer cannot be written
+     * @throws UnsupportedOperationException If the format is not a text format
+     */
+    public boolean writeTemplate(Writer writer, OptionsCont options) throws IOException {
+		Object event = OptionsEvents.beginWrite();
+		int written = _writeTemplate(writer, options);
+		writer.flush();
+		OptionsEvents.commitWrite(event, "template", null, getClass().getSimpleName(), written);
+		return true;
+    }
     
     
     
@@ -66,5 +345,312 @@ public abstract class OptionsTypedFileIO {
 	 * @throws IOException If the file cannot be read
 	 */
     protected abstract boolean _loadConfiguration(OptionsCont into, String configFileName) throws IOException;
+    
+    
+    /** @brief Writes the set options as configuration to the given stream
+     * 
+     * Text formats are written as UTF-8 using _writeConfiguration(Writer, OptionsCont);
+     *  binary formats override this method.
+     * @param os The stream to write the configuration to
+     * @param options The options container that includes the (set/parsed) options to write 
+     * @return The number of written options
+     * @throws IOException If the stream cannot be written
+     */
+    protected int _writeConfiguration(OutputStream os, OptionsCont options) throws IOException {
+    	Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), BUFFER_SIZE);
+    	int written = _writeConfiguration(writer, options);
+    	writer.flush();
+    	return written;
+    }
+    
+    
+    /** @brief Writes the set options as configuration to the given writer
+     * @param writer The writer to write the configuration to
+     * @param options The options container that includes the (set/parsed) options to write 
+     * @return The number of written options
+     * @throws IOException If the writer cannot be written
+     * @throws UnsupportedOperationException If the format is not a text format
+     */
+    protected int _writeConfiguration(Writer writer, OptionsCont options) throws IOException {
+    	throw new UnsupportedOperationException("The format " + getClass().getSimpleName() + " cannot be written as text.");
+    }
+    
+    
+    /** @brief Writes a template for a configuration to the given stream
+     * 
+     * Text formats are written as UTF-8 using _writeTemplate(Writer, OptionsCont);
+     *  binary formats override this method.
+     * @param os The stream to write the template to
+     * @param options The options container to write a template for 
+     * @return The number of written options
+     * @throws IOException If the stream cannot be written
+     */
+    protected int _writeTemplate(OutputStream os, OptionsCont options) throws IOException {
+    	Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), BUFFER_SIZE);
+    	int written = _writeTemplate(writer, options);
+    	writer.flush();
+    	return written;
+    }
+    
+    
+    /** @brief Writes a template for a configuration to the given writer
+     * @param writer The writer to write the template to
+     * @param options The options container to write a template for 
+     * @return The number of written options
+     * @throws IOException If the writer cannot be written
+     * @throws UnsupportedOperationException If the format is not a text format
+     */
+    protected int _writeTemplate(Writer writer, OptionsCont options) throws IOException {
+    	throw new UnsupportedOperationException("The format " + getClass().getSimpleName() + " cannot be written as text.");
+    }
+    
+    
+    
+    /// @brief Asynchronous loading
+    /// @{
+    
+    /** @brief Reads a configuration file without setting its values
+     * 
+     * Uses the compiled sibling and the cache if enabled; the file's journal
+     *  (see OptionsJournal) is applied to the read values.
+     * @param target The options container to look up the options in
+     * @param fileName The name of the file
+     * @return The read file
+     * @throws IOException If the file cannot be read
+     */
+    OptionsPrefetcher.Result readParsed(OptionsCont target, String fileName) throws IOException {
+    	OptionsPrefetcher.Result ret = readSource(target, fileName, true);
+    	applyJournal(target, fileName, ret);
+    	return ret;
+    }
+    
+    
+    /** @brief Loads the configuration, describing failures as OptionsLoadException
+     * @param into The options container to fill
+     * @param configOptionName The name of the option to retrieve the file name from
+     * @throws OptionsLoadException If the configuration could not be loaded
+     */
+    void loadConfigurationOrFail(OptionsCont into, String configOptionName) throws OptionsLoadException {
+    	Vector<String> loadedFiles = new Vector<>();
+    	boolean ok;
+    	try {
+    		ok = loadConfiguration(into, configOptionName, loadedFiles);
+    	} catch(IOException | RuntimeException e) {
+    		String fileName = loadedFiles.isEmpty() ? null : loadedFiles.lastElement();
+    		throw new OptionsLoadException(e.getMessage(), fileName, null, e);
+    	}
+    	if(!ok) {
+    		String fileName = loadedFiles.lastElement();
+    		throw new OptionsLoadException("Could not load '" + fileName + "'.", fileName, null, null);
+    	}
+    }
+    
+    
+    /** @brief Runs a loading step on the given executor
+     * 
+     * If the executor rejects the step, the returned future completes
+     *  exceptionally with the RejectedExecutionException.
+     * @param step The step to run
+     * @param executor The executor to run the step with
+     * @return The future that completes with the step's result
+     */
+    static <T> CompletableFuture<T> submit(OptionsLoadTask.Step<T> step, Executor executor) {
+    	OptionsLoadTask<T> task = new OptionsLoadTask<>(step);
+    	try {
+    		executor.execute(task);
+    	} catch(RejectedExecutionException e) {
+    		task.completeExceptionally(e);
+    	}
+    	return task;
+    }
+    
+    
+    /** @brief Throws an InterruptedIOException if the current thread was interrupted
+     * 
+     * Called by the readers while reading, so that the loading of large
+     *  files can be cancelled (see loadConfigurationAsync). The interruption
+     *  is kept.
+     * @param fileName The name of the read file
+     * @throws InterruptedIOException If the current thread was interrupted
+     */
+    static void checkInterrupted(String fileName) throws InterruptedIOException {
+    	if(Thread.currentThread().isInterrupted()) {
+    		throw new InterruptedIOException("Reading '" + fileName + "' was interrupted.");
+    	}
+    }
+    /// @}
+    
+    
+    
+    /// @brief Private helper methods
+    /// @{
+    
+    /**
+     * @interface Output
+     * @brief Writes the contents of a file
+     */
+    private interface Output {
+    	/** @brief Writes the contents to the given stream
+    	 * @param os The stream to write to
+    	 * @return The number of written options
+    	 * @throws IOException If the stream cannot be written
+    	 */
+    	int write(OutputStream os) throws IOException;
+    }
+    
+    
+    /** @brief Writes a file by writing a temporary file in the same folder and renaming it
+     * 
+     * The temporary file is forced to the disk before it replaces the file
+     *  (atomically if the file system supports it), so that a crash leaves
+     *  either the old or the new contents.
+     * @param fileName The name of the file to write
+     * @param output The writer of the contents
+     * @return The number of written options
+     * @throws IOException If the file cannot be written
+     */
+    private static int writeAtomically(String fileName, Output output) throws IOException {
+    	Path target = Paths.get(fileName).toAbsolutePath();
+    	Path temp = target.resolveSibling(target.getFileName() + "." + Long.toHexString(System.nanoTime()) + ".tmp");
+    	try {
+    		int written;
+    		try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+    			OutputStream os = Channels.newOutputStream(channel);
+    			written = output.write(os);
+    			os.flush();
+    			channel.force(true);
+    		}
+    		try {
+    			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    		} catch(AtomicMoveNotSupportedException e) {
+    			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    		}
+    		return written;
+    	} finally {
+    		Files.deleteIfExists(temp);
+    	}
+    }
+    
+    
+    /** @brief Loads a single file of a hierarchical configuration
+     * 
+     * The file is read by the prefetcher if one is given. Otherwise, its
+     *  values are set while reading, unless its journal has to be applied
+     *  to them first.
+     * @param into The options container to fill
+     * @param fileName The name of the file
+     * @param prefetcher The prefetcher to get the file from, null if it is read directly
+     * @return Whether options could be loaded
+     * @throws IOException If the file cannot be read
+     */
+    private boolean loadFile(OptionsCont into, String fileName, OptionsPrefetcher prefetcher) throws IOException {
+    	Object event = OptionsEvents.beginLoad();
+    	int valuesNumber = into.getFileValuesNumber();
+    	OptionsPrefetcher.Result read;
+    	if(prefetcher!=null) {
+    		// the file (and its parent) may already have been read by the executor
+    		read = prefetcher.get(fileName);
+    	} else {
+    		boolean journaled = OptionsJournal.exists(fileName);
+    		read = readSource(into, fileName, journaled);
+    		applyJournal(into, fileName, read);
+    	}
+    	if(read.myFile!=null) {
+    		read.myFile.apply(into, read.myFileName);
+    	}
+    	OptionsEvents.commitLoad(event, read.myFileName, read.myFormat, into.getFileValuesNumber()-valuesNumber);
+    	return read.myFile!=null;
+    }
+    
+    
+    /** @brief Reads a configuration file from the source to use for it
+     * 
+     * The compiled sibling is read if enabled and up to date, otherwise the
+     *  cached values are used if a cache is set, otherwise the file itself
+     *  is read. A missing file that has a journal has no values yet.
+     * @param into The options container to fill, or to look up the options in if the values are recorded
+     * @param fileName The name of the file
+     * @param record Whether the values shall be returned instead of being set
+     * @return The read file; its values are empty if they were set
+     * @throws IOException If the file cannot be read
+     */
+    private OptionsPrefetcher.Result readSource(OptionsCont into, String fileName, boolean record) throws IOException {
+    	OptionsPrefetcher.Result ret = new OptionsPrefetcher.Result();
+    	ret.myFileName = fileName;
+    	ret.myFormat = getClass().getSimpleName();
+    	OptionsRecorder recorder = record ? new OptionsRecorder(into) : null;
+    	OptionsCont target = record ? recorder : into;
+    	ByteBuffer compiled = myUseCompiled ? OptionsFileIO_Binary.openCompiled(fileName) : null;
+    	if(OptionsJournal.exists(fileName) && !new File(fileName).exists()) {
+    		// only changes were recorded so far
+    		ret.myFile = new OptionsParsedFile();
+    	} else if(compiled!=null) {
+    		ret.myFileName = OptionsFileIO_Binary.getCompiledName(fileName);
+    		ret.myFormat = OptionsFileIO_Binary.class.getSimpleName();
+    		OptionsFileIO_Binary.load(target, compiled, ret.myFileName);
+    		ret.myFile = record ? recorder.getFile() : new OptionsParsedFile();
+    	} else if(myCache!=null) {
+    		ret.myFile = myCache.read(this, into, fileName);
+    		if(ret.myFile!=null && !record) {
+    			ret.myFile.apply(into, fileName);
+    			ret.myFile = new OptionsParsedFile();
+    		}
+    	} else if(_loadConfiguration(target, fileName)) {
+    		ret.myFile = record ? recorder.getFile() : new OptionsParsedFile();
+    	}
+    	return ret;
+    }
+    
+    
+    /** @brief Applies the journal of a configuration file (see OptionsJournal) to the file's read values
+     * @param into The options container to look up the options in
+     * @param fileName The name of the file
+     * @param read The read file, changed in place
+     * @throws IOException If the journal cannot be read
+     */
+    private static void applyJournal(OptionsCont into, String fileName, OptionsPrefetcher.Result read) throws IOException {
+    	if(read.myFile!=null && OptionsJournal.exists(fileName)) {
+    		read.myFile = read.myFile.overriddenBy(OptionsJournal.read(into, OptionsJournal.getJournalName(fileName)), into);
+    	}
+    }
+    
+    
+    /** @brief Returns the parent configuration to load after a file
+     * 
+     * The parent is followed only if it was set by the file just read, or,
+     *  for the first file, if it was given before loading.
+     * @param into The options container that is filled
+     * @param parentName The name of the option that names the parent configuration, null if not used
+     * @param parentGiven Whether the parent was given before loading
+     * @return The name of the parent configuration file, null if there is none
+     */
+    private static String getParent(OptionsCont into, String parentName, boolean parentGiven) {
+    	if(parentName==null || "".equals(parentName) || !into.isSet(parentName) || (!parentGiven && into.canBeSet(parentName))) {
+    		return null;
+    	}
+    	return into.getString(parentName);
+    }
+    
+    
+    /** @brief Returns the absolute, normalised path of a file
+     * @param fileName The name of the file
+     * @return The file's absolute path
+     */
+    private static String getPath(String fileName) {
+    	return new File(fileName).getAbsoluteFile().toPath().normalize().toString();
+    }
+    
+    
+    /** @brief Returns the files read when the configuration was loaded before
+     * @param rootPath The absolute path of the configuration's first file
+     * @return The read files (empty if the configuration was not loaded before)
+     */
+    private Vector<String> getChain(String rootPath) {
+    	synchronized(myChains) {
+    		Vector<String> chain = myChains.get(rootPath);
+    		return chain!=null ? chain : new Vector<String>();
+    	}
+    }
+    /// @}
 
 }
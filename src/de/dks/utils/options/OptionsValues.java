@@ -0,0 +1,125 @@
+package de.dks.utils.options;
+
+/**
+ * @class OptionsValues
+ * @brief A set of option values that belongs to an OptionsSchema.
+ *
+ * The value set is built using OptionsSchema.newValues() and initially
+ * holds the default values. It shares the definitions of the options
+ * with the schema and stores only the values and their flags. It can
+ * be used wherever an OptionsCont is expected, e.g. for parsing the
+ * command line or loading configuration files, but the definitions
+ * cannot be changed: the methods for adding options, synonyms, and help
+ * information throw an UnsupportedOperationException.
+ *
+ * A value set is not thread-safe, but each thread may use its own value
+ * sets of the same schema.
+ *
+ * @author Daniel Krajzewicz (daniel@krajzewicz.de)
+ * @copyright Eclipse Public License v2.0 (EPL v2.0), (c) Daniel Krajzewicz 2021-
+ */
+public class OptionsValues extends OptionsCont_Columnar {
+    /// @brief The schema the values belong to
+    private OptionsSchema mySchema;
+
+
+
+    /** @brief Constructor
+     * @param[in] schema The schema the values belong to
+     * @param[in] definition The schema's definitions and default values
+     */
+    OptionsValues(OptionsSchema schema, OptionsCont_Columnar definition) {
+        super(definition);
+        mySchema = schema;
+    }
+
+
+    /** @brief Returns the schema the values belong to
+     * @return The schema the values belong to
+     */
+    public OptionsSchema getSchema() {
+        return mySchema;
+    }
+
+
+
+    /// @brief Unsupported definition changes
+    /// @{
+
+    /** @brief Not supported, as the definitions are given by the schema
+     * @param[in] name The option's name
+     * @param[in] option The option
+     * @return Nothing
+     * @throw UnsupportedOperationException Always
+     */
+    @Override
+    public <T extends Option> T add(String name, T option) {
+        throw new UnsupportedOperationException("The definitions of options built from a schema cannot be changed.");
+    }
+
+
+    /** @brief Not supported, as the definitions are given by the schema
+     * @param[in] name1 The name the option was already known under
+     * @param[in] name2 The synonym to register
+     * @throw UnsupportedOperationException Always
+     */
+    @Override
+    public void addSynonym(String name1, String name2) {
+        throw new UnsupportedOperationException("The definitions of options built from a schema cannot be changed.");
+    }
+
+
+    /** @brief Not supported, as the definitions are given by the schema
+     * @param[in] name1 The name the option was already known under
+     * @param[in] name2 The synonym to register
+     * @throw UnsupportedOperationException Always
+     */
+    @Override
+    public void addDeprecatedSynonym(String name1, String name2) {
+        throw new UnsupportedOperationException("The definitions of options built from a schema cannot be changed.");
+    }
+
+
+    /** @brief Not supported, as the definitions are given by the schema
+     * @param[in] name The name of the option
+     * @param[in] desc The description of the option
+     * @throw UnsupportedOperationException Always
+     */
+    @Override
+    public void setDescription(String name, String desc) {
+        throw new UnsupportedOperationException("The definitions of options built from a schema cannot be changed.");
+    }
+
+
+    /** @brief Not supported, as the definitions are given by the schema
+     * @param[in] name The name of the section
+     * @throw UnsupportedOperationException Always
+     */
+    @Override
+    public void beginSection(String name) {
+        throw new UnsupportedOperationException("The definitions of options built from a schema cannot be changed.");
+    }
+
+
+    /** @brief Not supported, as the definitions are given by the schema
+     * @param[in] head The head of the help output
+     * @param[in] tail The tail of the help output
+     * @throw UnsupportedOperationException Always
+     */
+    @Override
+    public void setHelpHeadAndTail(String head, String tail) {
+        throw new UnsupportedOperationException("The definitions of options built from a schema cannot be changed.");
+    }
+
+
+    /** @brief Not supported, as the definitions are given by the schema
+     * @param[in] parentName The name to find the parent configuration at
+     * @throw UnsupportedOperationException Always
+     */
+    @Override
+    public void setParentConfigurationName(String parentName) {
+        throw new UnsupportedOperationException("The definitions of options built from a schema cannot be changed.");
+    }
+    /// @}
+
+}